@@ -9,12 +9,16 @@ javafx {
 }
 
 application {
-    mainClass.set("com.todo.desktop.app.DesktopApp")
+    mainClass.set("com.todo.desktop.app.Launcher")
+}
+
+sourceSets {
+    create("benchmark")
 }
 
 tasks.withType<Jar> {
     manifest {
-        attributes["Main-Class"] = "com.todo.desktop.app.DesktopApp"
+        attributes["Main-Class"] = "com.todo.desktop.app.Launcher"
     }
     
     // Include dependencies in jar
@@ -36,3 +40,34 @@ dependencies {
     implementation("com.microsoft.graph:microsoft-graph:5.57.0")
     implementation("com.microsoft.azure:msal4j:1.15.0")
 }
+
+val fatJar = tasks.named<Jar>("jar").flatMap { it.archiveFile }
+val cdsArchive = layout.buildDirectory.file("cds/todo-desktop.jsa")
+val javaRuntime = javaToolchains.launcherFor(java.toolchain).map { it.executablePath.asFile.absolutePath }
+
+// Runs the app once in --train mode against local services; the JVM writes the AppCDS archive on exit.
+val trainCds by tasks.registering(Exec::class) {
+    group = "distribution"
+    inputs.file(fatJar)
+    outputs.file(cdsArchive)
+    doFirst {
+        cdsArchive.get().asFile.parentFile.mkdirs()
+        commandLine(
+            javaRuntime.get(),
+            "-XX:ArchiveClassesAtExit=${cdsArchive.get().asFile.absolutePath}",
+            "-jar", fatJar.get().asFile.absolutePath,
+            "--train"
+        )
+    }
+}
+
+// Compares cold start with and without the trained archive.
+val startupBenchmark by tasks.registering(JavaExec::class) {
+    group = "verification"
+    dependsOn(trainCds)
+    classpath = sourceSets["benchmark"].runtimeClasspath
+    mainClass.set("com.todo.desktop.app.StartupBenchmark")
+    argumentProviders.add(CommandLineArgumentProvider {
+        listOf(fatJar.get().asFile.absolutePath, cdsArchive.get().asFile.absolutePath)
+    })
+}
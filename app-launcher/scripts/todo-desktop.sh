@@ -0,0 +1,17 @@
+#!/bin/sh
+# Starts the desktop app from the fat jar, with the AppCDS archive from `gradlew :app-launcher:trainCds`
+# when one exists. A stale archive (jar rebuilt since training) is ignored by the JVM.
+APP_DIR=$(cd "$(dirname "$0")/.." && pwd)
+JAR=${TODO_DESKTOP_JAR:-$(ls "$APP_DIR"/build/libs/app-launcher-*.jar 2>/dev/null | head -n 1)}
+CDS=${TODO_DESKTOP_CDS:-$APP_DIR/build/cds/todo-desktop.jsa}
+JAVA=${JAVA_HOME:+$JAVA_HOME/bin/}java
+
+if [ -z "$JAR" ] || [ ! -f "$JAR" ]; then
+    echo "Không tìm thấy app-launcher jar, hãy chạy: ./gradlew :app-launcher:jar" >&2
+    exit 1
+fi
+
+if [ -f "$CDS" ]; then
+    exec "$JAVA" -XX:SharedArchiveFile="$CDS" -Xshare:auto -Xlog:cds=off -Xlog:cds+dynamic=off $JAVA_OPTS -jar "$JAR" "$@"
+fi
+exec "$JAVA" $JAVA_OPTS -jar "$JAR" "$@"
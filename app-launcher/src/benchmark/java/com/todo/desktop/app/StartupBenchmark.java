@@ -0,0 +1,88 @@
+package com.todo.desktop.app;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+// Starts the fat jar in --startup-probe mode again and again, alternating with and without the
+// AppCDS archive. Each run is a fresh JVM on local services only (see DesktopApp.init); one warm-up
+// pair first keeps the OS file cache fair.
+public final class StartupBenchmark {
+
+    private static final int DEFAULT_RUNS = 5;
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("Cách dùng: StartupBenchmark <app-launcher.jar> <archive.jsa> [số lần chạy]");
+            System.exit(2);
+        }
+        Path jar = Path.of(args[0]);
+        Path archive = Path.of(args[1]);
+        int runs = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_RUNS;
+        if (!Files.isRegularFile(archive)) {
+            System.err.println("Chưa có archive, hãy chạy trainCds trước: " + archive);
+            System.exit(1);
+        }
+
+        run(jar, null);
+        run(jar, archive);
+        List<Result> plain = new ArrayList<>();
+        List<Result> shared = new ArrayList<>();
+        for (int i = 0; i < runs; i++) {
+            plain.add(run(jar, null));
+            shared.add(run(jar, archive));
+        }
+        report("không CDS", plain);
+        report("AppCDS   ", shared);
+    }
+
+    private static Result run(Path jar, Path archive) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(ProcessHandle.current().info().command().orElse("java"));
+        if (archive != null) {
+            command.add("-XX:SharedArchiveFile=" + archive.toAbsolutePath());
+            command.add("-Xshare:auto");
+        }
+        command.addAll(List.of("-jar", jar.toAbsolutePath().toString(), "--startup-probe"));
+
+        long started = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        long firstFrame = -1;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith("startup-ready ")) {
+                    firstFrame = Long.parseLong(line.substring("startup-ready ".length()).trim());
+                }
+            }
+        }
+        int exit = process.waitFor();
+        long total = (System.nanoTime() - started) / 1_000_000;
+        if (exit != 0 || firstFrame < 0) {
+            throw new IllegalStateException("Lần chạy thất bại (exit " + exit + "): " + String.join(" ", command));
+        }
+        return new Result(firstFrame, total);
+    }
+
+    private static void report(String name, List<Result> results) {
+        long[] firstFrame = results.stream().mapToLong(Result::firstFrameMillis).sorted().toArray();
+        long[] total = results.stream().mapToLong(Result::processMillis).sorted().toArray();
+        System.out.printf("%s  khung đầu: median %d ms (min %d, max %d)  tiến trình: median %d ms%n",
+                name, median(firstFrame), firstFrame[0], firstFrame[firstFrame.length - 1], median(total));
+    }
+
+    private static long median(long[] sorted) {
+        return sorted.length == 0 ? 0 : sorted[sorted.length / 2];
+    }
+
+    private record Result(long firstFrameMillis, long processMillis) {
+    }
+}
@@ -75,6 +75,10 @@ public final class AppConfig {
                 .orElseGet(() -> List.of("https://graph.microsoft.com/.default"));
     }
 
+    public Optional<String> graphBaseUrl() {
+        return readString("graph.baseUrl");
+    }
+
     public Optional<String> microsoftClientId() {
         return readString("microsoft.clientId");
     }
@@ -101,8 +105,17 @@ public final class AppConfig {
         return readString("microsoft.authority");
     }
 
+    public Optional<String> outlookAuthority() {
+        return readString("outlook.authority");
+    }
+
+    public boolean outlookPlainTextBody() {
+        return readString("outlook.plainTextBody").map(Boolean::parseBoolean).orElse(false);
+    }
+
+    // A -D system property wins over the bundled file, so a run can be pointed at a local stand-in.
     private Optional<String> readString(String key) {
-        String raw = properties.getProperty(key);
+        String raw = System.getProperty(key, properties.getProperty(key));
         if (raw == null || raw.isBlank()) {
             return Optional.empty();
         }
@@ -12,6 +12,9 @@ import com.microsoft.aad.msal4j.ConfidentialClientApplication;
 import com.microsoft.graph.requests.GraphServiceClient;
 import okhttp3.Request;
 import com.todo.desktop.data.graph.ClientCredentialAuthProvider;
+import com.todo.desktop.data.journal.PerUserEventJournal;
+import com.todo.desktop.data.metrics.JmxMetricsExporter;
+import com.todo.desktop.data.metrics.RollingFileMetricsExporter;
 import com.todo.desktop.data.repository.FirebaseAuthService;
 import com.todo.desktop.data.repository.FirestoreDeadlineRepository;
 import com.todo.desktop.data.repository.FirestoreTaskRepository;
@@ -20,19 +23,38 @@ import com.todo.desktop.data.repository.LocalAuthService;
 import com.todo.desktop.data.repository.LocalDeadlineService;
 import com.todo.desktop.data.repository.LocalEmailService;
 import com.todo.desktop.data.repository.LocalTaskService;
+import com.todo.desktop.data.request.RequestLanes;
 import com.todo.desktop.data.service.FileTokenStorage;
+import com.todo.desktop.data.service.FirebaseSession;
+import com.todo.desktop.data.service.FirebaseSessionStore;
+import com.todo.desktop.data.service.MicrosoftEndpoints;
+import com.todo.desktop.data.service.MicrosoftToken;
 import com.todo.desktop.data.service.OutlookServiceImpl;
 import com.todo.desktop.data.service.TokenStorage;
+import com.todo.desktop.domain.event.EventBus;
+import com.todo.desktop.domain.event.EventProjection;
+import com.todo.desktop.domain.event.SessionExpiredEvent;
+import com.todo.desktop.domain.metrics.MeteredAuthService;
+import com.todo.desktop.domain.metrics.MeteredDeadlineService;
+import com.todo.desktop.domain.metrics.MeteredOutlookService;
+import com.todo.desktop.domain.metrics.MeteredTaskService;
+import com.todo.desktop.domain.metrics.MetricsRegistry;
+import com.todo.desktop.domain.model.UserProfile;
 import com.todo.desktop.domain.usecase.OutlookService;
 import com.todo.desktop.domain.usecase.AuthService;
 import com.todo.desktop.domain.usecase.DeadlineService;
 import com.todo.desktop.domain.usecase.EmailService;
 import com.todo.desktop.domain.usecase.TaskService;
+import com.todo.desktop.sync.SyncEngine;
+import com.todo.desktop.sync.SyncScheduler;
+import com.todo.desktop.sync.job.DeadlineSyncJob;
 import com.todo.desktop.ui.controller.DeadlineOverviewController;
 import com.todo.desktop.ui.controller.InboxController;
 import com.todo.desktop.ui.controller.LoginController;
 import com.todo.desktop.ui.controller.MainShellController;
 import com.todo.desktop.ui.controller.SettingsController;
+import com.todo.desktop.ui.util.FxStallMonitor;
+import com.todo.desktop.ui.util.ImageService;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
@@ -40,36 +62,222 @@ import java.net.http.HttpClient;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import javafx.util.Callback;
 
 public final class AppModule implements Callback<Class<?>, Object> {
 
     private final AppConfig config;
+    private final PerUserEventJournal journal;
+    private final EventBus eventBus;
+    private final RequestLanes requestLanes;
+    private final MetricsRegistry metrics;
+    private final JmxMetricsExporter jmxExporter;
+    private final RollingFileMetricsExporter fileExporter;
 
     private final TaskService taskService;
     private final DeadlineService deadlineService;
     private final EmailService emailService;
     private final AuthService authService;
     private final OutlookService outlookService;
+    private final SyncEngine syncEngine;
+    private final SyncScheduler syncScheduler;
+    private final CompletableFuture<Void> ready;
+    private final FirebaseSessionStore sessionStore;
+    private final ImageService imageService;
+    private final CompletableFuture<TokenStorage> tokenStorage;
+    private final FxStallMonitor fxStallMonitor;
 
     private final HttpClient httpClient;
     private final ObjectMapper objectMapper;
 
     public AppModule() {
+        this(false);
+    }
+
+    private AppModule(boolean training) {
         this.config = AppConfig.load();
+        this.journal = training ? null : new PerUserEventJournal(Path.of(System.getProperty("user.home"), ".todo-desktop", "journals"));
+        this.eventBus = new EventBus(journal);
+        this.requestLanes = new RequestLanes();
         this.httpClient = HttpClient.newHttpClient();
         this.objectMapper = new ObjectMapper().findAndRegisterModules();
+        this.fxStallMonitor = new FxStallMonitor();
+        this.metrics = new MetricsRegistry();
+        Path dataDirectory = training
+                ? Path.of(System.getProperty("java.io.tmpdir"), "todo-desktop-training")
+                : Path.of(System.getProperty("user.home"), ".todo-desktop");
+        this.imageService = new ImageService(dataDirectory.resolve("image-cache"), httpClient);
 
-        AuthService resolvedAuthService;
-        TaskService resolvedTaskService;
-        DeadlineService resolvedDeadlineService;
-        EmailService resolvedEmailService;
+        // Returning users go straight to the main shell on the stored session; its token refresh runs on a startup thread.
+        this.sessionStore = !training && config.firebaseApiKey().isPresent()
+                ? FirebaseSessionStore.inUserHome(objectMapper)
+                : null;
+        UserProfile storedUser = sessionStore != null ? sessionStore.load().map(FirebaseSession::toProfile).orElse(null) : null;
+        // Later sign-ins and sign-outs switch the journal through the session events on the bus.
+        if (journal != null && storedUser != null) {
+            journal.switchTo(storedUser.uid());
+        }
+
+        ExecutorService startup = Executors.newFixedThreadPool(3, runnable -> {
+            Thread thread = new Thread(runnable, "app-startup");
+            thread.setDaemon(true);
+            return thread;
+        });
+        CompletableFuture<Backend> backend = training
+                ? CompletableFuture.supplyAsync(this::localBackend, startup)
+                : CompletableFuture
+                        .supplyAsync(() -> initializeFirebase(config), startup)
+                        .thenApplyAsync(this::createBackend, startup)
+                        .exceptionally(ex -> {
+                            ex.printStackTrace();
+                            return localBackend();
+                        });
+        CompletableFuture<EmailService> email = CompletableFuture.supplyAsync(
+                () -> (training ? Optional.<GraphMailClient>empty() : initializeGraph(config))
+                        .<EmailService>map(GraphEmailRepository::new)
+                        .orElseGet(() -> new LocalEmailService(eventBus)),
+                startup);
+        this.tokenStorage = CompletableFuture.supplyAsync(
+                () -> training ? new TransientTokenStorage() : new FileTokenStorage(),
+                startup);
+        CompletableFuture<OutlookService> outlook = tokenStorage.thenApplyAsync(
+                storage -> new OutlookServiceImpl(
+                        config.microsoftClientId().orElse("36892293-3eb2-460a-8061-e9ad79438b59"),
+                        storage,
+                        eventBus,
+                        requestLanes,
+                        new MicrosoftEndpoints(
+                                config.outlookAuthority().orElse(MicrosoftEndpoints.DEFAULT.authority()),
+                                config.graphBaseUrl().orElse(MicrosoftEndpoints.DEFAULT.graphBaseUrl())
+                        )
+                ),
+                startup);
+        this.ready = CompletableFuture.allOf(backend, email, outlook);
+        ready.whenComplete((ignored, ex) -> {
+            if (ex != null) {
+                ex.printStackTrace();
+            }
+            startup.shutdown();
+        });
+
+        // Timed outside the deferred proxies, so a call made before startup finishes counts the wait too.
+        this.authService = new MeteredAuthService(new DeferredAuthService(
+                backend.thenApply(Backend::authService),
+                storedUser,
+                eventBus
+        ), metrics);
+        this.taskService = new MeteredTaskService(new DeferredTaskService(backend.thenApply(Backend::taskService)), metrics);
+        this.deadlineService = new MeteredDeadlineService(new DeferredDeadlineService(backend.thenApply(Backend::deadlineService)), metrics);
+        this.emailService = new DeferredEmailService(email);
+        this.outlookService = new MeteredOutlookService(new DeferredOutlookService(outlook), metrics);
+
+        this.syncEngine = new SyncEngine(taskService, deadlineService, authService, eventBus);
+        warmState().ifPresent(state -> syncEngine.seed(state.tasks(), state.deadlines()));
+        this.syncScheduler = new SyncScheduler(new DeadlineSyncJob(syncEngine));
+        syncScheduler.start();
+
+        metrics.gauge("requests.backgroundQueued", requestLanes::backgroundQueued);
+        metrics.gauge("fx.responsivenessP99Micros", () -> fxStallMonitor.responsiveness().valueAtPercentile(99) / 1_000);
+        metrics.gauge("jvm.heapUsedBytes", () -> Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory());
+        this.jmxExporter = training ? null : registerJmx();
+        this.fileExporter = training
+                ? null
+                : new RollingFileMetricsExporter(metrics, dataDirectory.resolve("metrics"), Duration.ofMinutes(1), objectMapper);
+        if (fileExporter != null) {
+            fileExporter.start();
+        }
+    }
+
+    // Local services only and nothing read from or written to the user's data directory.
+    public static AppModule forTraining() {
+        return new AppModule(true);
+    }
+
+    // Completes once every backing service has been built; the proxies work before that too.
+    public CompletableFuture<Void> ready() {
+        return ready;
+    }
+
+    public AuthService authService() {
+        return authService;
+    }
+
+    public TaskService taskService() {
+        return taskService;
+    }
+
+    public DeadlineService deadlineService() {
+        return deadlineService;
+    }
+
+    public EmailService emailService() {
+        return emailService;
+    }
+
+    public EventBus eventBus() {
+        return eventBus;
+    }
+
+    public Optional<EventProjection> warmState() {
+        return Optional.ofNullable(journal).flatMap(PerUserEventJournal::projection);
+    }
+
+    public SyncEngine syncEngine() {
+        return syncEngine;
+    }
+
+    public SyncScheduler syncScheduler() {
+        return syncScheduler;
+    }
+
+    public FxStallMonitor fxStallMonitor() {
+        return fxStallMonitor;
+    }
+
+    public MetricsRegistry metrics() {
+        return metrics;
+    }
+
+    public void close() {
+        fxStallMonitor.close();
+        syncScheduler.close();
+        syncEngine.close();
+        imageService.close();
+        // Also covers a store that is still being built when the app shuts down.
+        tokenStorage.thenAccept(storage -> {
+            if (storage instanceof FileTokenStorage fileStorage) {
+                fileStorage.close();
+            }
+        });
+        if (fileExporter != null) {
+            fileExporter.close();
+        }
+        if (jmxExporter != null) {
+            jmxExporter.close();
+        }
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    private JmxMetricsExporter registerJmx() {
+        try {
+            return JmxMetricsExporter.register(metrics);
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
 
-        Optional<FirebaseApp> firebaseApp = initializeFirebase(config);
+    private Backend createBackend(Optional<FirebaseApp> firebaseApp) {
         List<String> microsoftScopes = List.copyOf(config.microsoftScopes());
         Optional<String> microsoftClientId = config.microsoftClientId();
         Optional<String> microsoftClientSecret = config.microsoftClientSecret();
@@ -79,7 +287,7 @@ public final class AppModule implements Callback<Class<?>, Object> {
         if (firebaseApp.isPresent()) {
             Firestore firestore = FirestoreClient.getFirestore(firebaseApp.get());
             FirebaseAuth firebaseAuth = FirebaseAuth.getInstance(firebaseApp.get());
-            resolvedAuthService = new FirebaseAuthService(
+            FirebaseAuthService resolvedAuthService = new FirebaseAuthService(
                     firebaseAuth,
                     httpClient,
                     objectMapper,
@@ -89,63 +297,50 @@ public final class AppModule implements Callback<Class<?>, Object> {
                     microsoftClientSecret.orElse(null),
                     microsoftRedirectUri.orElse(null),
                     microsoftAuthority,
-                    microsoftScopes
+                    microsoftScopes,
+                    sessionStore
+            );
+            resumeSession(resolvedAuthService);
+            return new Backend(
+                    resolvedAuthService,
+                    new FirestoreTaskRepository(firestore, resolvedAuthService, eventBus, requestLanes),
+                    new FirestoreDeadlineRepository(firestore, resolvedAuthService, eventBus, requestLanes)
+            );
+        }
+        AuthService resolvedAuthService;
+        Optional<String> firebaseApiKey = config.firebaseApiKey();
+        if (firebaseApiKey.isPresent()) {
+            FirebaseAuthService firebaseAuthService = new FirebaseAuthService(
+                    null,
+                    httpClient,
+                    objectMapper,
+                    firebaseApiKey.get(),
+                    firebaseOAuthRequestUri.orElse(null),
+                    microsoftClientId.orElse(null),
+                    microsoftClientSecret.orElse(null),
+                    microsoftRedirectUri.orElse(null),
+                    microsoftAuthority,
+                    microsoftScopes,
+                    sessionStore
             );
-            resolvedTaskService = new FirestoreTaskRepository(firestore, resolvedAuthService);
-            resolvedDeadlineService = new FirestoreDeadlineRepository(firestore, resolvedAuthService);
+            resumeSession(firebaseAuthService);
+            resolvedAuthService = firebaseAuthService;
         } else {
-            resolvedTaskService = new LocalTaskService();
-            resolvedDeadlineService = new LocalDeadlineService();
-            Optional<String> firebaseApiKey = config.firebaseApiKey();
-            if (firebaseApiKey.isPresent()) {
-                resolvedAuthService = new FirebaseAuthService(
-                        null,
-                        httpClient,
-                        objectMapper,
-                        firebaseApiKey.get(),
-                        firebaseOAuthRequestUri.orElse(null),
-                        microsoftClientId.orElse(null),
-                        microsoftClientSecret.orElse(null),
-                        microsoftRedirectUri.orElse(null),
-                        microsoftAuthority,
-                        microsoftScopes
-                );
-            } else {
-                resolvedAuthService = new LocalAuthService(null);
-            }
+            resolvedAuthService = new LocalAuthService(null);
         }
-
-        Optional<GraphMailClient> graphClient = initializeGraph(config);
-        resolvedEmailService = graphClient
-                .<EmailService>map(GraphEmailRepository::new)
-                .orElseGet(LocalEmailService::new);
-
-        this.taskService = resolvedTaskService;
-        this.deadlineService = resolvedDeadlineService;
-        this.authService = resolvedAuthService;
-        this.emailService = resolvedEmailService;
-
-        TokenStorage tokenStorage = new FileTokenStorage();
-        this.outlookService = new OutlookServiceImpl(
-                microsoftClientId.orElse("36892293-3eb2-460a-8061-e9ad79438b59"),
-                tokenStorage
-        );
+        return new Backend(resolvedAuthService, new LocalTaskService(eventBus), new LocalDeadlineService(eventBus));
     }
 
-    public AuthService authService() {
-        return authService;
-    }
-
-    public TaskService taskService() {
-        return taskService;
-    }
-
-    public DeadlineService deadlineService() {
-        return deadlineService;
+    private void resumeSession(FirebaseAuthService service) {
+        service.setSessionExpiredListener(() -> eventBus.publish(new SessionExpiredEvent()));
+        service.resumeSession().exceptionally(ex -> {
+            ex.printStackTrace();
+            return Optional.empty();
+        });
     }
 
-    public EmailService emailService() {
-        return emailService;
+    private Backend localBackend() {
+        return new Backend(new LocalAuthService(null), new LocalTaskService(eventBus), new LocalDeadlineService(eventBus));
     }
 
     private Optional<FirebaseApp> initializeFirebase(AppConfig config) {
@@ -189,11 +384,17 @@ public final class AppModule implements Callback<Class<?>, Object> {
 
             Set<String> scopes = Set.copyOf(config.graphScopes());
             ClientCredentialAuthProvider authProvider = new ClientCredentialAuthProvider(application, scopes);
+            registerTokenGauges(authProvider);
+            authProvider.warmUp().exceptionally(ex -> {
+                ex.printStackTrace();
+                return null;
+            });
 
             GraphServiceClient<okhttp3.Request> graphServiceClient = GraphServiceClient
                     .builder()
                     .authenticationProvider(authProvider)
                     .buildClient();
+            config.graphBaseUrl().ifPresent(graphServiceClient::setServiceRoot);
 
             return Optional.of(new GraphMailClient(graphServiceClient));
         } catch (Exception e) {
@@ -202,13 +403,25 @@ public final class AppModule implements Callback<Class<?>, Object> {
         }
     }
 
+    private void registerTokenGauges(ClientCredentialAuthProvider authProvider) {
+        metrics.gauge("graph.tokenServed", () -> authProvider.stats().served());
+        metrics.gauge("graph.tokenRefreshes", () -> authProvider.stats().refreshes());
+        metrics.gauge("graph.tokenRefreshFailures", () -> authProvider.stats().failures());
+        metrics.gauge("graph.tokenRefreshP50Micros", () -> authProvider.stats().refreshLatency().p50() / 1_000);
+        metrics.gauge("graph.tokenRefreshP90Micros", () -> authProvider.stats().refreshLatency().p90() / 1_000);
+        metrics.gauge("graph.tokenRefreshP99Micros", () -> authProvider.stats().refreshLatency().p99() / 1_000);
+    }
+
     @Override
     public Object call(Class<?> type) {
         if (type == MainShellController.class) {
             MainShellController controller = new MainShellController();
+            controller.setControllerFactory(this);
             controller.setTaskService(taskService);
             controller.setDeadlineService(deadlineService);
             controller.setEmailService(emailService);
+            controller.setImageService(imageService);
+            controller.setPreferPlainTextBody(config.outlookPlainTextBody());
             controller.setAuthService(authService);
             controller.setOutlookService(outlookService);
             return controller;
@@ -217,12 +430,17 @@ public final class AppModule implements Callback<Class<?>, Object> {
             DeadlineOverviewController controller = new DeadlineOverviewController();
             controller.setDeadlineService(deadlineService);
             controller.setTaskService(taskService);
+            controller.setEventBus(eventBus);
+            warmState().ifPresent(controller::setWarmState);
             return controller;
         }
         if (type == InboxController.class) {
             InboxController controller = new InboxController();
             controller.setEmailService(emailService);
             controller.setOutlookService(outlookService);
+            controller.setImageService(imageService);
+            controller.setEventBus(eventBus);
+            warmState().ifPresent(controller::setWarmState);
             return controller;
         }
         if (type == SettingsController.class) {
@@ -243,4 +461,26 @@ public final class AppModule implements Callback<Class<?>, Object> {
         }
     }
 
+    private record Backend(AuthService authService, TaskService taskService, DeadlineService deadlineService) {
+    }
+
+    private static final class TransientTokenStorage implements TokenStorage {
+
+        private volatile MicrosoftToken token;
+
+        @Override
+        public void saveToken(MicrosoftToken token) {
+            this.token = token;
+        }
+
+        @Override
+        public MicrosoftToken loadToken() {
+            return token;
+        }
+
+        @Override
+        public void clearToken() {
+            token = null;
+        }
+    }
 }
@@ -0,0 +1,42 @@
+package com.todo.desktop.app;
+
+import com.todo.desktop.domain.usecase.RequestContext;
+import com.todo.desktop.domain.usecase.RequestPriority;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+// A service that is still being built on a startup thread.
+final class Deferred<T> {
+
+    private final CompletableFuture<T> ready;
+
+    Deferred(CompletableFuture<T> ready) {
+        this.ready = Objects.requireNonNull(ready, "ready");
+    }
+
+    CompletableFuture<T> ready() {
+        return ready;
+    }
+
+    Optional<T> now() {
+        return ready.isDone() && !ready.isCompletedExceptionally() ? Optional.of(ready.join()) : Optional.empty();
+    }
+
+    // Once ready the call goes straight through, so cancellation and the caller's priority are kept.
+    <R> CompletableFuture<R> call(Function<? super T, CompletableFuture<R>> call) {
+        Optional<T> service = now();
+        if (service.isPresent()) {
+            return call.apply(service.get());
+        }
+        RequestPriority priority = RequestContext.currentPriority();
+        return ready.thenCompose(value -> RequestContext.withPriority(priority, () -> call.apply(value)));
+    }
+
+    void run(Consumer<? super T> action) {
+        ready.thenAccept(action);
+    }
+}
@@ -0,0 +1,56 @@
+package com.todo.desktop.app;
+
+import com.todo.desktop.domain.event.EventBus;
+import com.todo.desktop.domain.event.SignedInEvent;
+import com.todo.desktop.domain.event.SignedOutEvent;
+import com.todo.desktop.domain.model.UserProfile;
+import com.todo.desktop.domain.usecase.AuthService;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+// Until the real service exists, currentUser() answers from the session stored at the last launch.
+// Every sign-in and sign-out is announced on the bus, whichever service ends up behind the proxy.
+final class DeferredAuthService implements AuthService {
+
+    private final Deferred<AuthService> delegate;
+    private final EventBus eventBus;
+    private volatile UserProfile storedUser;
+
+    DeferredAuthService(CompletableFuture<AuthService> ready, UserProfile storedUser, EventBus eventBus) {
+        this.delegate = new Deferred<>(ready);
+        this.storedUser = storedUser;
+        this.eventBus = Objects.requireNonNull(eventBus, "eventBus");
+    }
+
+    @Override
+    public Optional<UserProfile> currentUser() {
+        Optional<AuthService> service = delegate.now();
+        if (service.isPresent()) {
+            return service.get().currentUser();
+        }
+        return Optional.ofNullable(storedUser);
+    }
+
+    @Override
+    public CompletableFuture<UserProfile> signInWithPassword(String email, String password) {
+        return delegate.call(service -> service.signInWithPassword(email, password)).thenApply(this::signedIn);
+    }
+
+    @Override
+    public CompletableFuture<UserProfile> register(String email, String password, String displayName) {
+        return delegate.call(service -> service.register(email, password, displayName)).thenApply(this::signedIn);
+    }
+
+    @Override
+    public CompletableFuture<Void> signOut() {
+        storedUser = null;
+        return delegate.call(AuthService::signOut).whenComplete((ignored, ex) -> eventBus.publish(new SignedOutEvent()));
+    }
+
+    private UserProfile signedIn(UserProfile profile) {
+        eventBus.publish(new SignedInEvent(profile));
+        return profile;
+    }
+}
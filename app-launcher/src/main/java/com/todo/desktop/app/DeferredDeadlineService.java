@@ -0,0 +1,31 @@
+package com.todo.desktop.app;
+
+import com.todo.desktop.domain.model.Deadline;
+import com.todo.desktop.domain.usecase.DeadlineService;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+final class DeferredDeadlineService implements DeadlineService {
+
+    private final Deferred<DeadlineService> delegate;
+
+    DeferredDeadlineService(CompletableFuture<DeadlineService> ready) {
+        this.delegate = new Deferred<>(ready);
+    }
+
+    @Override
+    public CompletableFuture<List<Deadline>> listDeadlines() {
+        return delegate.call(DeadlineService::listDeadlines);
+    }
+
+    @Override
+    public CompletableFuture<Deadline> saveDeadline(Deadline deadline) {
+        return delegate.call(service -> service.saveDeadline(deadline));
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteDeadline(String deadlineId) {
+        return delegate.call(service -> service.deleteDeadline(deadlineId));
+    }
+}
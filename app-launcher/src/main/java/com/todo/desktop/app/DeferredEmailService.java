@@ -0,0 +1,32 @@
+package com.todo.desktop.app;
+
+import com.todo.desktop.domain.model.EmailMessage;
+import com.todo.desktop.domain.usecase.EmailService;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+final class DeferredEmailService implements EmailService {
+
+    private final Deferred<EmailService> delegate;
+
+    DeferredEmailService(CompletableFuture<EmailService> ready) {
+        this.delegate = new Deferred<>(ready);
+    }
+
+    @Override
+    public CompletableFuture<List<EmailMessage>> listInbox() {
+        return delegate.call(EmailService::listInbox);
+    }
+
+    @Override
+    public CompletableFuture<EmailMessage> fetchMessage(String messageId) {
+        return delegate.call(service -> service.fetchMessage(messageId));
+    }
+
+    @Override
+    public CompletableFuture<Void> sendMessage(EmailMessage draft, List<String> cc, List<String> bcc, List<Path> attachments) {
+        return delegate.call(service -> service.sendMessage(draft, cc, bcc, attachments));
+    }
+}
@@ -0,0 +1,92 @@
+package com.todo.desktop.app;
+
+import com.todo.desktop.domain.model.EmailMessage;
+import com.todo.desktop.domain.usecase.OutlookService;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+final class DeferredOutlookService implements OutlookService {
+
+    private final Deferred<OutlookService> delegate;
+
+    DeferredOutlookService(CompletableFuture<OutlookService> ready) {
+        this.delegate = new Deferred<>(ready);
+    }
+
+    @Override
+    public CompletableFuture<Void> connectOutlook() {
+        return delegate.call(OutlookService::connectOutlook);
+    }
+
+    @Override
+    public CompletableFuture<Void> sendEmail(String toEmail, String subject, String body) {
+        return delegate.call(service -> service.sendEmail(toEmail, subject, body));
+    }
+
+    @Override
+    public CompletableFuture<Void> sendEmailWithAttachments(String toEmail, String subject, String body, List<File> attachments) {
+        return delegate.call(service -> service.sendEmailWithAttachments(toEmail, subject, body, attachments));
+    }
+
+    @Override
+    public CompletableFuture<List<EmailMessage>> getInboxMessages(int top) {
+        return delegate.call(service -> service.getInboxMessages(top));
+    }
+
+    @Override
+    public CompletableFuture<List<EmailMessage>> getInboxMessages(int top, int skip) {
+        return delegate.call(service -> service.getInboxMessages(top, skip));
+    }
+
+    @Override
+    public CompletableFuture<EmailMessage> getMessageById(String messageId) {
+        return delegate.call(service -> service.getMessageById(messageId));
+    }
+
+    @Override
+    public CompletableFuture<EmailMessage> getMessageById(String messageId, boolean plainTextBody) {
+        return delegate.call(service -> service.getMessageById(messageId, plainTextBody));
+    }
+
+    @Override
+    public CompletableFuture<byte[]> downloadAttachment(String messageId, String attachmentId) {
+        return delegate.call(service -> service.downloadAttachment(messageId, attachmentId));
+    }
+
+    @Override
+    public CompletableFuture<byte[]> getContactPhoto(String emailAddress) {
+        return delegate.call(service -> service.getContactPhoto(emailAddress));
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteMessage(String messageId) {
+        return delegate.call(service -> service.deleteMessage(messageId));
+    }
+
+    @Override
+    public CompletableFuture<Void> reply(String messageId, String comment) {
+        return delegate.call(service -> service.reply(messageId, comment));
+    }
+
+    @Override
+    public CompletableFuture<Void> forward(String messageId, String toEmail, String comment) {
+        return delegate.call(service -> service.forward(messageId, toEmail, comment));
+    }
+
+    @Override
+    public boolean isConnected() {
+        return delegate.now().map(OutlookService::isConnected).orElse(false);
+    }
+
+    @Override
+    public boolean canLoadContactPhotos() {
+        return delegate.now().map(OutlookService::canLoadContactPhotos).orElse(false);
+    }
+
+    @Override
+    public void disconnect() {
+        delegate.run(OutlookService::disconnect);
+    }
+}
@@ -0,0 +1,31 @@
+package com.todo.desktop.app;
+
+import com.todo.desktop.domain.model.Task;
+import com.todo.desktop.domain.usecase.TaskService;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+final class DeferredTaskService implements TaskService {
+
+    private final Deferred<TaskService> delegate;
+
+    DeferredTaskService(CompletableFuture<TaskService> ready) {
+        this.delegate = new Deferred<>(ready);
+    }
+
+    @Override
+    public CompletableFuture<List<Task>> listTasks() {
+        return delegate.call(TaskService::listTasks);
+    }
+
+    @Override
+    public CompletableFuture<Task> saveTask(Task task) {
+        return delegate.call(service -> service.saveTask(task));
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteTask(String taskId) {
+        return delegate.call(service -> service.deleteTask(taskId));
+    }
+}
@@ -1,32 +1,138 @@
 package com.todo.desktop.app;
 
+import com.todo.desktop.domain.event.SessionExpiredEvent;
+import com.todo.desktop.domain.metrics.MetricsRegistry;
+import com.todo.desktop.sync.SyncScheduler;
 import com.todo.desktop.ui.controller.LoginController;
 import com.todo.desktop.ui.controller.MainShellController;
+import com.todo.desktop.ui.util.FxDevOverlay;
+import com.todo.desktop.ui.util.FxStallMonitor;
+import javafx.animation.PauseTransition;
 import javafx.application.Application;
 import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
+import javafx.scene.input.InputEvent;
 import javafx.stage.Stage;
+import javafx.util.Duration;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
 
 public final class DesktopApp extends Application {
 
-    private final AppModule module = new AppModule();
+    private static final String TRAIN_FLAG = "--train";
+    private static final String STARTUP_PROBE_FLAG = "--startup-probe";
+    private static final Duration TRAINING_SETTLE = Duration.seconds(12);
+
+    private AppModule module;
+    private boolean training;
+    private Stage stage;
+    private MainShellController mainShell;
+
+    @Override
+    public void init() {
+        List<String> args = getParameters().getRaw();
+        training = args.contains(TRAIN_FLAG);
+        // The probe is run over and over by StartupBenchmark, so it must not touch the user's journal,
+        // metrics files or stored session, nor go to the network; it measures the local wiring only.
+        boolean probe = args.contains(STARTUP_PROBE_FLAG);
+        module = training || probe ? AppModule.forTraining() : new AppModule();
+        // Registered before start() looks at currentUser(), so a stored session rejected in between is not missed.
+        module.eventBus().registerAsync(SessionExpiredEvent.class, event -> onSessionExpired(), Platform::runLater);
+    }
 
     @Override
     public void start(Stage stage) throws Exception {
+        this.stage = stage;
         stage.setTitle("Everyday Planner");
         stage.setMinWidth(960);
         stage.setMinHeight(640);
+        watchActivity(stage);
+        watchStalls(stage);
         if (module.authService().currentUser().isPresent()) {
             showMain(stage);
         } else {
             showLogin(stage);
         }
         stage.show();
+        if (training) {
+            train(stage);
+        } else if (getParameters().getRaw().contains(STARTUP_PROBE_FLAG)) {
+            Platform.runLater(() -> {
+                System.out.println("startup-ready " + ManagementFactory.getRuntimeMXBean().getUptime());
+                Platform.exit();
+            });
+        }
+    }
+
+    // Signs in against local services and leaves the shell open long enough to pre-warm every
+    // section, then exits so -XX:ArchiveClassesAtExit can dump the classes that were loaded.
+    private void train(Stage stage) {
+        module.ready()
+                .thenCompose(ignored -> module.authService().signInWithPassword("training@todo.local", "training"))
+                .whenComplete((profile, ex) -> Platform.runLater(() -> {
+                    if (ex != null) {
+                        ex.printStackTrace();
+                        Platform.exit();
+                        return;
+                    }
+                    switchToMain(stage);
+                    PauseTransition settle = new PauseTransition(TRAINING_SETTLE);
+                    settle.setOnFinished(event -> Platform.exit());
+                    settle.play();
+                }));
+    }
+
+    private void watchActivity(Stage stage) {
+        SyncScheduler syncScheduler = module.syncScheduler();
+        stage.focusedProperty().addListener((obs, wasFocused, focused) -> {
+            if (focused) {
+                syncScheduler.onFocusGained();
+            }
+        });
+        stage.iconifiedProperty().addListener((obs, wasIconified, iconified) -> syncScheduler.setMinimized(iconified));
+        stage.addEventFilter(InputEvent.ANY, event -> syncScheduler.onUserActivity());
     }
 
-    private void showLogin(Stage stage) throws Exception {
+    private void watchStalls(Stage stage) {
+        FxStallMonitor monitor = module.fxStallMonitor();
+        MetricsRegistry.Timer stalls = module.metrics().timer("fx.stalls");
+        monitor.setStallListener(stall -> stalls.record(stall.duration().toNanos(), true));
+        // A minimized or background window has nothing to keep responsive, so the heartbeat sleeps there.
+        Runnable update = () -> {
+            if (stage.isFocused() && !stage.isIconified()) {
+                monitor.start();
+            } else {
+                monitor.pause();
+            }
+        };
+        stage.focusedProperty().addListener((obs, was, now) -> update.run());
+        stage.iconifiedProperty().addListener((obs, was, now) -> update.run());
+        update.run();
+        FxDevOverlay.install(stage, monitor);
+    }
+
+    @Override
+    public void stop() {
+        if (module != null) {
+            module.close();
+        }
+    }
+
+    // Only a shell that is still open needs to go; before start() the login screen is chosen anyway.
+    private void onSessionExpired() {
+        if (mainShell == null) {
+            return;
+        }
+        mainShell.dispose();
+        mainShell = null;
+        switchToLogin(stage).showNotice("Phiên đăng nhập đã hết hạn, vui lòng đăng nhập lại");
+    }
+
+    private LoginController showLogin(Stage stage) throws Exception {
+        mainShell = null;
         FXMLLoader loader = new FXMLLoader(getClass().getResource("/ui/login.fxml"));
         loader.setControllerFactory(module);
         Parent root = loader.load();
@@ -34,14 +140,15 @@ public final class DesktopApp extends Application {
         stage.setScene(scene);
 
         LoginController controller = loader.getController();
-        controller.setOnLoginSuccess(profile -> Platform.runLater(() -> switchToMain(stage)));
+        // Sign-in only needs auth; the shell waits for the rest so it never renders half-wired.
+        controller.setOnLoginSuccess(profile -> module.ready()
+                .whenComplete((ignored, ex) -> Platform.runLater(() -> switchToMain(stage))));
+        return controller;
     }
 
     private void switchToMain(Stage stage) {
         try {
-            System.out.println("DEBUG: Attempting to switch to Main Shell...");
             showMain(stage);
-            System.out.println("DEBUG: Switched to Main Shell successfully.");
         } catch (Exception e) {
             System.err.println("CRITICAL ERROR: Failed to switch to main screen.");
             e.printStackTrace();
@@ -54,33 +161,30 @@ public final class DesktopApp extends Application {
         }
     }
 
-    private void switchToLogin(Stage stage) {
+    private LoginController switchToLogin(Stage stage) {
         try {
-            showLogin(stage);
+            return showLogin(stage);
         } catch (Exception e) {
             throw new RuntimeException("Không thể quay lại màn hình đăng nhập", e);
         }
     }
 
     private void showMain(Stage stage) throws Exception {
-        System.out.println("DEBUG: showMain started");
+        long started = System.nanoTime();
         try {
-            System.out.println("DEBUG: Loading main-shell.fxml...");
             FXMLLoader loader = new FXMLLoader(getClass().getResource("/ui/main-shell.fxml"));
             loader.setControllerFactory(module);
             Parent root = loader.load();
-            System.out.println("DEBUG: main-shell.fxml loaded successfully");
             
             Scene scene = new Scene(root, 1360, 860);
-            System.out.println("DEBUG: Scene created");
             
             stage.setScene(scene);
             stage.centerOnScreen();
-            System.out.println("DEBUG: Stage scene set");
 
             com.todo.desktop.ui.controller.MainShellController controller = loader.getController();
             controller.setOnSignOut(() -> Platform.runLater(() -> switchToLogin(stage)));
-            System.out.println("DEBUG: Controller configured");
+            mainShell = controller;
+            module.metrics().timer("ui.showMain").record(System.nanoTime() - started, true);
         } catch (Throwable t) {
             System.err.println("CRITICAL ERROR in showMain:");
             t.printStackTrace();
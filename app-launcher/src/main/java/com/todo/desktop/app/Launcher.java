@@ -0,0 +1,15 @@
+package com.todo.desktop.app;
+
+import javafx.application.Application;
+
+// The java launcher refuses to start an Application subclass from the classpath,
+// so the fat jar and the CDS scripts enter here instead.
+public final class Launcher {
+
+    private Launcher() {
+    }
+
+    public static void main(String[] args) {
+        Application.launch(DesktopApp.class, args);
+    }
+}
@@ -0,0 +1,48 @@
+plugins {
+    id("me.champeau.jmh")
+}
+
+dependencies {
+    jmh(project(":domain"))
+    jmh(project(":data"))
+    jmh(project(":ui"))
+    jmh(project(":sync"))
+    jmh("com.microsoft.graph:microsoft-graph:5.57.0")
+    jmh("com.google.cloud:google-cloud-firestore:3.16.0")
+}
+
+// ./gradlew :benchmarks:jmh -Pjmh.includes=EventBus runs a subset; results land in build/results/jmh.
+jmh {
+    warmupIterations.set(3)
+    iterations.set(5)
+    fork.set(1)
+    resultFormat.set("JSON")
+    (findProperty("jmh.includes") as String?)?.let { includes.set(listOf(it)) }
+}
+
+// Offline load testing against a local Graph stand-in; see GraphStandIn and InboxLoadTest.
+sourceSets {
+    create("loadTest")
+}
+
+dependencies {
+    "loadTestImplementation"(project(":domain"))
+    "loadTestImplementation"(project(":data"))
+    "loadTestImplementation"("com.google.code.gson:gson:2.10.1")
+}
+
+// ./gradlew :benchmarks:inboxLoadTest -Pload.args="--mailbox=100000 --concurrency=16"
+val inboxLoadTest by tasks.registering(JavaExec::class) {
+    group = "verification"
+    classpath = sourceSets["loadTest"].runtimeClasspath
+    mainClass.set("com.todo.desktop.benchmarks.InboxLoadTest")
+    (findProperty("load.args") as String?)?.let { args(it.split(" ").filter(String::isNotBlank)) }
+}
+
+// Serves a synthetic mailbox until stopped; start the app with the printed -D flags to use it.
+val graphStandIn by tasks.registering(JavaExec::class) {
+    group = "application"
+    classpath = sourceSets["loadTest"].runtimeClasspath
+    mainClass.set("com.todo.desktop.benchmarks.GraphStandIn")
+    (findProperty("load.args") as String?)?.let { args(it.split(" ").filter(String::isNotBlank)) }
+}
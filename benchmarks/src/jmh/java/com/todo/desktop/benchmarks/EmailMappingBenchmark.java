@@ -0,0 +1,53 @@
+package com.todo.desktop.benchmarks;
+
+import com.microsoft.graph.models.Message;
+import com.todo.desktop.data.mapper.EmailMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EmailMappingBenchmark {
+
+    @Param({"50", "1000"})
+    int messages;
+
+    private List<Message> page;
+
+    @Setup
+    public void setUp() {
+        page = SampleData.graphMessages(messages, true);
+    }
+
+    @Benchmark
+    public void emailMapperToDomain(Blackhole blackhole) {
+        for (Message message : page) {
+            blackhole.consume(EmailMapper.toDomain(message));
+        }
+    }
+
+    @Benchmark
+    public void outlookConversionWithoutBody(Blackhole blackhole) {
+        for (Message message : page) {
+            blackhole.consume(EmailMapper.fromOutlook(message, false));
+        }
+    }
+
+    @Benchmark
+    public void outlookConversionWithBody(Blackhole blackhole) {
+        for (Message message : page) {
+            blackhole.consume(EmailMapper.fromOutlook(message, true));
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.todo.desktop.benchmarks;
+
+import com.todo.desktop.domain.event.DeadlineChangedEvent;
+import com.todo.desktop.domain.event.EventBus;
+import com.todo.desktop.domain.event.PlannerEvent;
+import com.todo.desktop.domain.event.TaskSavedEvent;
+import com.todo.desktop.domain.model.Task;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EventBusBenchmark {
+
+    @Param({"1", "10", "100", "1000"})
+    int listeners;
+
+    private EventBus eventBus;
+    private TaskSavedEvent event;
+
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        eventBus = new EventBus();
+        // Half listen to the exact type and half to a supertype, like the controllers do.
+        for (int i = 0; i < listeners; i++) {
+            if (i % 2 == 0) {
+                eventBus.register(TaskSavedEvent.class, blackhole::consume);
+            } else {
+                eventBus.register(PlannerEvent.class, blackhole::consume);
+            }
+        }
+        eventBus.register(DeadlineChangedEvent.class, blackhole::consume);
+        event = new TaskSavedEvent(new Task("task-1", "Công việc", null, Instant.now(), Task.TaskStatus.TODO, false));
+    }
+
+    @Benchmark
+    public void publish() {
+        eventBus.publish(event);
+    }
+}
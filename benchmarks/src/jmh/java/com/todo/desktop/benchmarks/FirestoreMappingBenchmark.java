@@ -0,0 +1,48 @@
+package com.todo.desktop.benchmarks;
+
+import com.todo.desktop.data.mapper.FirestoreMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FirestoreMappingBenchmark {
+
+    @Param({"100", "10000"})
+    int documents;
+
+    private List<Map<String, Object>> tasks;
+    private List<Map<String, Object>> deadlines;
+
+    @Setup
+    public void setUp() {
+        tasks = SampleData.taskDocuments(documents);
+        deadlines = SampleData.deadlineDocuments(documents);
+    }
+
+    @Benchmark
+    public void toTask(Blackhole blackhole) {
+        for (Map<String, Object> data : tasks) {
+            blackhole.consume(FirestoreMapper.toTask((String) data.get("id"), data));
+        }
+    }
+
+    @Benchmark
+    public void toDeadline(Blackhole blackhole) {
+        for (Map<String, Object> data : deadlines) {
+            blackhole.consume(FirestoreMapper.toDeadline((String) data.get("id"), data));
+        }
+    }
+}
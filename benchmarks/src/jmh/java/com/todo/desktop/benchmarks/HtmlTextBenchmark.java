@@ -0,0 +1,35 @@
+package com.todo.desktop.benchmarks;
+
+import com.todo.desktop.ui.util.HtmlText;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+// HtmlText replaced the controller's stripHtml; this keeps the email body conversion measured.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class HtmlTextBenchmark {
+
+    @Param({"4", "100"})
+    int sections;
+
+    private String html;
+
+    @Setup
+    public void setUp() {
+        html = SampleData.newsletterHtml(sections);
+    }
+
+    @Benchmark
+    public String toText() {
+        return HtmlText.toText(html, 200_000);
+    }
+}
@@ -0,0 +1,51 @@
+package com.todo.desktop.benchmarks;
+
+import com.todo.desktop.domain.model.EmailMessage;
+import com.todo.desktop.ui.util.InboxFilters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class InboxFilterBenchmark {
+
+    @Param({"10000", "100000"})
+    int messages;
+
+    @Param({"none", "unread", "attachments", "both"})
+    String filter;
+
+    private List<EmailMessage> inbox;
+    private Predicate<EmailMessage> predicate;
+
+    @Setup
+    public void setUp() {
+        inbox = SampleData.inbox(messages);
+        predicate = InboxFilters.of(
+                filter.equals("unread") || filter.equals("both"),
+                filter.equals("attachments") || filter.equals("both"));
+    }
+
+    // The same pass FilteredList makes over the source list when the predicate changes.
+    @Benchmark
+    public int applyPredicate() {
+        int matched = 0;
+        for (EmailMessage message : inbox) {
+            if (predicate.test(message)) {
+                matched++;
+            }
+        }
+        return matched;
+    }
+}
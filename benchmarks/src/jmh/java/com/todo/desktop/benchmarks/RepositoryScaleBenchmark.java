@@ -0,0 +1,129 @@
+package com.todo.desktop.benchmarks;
+
+import com.todo.desktop.data.repository.FirestoreDeadlineRepository;
+import com.todo.desktop.data.repository.FirestoreTaskRepository;
+import com.todo.desktop.data.request.RequestLanes;
+import com.todo.desktop.data.store.InMemoryDocumentStore;
+import com.todo.desktop.domain.event.EventBus;
+import com.todo.desktop.domain.model.Deadline;
+import com.todo.desktop.domain.model.Task;
+import com.todo.desktop.domain.model.UserProfile;
+import com.todo.desktop.domain.usecase.AuthService;
+import com.todo.desktop.sync.SyncEngine;
+import com.todo.desktop.sync.SyncRunMetrics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+// The Firestore repositories over the in-memory store, at the task counts of small, large and extreme users.
+// The store adds no latency, so what scales here is our own mapping, sorting and diffing.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class RepositoryScaleBenchmark {
+
+    private static final UserProfile USER = new UserProfile("bench-user", "Benchmark", "bench@todo.local", null);
+
+    @Param({"1000", "10000", "100000"})
+    int tasks;
+
+    private FirestoreTaskRepository taskRepository;
+    private FirestoreDeadlineRepository deadlineRepository;
+    private SyncEngine syncEngine;
+    private List<Task> existing;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        InMemoryDocumentStore store = new InMemoryDocumentStore();
+        for (Map<String, Object> data : SampleData.taskDocuments(tasks)) {
+            store.merge("users/" + USER.uid() + "/tasks", (String) data.get("id"), data).join();
+        }
+        // Half the tasks carry a deadline.
+        for (Map<String, Object> data : SampleData.deadlineDocuments(tasks / 2)) {
+            store.merge("users/" + USER.uid() + "/deadlines", (String) data.get("id"), data).join();
+        }
+
+        AuthService auth = new SignedInAuthService();
+        EventBus eventBus = new EventBus();
+        RequestLanes requestLanes = new RequestLanes();
+        taskRepository = new FirestoreTaskRepository(store, auth, eventBus, requestLanes);
+        deadlineRepository = new FirestoreDeadlineRepository(store, auth, eventBus, requestLanes);
+        syncEngine = new SyncEngine(taskRepository, deadlineRepository, auth, eventBus);
+        syncEngine.runOnce();
+        existing = taskRepository.listTasks().join();
+    }
+
+    @TearDown
+    public void tearDown() {
+        syncEngine.close();
+    }
+
+    @Benchmark
+    public List<Task> listTasks() {
+        return taskRepository.listTasks().join();
+    }
+
+    @Benchmark
+    public Task saveTask() {
+        Task task = existing.get(next++ % existing.size());
+        return taskRepository.saveTask(new Task(task.id(), task.title(), task.description(), task.dueAt(), task.status(), !task.flagged())).join();
+    }
+
+    // What the deadline overview does: both lists, then each deadline resolved to its task.
+    @Benchmark
+    public void listAndJoin(Blackhole blackhole) {
+        CompletableFuture<List<Task>> taskList = taskRepository.listTasks();
+        CompletableFuture<List<Deadline>> deadlineList = deadlineRepository.listDeadlines();
+        Map<String, Task> tasksById = new HashMap<>();
+        for (Task task : taskList.join()) {
+            tasksById.put(task.id(), task);
+        }
+        for (Deadline deadline : deadlineList.join()) {
+            blackhole.consume(tasksById.get(deadline.taskId()));
+        }
+    }
+
+    // A steady-state background sync: everything is fetched and diffed, nothing has changed.
+    @Benchmark
+    public SyncRunMetrics syncRun() {
+        return syncEngine.runOnce();
+    }
+
+    private static final class SignedInAuthService implements AuthService {
+
+        @Override
+        public Optional<UserProfile> currentUser() {
+            return Optional.of(USER);
+        }
+
+        @Override
+        public CompletableFuture<UserProfile> signInWithPassword(String email, String password) {
+            return CompletableFuture.completedFuture(USER);
+        }
+
+        @Override
+        public CompletableFuture<UserProfile> register(String email, String password, String displayName) {
+            return CompletableFuture.completedFuture(USER);
+        }
+
+        @Override
+        public CompletableFuture<Void> signOut() {
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+}
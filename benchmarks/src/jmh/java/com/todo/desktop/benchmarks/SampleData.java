@@ -0,0 +1,136 @@
+package com.todo.desktop.benchmarks;
+
+import com.google.cloud.Timestamp;
+import com.microsoft.graph.models.EmailAddress;
+import com.microsoft.graph.models.ItemBody;
+import com.microsoft.graph.models.Message;
+import com.microsoft.graph.models.Recipient;
+import com.todo.desktop.domain.model.EmailMessage;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+// Deterministic inputs shaped like what Graph and Firestore return, so runs are comparable.
+final class SampleData {
+
+    private static final Instant BASE = Instant.parse("2025-01-01T08:00:00Z");
+
+    private SampleData() {
+    }
+
+    static List<Message> graphMessages(int count, boolean withBody) {
+        Random random = new Random(42);
+        List<Message> messages = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Message message = new Message();
+            message.id = "AAMkAGI2TG93AAA=" + i;
+            message.changeKey = "CQAAABYAAAB" + i;
+            message.subject = "Báo cáo tuần " + i + " - dự án " + (i % 17);
+            message.from = recipient("Người gửi " + (i % 50), "sender" + (i % 50) + "@contoso.com");
+            List<Recipient> to = new ArrayList<>();
+            for (int r = 0, n = 1 + random.nextInt(4); r < n; r++) {
+                to.add(recipient("Người nhận " + r, "user" + r + "@contoso.com"));
+            }
+            message.toRecipients = to;
+            message.bodyPreview = "Chào cả nhóm, đây là tóm tắt tiến độ tuần này cho dự án " + (i % 17) + "...";
+            message.isRead = random.nextBoolean();
+            message.hasAttachments = random.nextInt(5) == 0;
+            message.receivedDateTime = OffsetDateTime.ofInstant(BASE.plusSeconds(i * 97L), ZoneOffset.UTC);
+            if (withBody) {
+                ItemBody body = new ItemBody();
+                body.content = newsletterHtml(4);
+                message.body = body;
+            }
+            messages.add(message);
+        }
+        return messages;
+    }
+
+    static List<EmailMessage> inbox(int count) {
+        Random random = new Random(7);
+        List<EmailMessage> messages = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            messages.add(new EmailMessage(
+                    "msg-" + i,
+                    "Chủ đề " + i,
+                    "Người gửi " + (i % 50),
+                    "sender" + (i % 50) + "@contoso.com",
+                    List.of("me@contoso.com"),
+                    "Xem trước " + i,
+                    "",
+                    random.nextInt(3) != 0,
+                    random.nextInt(5) == 0,
+                    BASE.plusSeconds(i * 31L),
+                    List.of(),
+                    "ck-" + i
+            ));
+        }
+        return messages;
+    }
+
+    static List<Map<String, Object>> taskDocuments(int count) {
+        List<Map<String, Object>> documents = new ArrayList<>(count);
+        String[] statuses = {"TODO", "IN_PROGRESS", "DONE"};
+        for (int i = 0; i < count; i++) {
+            Map<String, Object> data = new HashMap<>();
+            data.put("id", "task-" + i);
+            data.put("title", "Công việc " + i);
+            data.put("description", i % 3 == 0 ? null : "Mô tả chi tiết cho công việc số " + i);
+            data.put("status", statuses[i % statuses.length]);
+            data.put("flagged", i % 7 == 0);
+            data.put("dueAt", Timestamp.ofTimeSecondsAndNanos(BASE.getEpochSecond() + i * 3600L, 0));
+            documents.add(data);
+        }
+        return documents;
+    }
+
+    static List<Map<String, Object>> deadlineDocuments(int count) {
+        List<Map<String, Object>> documents = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Map<String, Object> data = new HashMap<>();
+            data.put("id", "deadline-" + i);
+            data.put("taskId", "task-" + i);
+            data.put("timeZoneId", i % 2 == 0 ? "Asia/Ho_Chi_Minh" : "Europe/Berlin");
+            data.put("dueAt", Timestamp.ofTimeSecondsAndNanos(BASE.getEpochSecond() + i * 3600L, 0));
+            data.put("reminderPolicy", Map.of("enabled", i % 4 != 0, "leadMinutes", 30L + i % 90));
+            documents.add(data);
+        }
+        return documents;
+    }
+
+    // Marketing-style mail: nested tables, inline styles, a style block, comments, entities and links.
+    static String newsletterHtml(int sections) {
+        StringBuilder html = new StringBuilder(sections * 2048);
+        html.append("<!DOCTYPE html><html><head><meta charset=\"utf-8\"><style>td{padding:4px}.btn{color:#fff}</style></head><body>");
+        html.append("<!--[if mso]><table><tr><td><![endif]-->");
+        for (int s = 0; s < sections; s++) {
+            html.append("<table width=\"100%\" cellpadding=\"0\" style=\"border-collapse:collapse\"><tr><td>");
+            html.append("<h2 style=\"font-family:Arial\">Mục ").append(s).append(" &ndash; cập nhật</h2>");
+            for (int p = 0; p < 6; p++) {
+                html.append("<p style=\"margin:0 0 8px\">Đoạn ").append(p)
+                        .append(": tiến độ &amp; kế hoạch cho quý tới, chi phí &lt;10%&gt; so với dự kiến.&nbsp;")
+                        .append("<a href=\"https://example.com/track?id=").append(s).append(p).append("\">Xem thêm</a></p>");
+            }
+            html.append("<ul><li>Mục một</li><li>Mục hai</li><li>Mục ba</li></ul>");
+            html.append("<script>window.track && track('").append(s).append("');</script>");
+            html.append("</td></tr></table>");
+        }
+        html.append("<!--[if mso]></td></tr></table><![endif]--></body></html>");
+        return html.toString();
+    }
+
+    private static Recipient recipient(String name, String address) {
+        EmailAddress emailAddress = new EmailAddress();
+        emailAddress.name = name;
+        emailAddress.address = address;
+        Recipient recipient = new Recipient();
+        recipient.emailAddress = emailAddress;
+        return recipient;
+    }
+}
@@ -0,0 +1,383 @@
+package com.todo.desktop.benchmarks;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Answers the Graph mail calls and the Microsoft token endpoints that OutlookServiceImpl makes, from a
+// synthetic mailbox. Messages are derived from their index, so a mailbox of any size costs no memory.
+public final class GraphStandIn implements AutoCloseable {
+
+    private static final Instant NEWEST = Instant.parse("2025-06-30T17:00:00Z");
+    private static final int MAX_PAGE = 1000;
+    private static final int DEFAULT_PAGE = 10;
+    private static final String MESSAGE_PREFIX = "standin-";
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final int mailboxSize;
+    private final Duration latency;
+    private final Duration jitter;
+    private final Map<Integer, Boolean> readOverrides = new ConcurrentHashMap<>();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong tokensIssued = new AtomicLong();
+
+    public GraphStandIn(int port, int mailboxSize, Duration latency, Duration jitter) throws IOException {
+        if (mailboxSize < 0) {
+            throw new IllegalArgumentException("mailboxSize phải >= 0");
+        }
+        this.mailboxSize = mailboxSize;
+        this.latency = latency;
+        this.jitter = jitter;
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "graph-stand-in");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = Options.parse(args);
+        GraphStandIn standIn = new GraphStandIn(
+                Options.intValue(options, "port", 8790),
+                Options.intValue(options, "mailbox", 10_000),
+                Duration.ofMillis(Options.intValue(options, "latency", 80)),
+                Duration.ofMillis(Options.intValue(options, "jitter", 40))
+        );
+        System.out.println("Graph stand-in đang chạy: " + standIn.mailboxSize + " email");
+        System.out.println("  -Dgraph.baseUrl=" + standIn.graphBaseUrl());
+        System.out.println("  -Doutlook.authority=" + standIn.authority());
+        Runtime.getRuntime().addShutdownHook(new Thread(standIn::close));
+        Thread.currentThread().join();
+    }
+
+    public String graphBaseUrl() {
+        return baseUrl() + "/v1.0";
+    }
+
+    public String authority() {
+        return baseUrl() + "/common";
+    }
+
+    public long requests() {
+        return requests.get();
+    }
+
+    public long sent() {
+        return sent.get();
+    }
+
+    public long tokensIssued() {
+        return tokensIssued.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        try {
+            try (InputStream body = exchange.getRequestBody()) {
+                body.readAllBytes();
+            }
+            String path = exchange.getRequestURI().getPath();
+            String method = exchange.getRequestMethod();
+            Map<String, String> query = query(exchange.getRequestURI());
+
+            if (path.endsWith("/oauth2/v2.0/authorize")) {
+                authorize(exchange, query);
+                return;
+            }
+            simulateLatency();
+            if (path.endsWith("/oauth2/v2.0/token") && method.equals("POST")) {
+                token(exchange);
+                return;
+            }
+            if (!path.startsWith("/v1.0/")) {
+                error(exchange, 404, "ResourceNotFound", "Không có endpoint " + path);
+                return;
+            }
+            String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+            if (authorization == null || !authorization.startsWith("Bearer ")) {
+                error(exchange, 401, "InvalidAuthenticationToken", "Thiếu access token");
+                return;
+            }
+
+            String[] segments = path.substring("/v1.0/".length()).split("/");
+            if (segments.length == 2 && segments[0].equals("me") && segments[1].equals("sendMail") && method.equals("POST")) {
+                sent.incrementAndGet();
+                respond(exchange, 202, null);
+            } else if (isMessageList(segments) && method.equals("GET")) {
+                listMessages(exchange, path, query);
+            } else if (segments.length >= 3 && segments[0].equals("me") && segments[1].equals("messages")) {
+                message(exchange, method, segments);
+            } else {
+                error(exchange, 404, "ResourceNotFound", "Không có endpoint " + path);
+            }
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+            error(exchange, 500, "InternalServerError", e.getMessage());
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static boolean isMessageList(String[] segments) {
+        if (segments.length == 2) {
+            return segments[0].equals("me") && segments[1].equals("messages");
+        }
+        return segments.length == 4 && segments[0].equals("me") && segments[1].equals("mailFolders")
+                && segments[2].equalsIgnoreCase("inbox") && segments[3].equals("messages");
+    }
+
+    private void listMessages(HttpExchange exchange, String path, Map<String, String> query) throws IOException {
+        int top = Math.min(MAX_PAGE, Math.max(1, intParam(query, "$top", DEFAULT_PAGE)));
+        int skip = Math.max(0, intParam(query, "$skip", 0));
+        int end = Math.min(mailboxSize, skip + top);
+
+        JsonArray value = new JsonArray();
+        for (int index = skip; index < end; index++) {
+            value.add(summary(index));
+        }
+        JsonObject page = new JsonObject();
+        page.addProperty("@odata.context", graphBaseUrl() + "/$metadata#users('me')/messages");
+        page.add("value", value);
+        if (end < mailboxSize) {
+            page.addProperty("@odata.nextLink", baseUrl() + path + "?$top=" + top + "&$skip=" + end);
+        }
+        respond(exchange, 200, page);
+    }
+
+    private void message(HttpExchange exchange, String method, String[] segments) throws IOException {
+        int index = indexOf(segments[2]);
+        if (index < 0) {
+            error(exchange, 404, "ErrorItemNotFound", "Không tìm thấy email " + segments[2]);
+            return;
+        }
+        if (segments.length == 5 && segments[3].equals("attachments") && method.equals("GET")) {
+            if (!hasAttachments(index) || !segments[4].equals(attachmentId(index))) {
+                error(exchange, 404, "ErrorItemNotFound", "Không tìm thấy tệp đính kèm " + segments[4]);
+                return;
+            }
+            respond(exchange, 200, attachment(index));
+            return;
+        }
+        if (segments.length != 3) {
+            error(exchange, 404, "ResourceNotFound", "Không có endpoint");
+            return;
+        }
+        switch (method) {
+            case "GET" -> {
+                String prefer = exchange.getRequestHeaders().getFirst("Prefer");
+                boolean text = prefer != null && prefer.contains("outlook.body-content-type=\"text\"");
+                respond(exchange, 200, detail(index, text));
+            }
+            case "PATCH" -> {
+                // Only read state is tracked; any other change is accepted and forgotten.
+                readOverrides.put(index, true);
+                respond(exchange, 200, summary(index));
+            }
+            case "DELETE" -> respond(exchange, 204, null);
+            default -> error(exchange, 405, "MethodNotAllowed", method);
+        }
+    }
+
+    private void authorize(HttpExchange exchange, Map<String, String> query) throws IOException {
+        // Signs in at once and sends the browser back to the app's callback with a code.
+        String redirect = query.getOrDefault("redirect_uri", "");
+        String location = redirect + "?code=stand-in-code&state=" + URLEncoder.encode(query.getOrDefault("state", ""), StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Location", location);
+        respond(exchange, 302, null);
+    }
+
+    private void token(HttpExchange exchange) throws IOException {
+        long issued = tokensIssued.incrementAndGet();
+        JsonObject token = new JsonObject();
+        token.addProperty("token_type", "Bearer");
+        token.addProperty("access_token", "stand-in-access-" + issued);
+        token.addProperty("refresh_token", "stand-in-refresh-" + issued);
+        token.addProperty("expires_in", 3600);
+        respond(exchange, 200, token);
+    }
+
+    private JsonObject summary(int index) {
+        Random random = new Random(index);
+        JsonObject message = new JsonObject();
+        message.addProperty("id", MESSAGE_PREFIX + index);
+        message.addProperty("changeKey", "CQAAAB" + index);
+        message.addProperty("subject", "Báo cáo tuần " + (index % 52) + " - dự án " + (index % 17));
+        message.addProperty("bodyPreview", "Chào cả nhóm, đây là tóm tắt tiến độ cho dự án " + (index % 17) + "...");
+        message.addProperty("isRead", readOverrides.getOrDefault(index, random.nextInt(3) != 0));
+        message.addProperty("hasAttachments", hasAttachments(index));
+        message.addProperty("receivedDateTime", NEWEST.minusSeconds(index * 311L).toString());
+        message.add("from", recipient("Người gửi " + (index % 200), "sender" + (index % 200) + "@contoso.com"));
+        JsonArray to = new JsonArray();
+        for (int r = 0, n = 1 + random.nextInt(4); r < n; r++) {
+            to.add(recipient("Người nhận " + r, "user" + r + "@contoso.com"));
+        }
+        message.add("toRecipients", to);
+        return message;
+    }
+
+    private JsonObject detail(int index, boolean text) {
+        JsonObject message = summary(index);
+        JsonObject body = new JsonObject();
+        body.addProperty("contentType", text ? "text" : "html");
+        body.addProperty("content", body(index, text));
+        message.add("body", body);
+        JsonArray attachments = new JsonArray();
+        if (hasAttachments(index)) {
+            attachments.add(attachment(index));
+        }
+        message.add("attachments", attachments);
+        return message;
+    }
+
+    private static String body(int index, boolean text) {
+        int paragraphs = 3 + index % 12;
+        StringBuilder builder = new StringBuilder(paragraphs * 200);
+        if (!text) {
+            builder.append("<html><body><table width=\"100%\"><tr><td style=\"font-family:Segoe UI\">");
+        }
+        for (int p = 0; p < paragraphs; p++) {
+            String paragraph = "Mục " + p + ": cập nhật tiến độ, rủi ro và việc cần làm trong tuần cho dự án " + (index % 17) + ".";
+            builder.append(text ? paragraph + "\n\n" : "<p>" + paragraph + " <a href=\"https://contoso.com/p/" + p + "\">Chi tiết</a></p>");
+        }
+        if (!text) {
+            builder.append("</td></tr></table></body></html>");
+        }
+        return builder.toString();
+    }
+
+    private static JsonObject attachment(int index) {
+        byte[] content = new byte[4096 + (index % 8) * 1024];
+        new Random(index).nextBytes(content);
+        JsonObject attachment = new JsonObject();
+        attachment.addProperty("@odata.type", "#microsoft.graph.fileAttachment");
+        attachment.addProperty("id", attachmentId(index));
+        attachment.addProperty("name", "bao-cao-" + index + ".pdf");
+        attachment.addProperty("contentType", "application/pdf");
+        attachment.addProperty("size", content.length);
+        attachment.addProperty("contentBytes", Base64.getEncoder().encodeToString(content));
+        return attachment;
+    }
+
+    private static JsonObject recipient(String name, String address) {
+        JsonObject emailAddress = new JsonObject();
+        emailAddress.addProperty("name", name);
+        emailAddress.addProperty("address", address);
+        JsonObject recipient = new JsonObject();
+        recipient.add("emailAddress", emailAddress);
+        return recipient;
+    }
+
+    private static boolean hasAttachments(int index) {
+        return index % 5 == 0;
+    }
+
+    private static String attachmentId(int index) {
+        return "att-" + index;
+    }
+
+    private int indexOf(String id) {
+        if (!id.startsWith(MESSAGE_PREFIX)) {
+            return -1;
+        }
+        try {
+            int index = Integer.parseInt(id.substring(MESSAGE_PREFIX.length()));
+            return index < mailboxSize ? index : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private void simulateLatency() {
+        long millis = latency.toMillis() + (jitter.isZero() ? 0 : ThreadLocalRandom.current().nextLong(jitter.toMillis() + 1));
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Map<String, String> query(URI uri) {
+        Map<String, String> result = new HashMap<>();
+        String raw = uri.getRawQuery();
+        if (raw == null || raw.isEmpty()) {
+            return result;
+        }
+        for (String pair : raw.split("&")) {
+            int separator = pair.indexOf('=');
+            String key = separator < 0 ? pair : pair.substring(0, separator);
+            String value = separator < 0 ? "" : pair.substring(separator + 1);
+            result.put(URLDecoder.decode(key, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return result;
+    }
+
+    private static int intParam(Map<String, String> query, String key, int fallback) {
+        try {
+            return query.containsKey(key) ? Integer.parseInt(query.get(key)) : fallback;
+        } catch (NumberFormatException e) {
+            return fallback;
+        }
+    }
+
+    private static void error(HttpExchange exchange, int status, String code, String message) throws IOException {
+        JsonObject error = new JsonObject();
+        error.addProperty("code", code);
+        error.addProperty("message", message);
+        JsonObject root = new JsonObject();
+        root.add("error", error);
+        respond(exchange, status, root);
+    }
+
+    private static void respond(HttpExchange exchange, int status, JsonObject json) throws IOException {
+        if (json == null) {
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        byte[] bytes = json.toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(bytes);
+        }
+    }
+}
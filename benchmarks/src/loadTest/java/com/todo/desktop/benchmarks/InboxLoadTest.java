@@ -0,0 +1,173 @@
+package com.todo.desktop.benchmarks;
+
+import com.todo.desktop.data.request.RequestLanes;
+import com.todo.desktop.data.service.MicrosoftEndpoints;
+import com.todo.desktop.data.service.MicrosoftToken;
+import com.todo.desktop.data.service.OutlookServiceImpl;
+import com.todo.desktop.data.service.TokenStorage;
+import com.todo.desktop.domain.event.EventBus;
+import com.todo.desktop.domain.metrics.LatencyHistogram;
+import com.todo.desktop.domain.model.EmailMessage;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Drives the real OutlookServiceImpl against an in-process GraphStandIn: pages through the whole inbox,
+// opens random messages from several callers at once, then sends mail. Every call goes over HTTP through
+// the Graph SDK, so serialization, the request lanes and the token refresh are all on the measured path.
+public final class InboxLoadTest {
+
+    private InboxLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = Options.parse(args);
+        int mailbox = Options.intValue(options, "mailbox", 20_000);
+        int pageSize = Options.intValue(options, "page", 50);
+        int maxPages = Options.intValue(options, "pages", Integer.MAX_VALUE);
+        int opens = Options.intValue(options, "opens", 500);
+        int sends = Options.intValue(options, "sends", 200);
+        int concurrency = Options.intValue(options, "concurrency", 8);
+        Duration latency = Duration.ofMillis(Options.intValue(options, "latency", 80));
+        Duration jitter = Duration.ofMillis(Options.intValue(options, "jitter", 40));
+
+        try (GraphStandIn standIn = new GraphStandIn(0, mailbox, latency, jitter)) {
+            // An expired token makes the first call go through the refresh endpoint, as after a night's sleep.
+            TokenStorage tokens = new MemoryTokenStorage(new MicrosoftToken("expired", "stand-in-refresh", Instant.EPOCH));
+            OutlookServiceImpl outlook = new OutlookServiceImpl(
+                    "load-test",
+                    tokens,
+                    new EventBus(),
+                    new RequestLanes(),
+                    new MicrosoftEndpoints(standIn.authority(), standIn.graphBaseUrl())
+            );
+
+            System.out.printf("Hộp thư %d email, độ trễ %d ms ± %d ms, %d luồng song song%n",
+                    mailbox, latency.toMillis(), jitter.toMillis(), concurrency);
+            outlook.getInboxMessages(pageSize, 0).join();
+
+            paging(outlook, mailbox, pageSize, maxPages);
+            opens(outlook, mailbox, opens, concurrency);
+            sends(outlook, standIn, sends, concurrency);
+            System.out.printf("Stand-in: %d request, %d token cấp mới%n", standIn.requests(), standIn.tokensIssued());
+        }
+        System.exit(0);
+    }
+
+    private static void paging(OutlookServiceImpl outlook, int mailbox, int pageSize, int maxPages) {
+        LatencyHistogram pageLatency = new LatencyHistogram();
+        long messages = 0;
+        int pages = 0;
+        long started = System.nanoTime();
+        for (int skip = 0; skip < mailbox && pages < maxPages; skip += pageSize) {
+            long requestStarted = System.nanoTime();
+            List<EmailMessage> page = outlook.getInboxMessages(pageSize, skip).join();
+            pageLatency.record(System.nanoTime() - requestStarted);
+            messages += page.size();
+            pages++;
+            if (page.size() < pageSize) {
+                break;
+            }
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+        System.out.printf("Phân trang: %d trang, %d email trong %.1f s  →  %.0f email/s, %.1f trang/s%n",
+                pages, messages, seconds, messages / seconds, pages / seconds);
+        report("  thời gian mỗi trang", pageLatency.snapshot());
+    }
+
+    private static void opens(OutlookServiceImpl outlook, int mailbox, int opens, int concurrency) {
+        LatencyHistogram openLatency = new LatencyHistogram();
+        long started = System.nanoTime();
+        run(opens, concurrency, () -> {
+            String id = "standin-" + ThreadLocalRandom.current().nextInt(mailbox);
+            long requestStarted = System.nanoTime();
+            outlook.getMessageById(id).join();
+            openLatency.record(System.nanoTime() - requestStarted);
+        });
+        double seconds = (System.nanoTime() - started) / 1e9;
+        System.out.printf("Mở email: %d lần trong %.1f s  →  %.0f lần/s%n", opens, seconds, opens / seconds);
+        report("  độ trễ mở chi tiết", openLatency.snapshot());
+    }
+
+    private static void sends(OutlookServiceImpl outlook, GraphStandIn standIn, int sends, int concurrency) {
+        LatencyHistogram sendLatency = new LatencyHistogram();
+        long before = standIn.sent();
+        long started = System.nanoTime();
+        run(sends, concurrency, () -> {
+            long requestStarted = System.nanoTime();
+            outlook.sendEmail("user0@contoso.com", "Kiểm thử tải", "Nội dung kiểm thử tải").join();
+            sendLatency.record(System.nanoTime() - requestStarted);
+        });
+        double seconds = (System.nanoTime() - started) / 1e9;
+        System.out.printf("Gửi email: %d email trong %.1f s  →  %.1f email/s (stand-in nhận %d)%n",
+                sends, seconds, sends / seconds, standIn.sent() - before);
+        report("  độ trễ gửi", sendLatency.snapshot());
+    }
+
+    // Runs the call the given number of times from a fixed set of callers; failures are counted, not fatal.
+    private static void run(int total, int concurrency, Runnable call) {
+        ExecutorService callers = Executors.newFixedThreadPool(Math.max(1, concurrency));
+        AtomicInteger remaining = new AtomicInteger(total);
+        AtomicLong failures = new AtomicLong();
+        CompletableFuture<?>[] workers = new CompletableFuture<?>[Math.max(1, concurrency)];
+        for (int i = 0; i < workers.length; i++) {
+            workers[i] = CompletableFuture.runAsync(() -> {
+                while (remaining.getAndDecrement() > 0) {
+                    try {
+                        call.run();
+                    } catch (RuntimeException e) {
+                        if (failures.incrementAndGet() == 1) {
+                            e.printStackTrace();
+                        }
+                    }
+                }
+            }, callers);
+        }
+        CompletableFuture.allOf(workers).join();
+        callers.shutdown();
+        if (failures.get() > 0) {
+            System.out.printf("  %d lần thất bại%n", failures.get());
+        }
+    }
+
+    private static void report(String name, LatencyHistogram.Snapshot snapshot) {
+        System.out.printf("%s: p50 %.1f ms, p90 %.1f ms, p99 %.1f ms, max %.1f ms%n",
+                name, millis(snapshot.p50()), millis(snapshot.p90()), millis(snapshot.p99()), millis(snapshot.max()));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    private static final class MemoryTokenStorage implements TokenStorage {
+
+        private volatile MicrosoftToken token;
+
+        MemoryTokenStorage(MicrosoftToken token) {
+            this.token = token;
+        }
+
+        @Override
+        public void saveToken(MicrosoftToken token) {
+            this.token = token;
+        }
+
+        @Override
+        public MicrosoftToken loadToken() {
+            return token;
+        }
+
+        @Override
+        public void clearToken() {
+            token = null;
+        }
+    }
+}
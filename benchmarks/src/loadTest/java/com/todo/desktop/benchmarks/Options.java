@@ -0,0 +1,28 @@
+package com.todo.desktop.benchmarks;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// --name=value arguments for the load-test mains.
+final class Options {
+
+    private Options() {
+    }
+
+    static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Tham số không hợp lệ: " + arg + " (dạng --tên=giá-trị)");
+            }
+            int separator = arg.indexOf('=');
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return options;
+    }
+
+    static int intValue(Map<String, String> options, String name, int fallback) {
+        String raw = options.get(name);
+        return raw == null || raw.isBlank() ? fallback : Integer.parseInt(raw.trim());
+    }
+}
@@ -1,5 +1,6 @@
 plugins {
     id("org.openjfx.javafxplugin") version "0.0.13" apply false
+    id("me.champeau.jmh") version "0.7.2" apply false
 }
 
 subprojects {
@@ -25,6 +25,11 @@ public final class FirebaseFutures {
                 result.complete(value);
             }
         }, MoreExecutors.directExecutor());
+        result.whenComplete((value, ex) -> {
+            if (result.isCancelled()) {
+                future.cancel(true);
+            }
+        });
         return result;
     }
 }
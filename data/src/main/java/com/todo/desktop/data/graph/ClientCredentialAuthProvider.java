@@ -2,18 +2,44 @@ package com.todo.desktop.data.graph;
 
 import com.microsoft.aad.msal4j.ClientCredentialParameters;
 import com.microsoft.aad.msal4j.ConfidentialClientApplication;
-import com.microsoft.aad.msal4j.IAuthenticationResult;
 import com.microsoft.graph.authentication.IAuthenticationProvider;
+import com.todo.desktop.domain.metrics.LatencyHistogram;
 
 import java.net.URL;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
-public final class ClientCredentialAuthProvider implements IAuthenticationProvider {
+// Requests are served from the held app token; a background refresh replaces it well before it expires.
+public final class ClientCredentialAuthProvider implements IAuthenticationProvider, AutoCloseable {
+
+    private static final Duration EXPIRY_MARGIN = Duration.ofMinutes(1);
+    private static final Duration REFRESH_AHEAD = Duration.ofMinutes(5);
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(30);
+    private static final Duration MIN_DELAY = Duration.ofSeconds(10);
 
     private final ConfidentialClientApplication application;
     private final Set<String> scopes;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "graph-token-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final LatencyHistogram refreshLatency = new LatencyHistogram();
+    private final AtomicLong served = new AtomicLong();
+    private final AtomicLong refreshes = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+
+    private volatile AppToken token;
+    private CompletableFuture<AppToken> refreshing;
+    private ScheduledFuture<?> scheduledRefresh;
 
     public ClientCredentialAuthProvider(ConfidentialClientApplication application, Set<String> scopes) {
         this.application = Objects.requireNonNull(application, "application");
@@ -22,10 +48,88 @@ public final class ClientCredentialAuthProvider implements IAuthenticationProvid
 
     @Override
     public CompletableFuture<String> getAuthorizationTokenAsync(URL requestUrl) {
+        AppToken current = token;
+        if (current != null && current.usableAt(Instant.now())) {
+            served.incrementAndGet();
+            return CompletableFuture.completedFuture(current.accessToken());
+        }
+        return refresh(false).thenApply(AppToken::accessToken);
+    }
+
+    // Acquires the first token ahead of the first request.
+    public CompletableFuture<Void> warmUp() {
+        return refresh(false).thenAccept(ignored -> { });
+    }
+
+    public Stats stats() {
+        AppToken current = token;
+        return new Stats(served.get(), refreshes.get(), failures.get(), refreshLatency.snapshot(), current != null ? current.expiresAt() : null);
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    // Concurrent callers share one acquireToken call.
+    // A scheduled renewal skips MSAL's cache, which would otherwise hand back the token we already hold.
+    private synchronized CompletableFuture<AppToken> refresh(boolean skipCache) {
+        if (refreshing != null) {
+            return refreshing;
+        }
+        long started = System.nanoTime();
         ClientCredentialParameters parameters = ClientCredentialParameters
                 .builder(scopes)
+                .skipCache(skipCache)
                 .build();
-        return application.acquireToken(parameters)
-                .thenApply(IAuthenticationResult::accessToken);
+        CompletableFuture<AppToken> future = application.acquireToken(parameters)
+                .thenApply(result -> new AppToken(result.accessToken(), result.expiresOnDate().toInstant()));
+        refreshing = future;
+        future.whenComplete((refreshed, throwable) -> onRefreshed(future, refreshed, throwable, started));
+        return future;
+    }
+
+    private synchronized void onRefreshed(CompletableFuture<AppToken> future, AppToken refreshed, Throwable throwable, long started) {
+        if (refreshing == future) {
+            refreshing = null;
+        }
+        refreshLatency.record(System.nanoTime() - started);
+        if (throwable != null) {
+            failures.incrementAndGet();
+            // Keep serving a token that is still good and try again shortly.
+            AppToken current = token;
+            if (current != null && current.usableAt(Instant.now())) {
+                schedule(RETRY_DELAY);
+            }
+            return;
+        }
+        refreshes.incrementAndGet();
+        token = refreshed;
+        Duration lifetime = Duration.between(Instant.now(), refreshed.expiresAt());
+        // Renew at whichever comes first: five minutes before expiry or four fifths of the lifetime.
+        Duration ahead = lifetime.minus(REFRESH_AHEAD);
+        Duration fraction = lifetime.multipliedBy(4).dividedBy(5);
+        schedule(ahead.compareTo(fraction) < 0 ? ahead : fraction);
+    }
+
+    private void schedule(Duration delay) {
+        if (scheduler.isShutdown()) {
+            return;
+        }
+        if (scheduledRefresh != null) {
+            scheduledRefresh.cancel(false);
+        }
+        long millis = Math.max(MIN_DELAY.toMillis(), delay.toMillis());
+        scheduledRefresh = scheduler.schedule(() -> refresh(true), millis, TimeUnit.MILLISECONDS);
+    }
+
+    private record AppToken(String accessToken, Instant expiresAt) {
+
+        boolean usableAt(Instant now) {
+            return now.isBefore(expiresAt.minus(EXPIRY_MARGIN));
+        }
+    }
+
+    public record Stats(long served, long refreshes, long failures, LatencyHistogram.Snapshot refreshLatency, Instant expiresAt) {
     }
 }
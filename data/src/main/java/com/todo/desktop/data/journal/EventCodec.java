@@ -0,0 +1,314 @@
+package com.todo.desktop.data.journal;
+
+import com.todo.desktop.domain.event.DeadlineChangedEvent;
+import com.todo.desktop.domain.event.DeadlinesLoadedEvent;
+import com.todo.desktop.domain.event.DomainEvent;
+import com.todo.desktop.domain.event.MessagesAddedEvent;
+import com.todo.desktop.domain.event.MessagesLoadedEvent;
+import com.todo.desktop.domain.event.MessagesRemovedEvent;
+import com.todo.desktop.domain.event.MessagesUpdatedEvent;
+import com.todo.desktop.domain.event.TaskDeletedEvent;
+import com.todo.desktop.domain.event.TaskSavedEvent;
+import com.todo.desktop.domain.event.TaskSyncedEvent;
+import com.todo.desktop.domain.event.TasksLoadedEvent;
+import com.todo.desktop.domain.model.Deadline;
+import com.todo.desktop.domain.model.EmailAttachment;
+import com.todo.desktop.domain.model.EmailMessage;
+import com.todo.desktop.domain.model.ReminderPolicy;
+import com.todo.desktop.domain.model.Task;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+final class EventCodec {
+
+    private static final byte TASK_SAVED = 1;
+    private static final byte TASK_DELETED = 2;
+    private static final byte DEADLINE_CHANGED = 3;
+    private static final byte MESSAGES_ADDED = 4;
+    private static final byte MESSAGES_UPDATED = 5;
+    private static final byte MESSAGES_REMOVED = 6;
+    private static final byte TASK_SYNCED = 7;
+    private static final byte TASKS_LOADED = 8;
+    private static final byte DEADLINES_LOADED = 9;
+    private static final byte MESSAGES_LOADED = 10;
+
+    private static final Task.TaskStatus[] STATUSES = Task.TaskStatus.values();
+
+    private EventCodec() {
+    }
+
+    static byte[] encode(DomainEvent event, long recordedAtMillis) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+            DataOutputStream out = new DataOutputStream(bytes);
+            if (event instanceof TaskSavedEvent saved) {
+                out.writeByte(TASK_SAVED);
+                out.writeLong(recordedAtMillis);
+                writeTask(out, saved.task());
+            } else if (event instanceof TaskSyncedEvent synced) {
+                out.writeByte(TASK_SYNCED);
+                out.writeLong(recordedAtMillis);
+                writeTask(out, synced.task());
+            } else if (event instanceof TaskDeletedEvent deleted) {
+                out.writeByte(TASK_DELETED);
+                out.writeLong(recordedAtMillis);
+                writeString(out, deleted.taskId());
+            } else if (event instanceof DeadlineChangedEvent changed) {
+                out.writeByte(DEADLINE_CHANGED);
+                out.writeLong(recordedAtMillis);
+                writeString(out, changed.deadlineId());
+                out.writeBoolean(!changed.removed());
+                if (!changed.removed()) {
+                    writeDeadline(out, changed.deadline());
+                }
+            } else if (event instanceof MessagesAddedEvent added) {
+                out.writeByte(MESSAGES_ADDED);
+                out.writeLong(recordedAtMillis);
+                writeMessages(out, added.messages());
+            } else if (event instanceof MessagesUpdatedEvent updated) {
+                out.writeByte(MESSAGES_UPDATED);
+                out.writeLong(recordedAtMillis);
+                writeMessages(out, updated.messages());
+            } else if (event instanceof MessagesRemovedEvent removed) {
+                out.writeByte(MESSAGES_REMOVED);
+                out.writeLong(recordedAtMillis);
+                writeStrings(out, removed.messageIds());
+            } else if (event instanceof TasksLoadedEvent loaded) {
+                out.writeByte(TASKS_LOADED);
+                out.writeLong(recordedAtMillis);
+                writeTasks(out, loaded.tasks());
+            } else if (event instanceof DeadlinesLoadedEvent loaded) {
+                out.writeByte(DEADLINES_LOADED);
+                out.writeLong(recordedAtMillis);
+                writeDeadlines(out, loaded.deadlines());
+            } else if (event instanceof MessagesLoadedEvent loaded) {
+                out.writeByte(MESSAGES_LOADED);
+                out.writeLong(recordedAtMillis);
+                writeMessages(out, loaded.messages());
+            } else {
+                return null;
+            }
+            out.flush();
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new IllegalStateException("Không thể mã hóa sự kiện", e);
+        }
+    }
+
+    static JournalEntry decode(long sequence, byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        byte tag = in.readByte();
+        Instant recordedAt = Instant.ofEpochMilli(in.readLong());
+        DomainEvent event = switch (tag) {
+            case TASK_SAVED -> new TaskSavedEvent(readTask(in));
+            case TASK_SYNCED -> new TaskSyncedEvent(readTask(in));
+            case TASK_DELETED -> new TaskDeletedEvent(readString(in));
+            case DEADLINE_CHANGED -> {
+                String id = readString(in);
+                yield in.readBoolean() ? DeadlineChangedEvent.saved(readDeadline(in)) : DeadlineChangedEvent.deleted(id);
+            }
+            case MESSAGES_ADDED -> new MessagesAddedEvent(readMessages(in));
+            case MESSAGES_UPDATED -> new MessagesUpdatedEvent(readMessages(in));
+            case MESSAGES_REMOVED -> new MessagesRemovedEvent(readStrings(in));
+            case TASKS_LOADED -> new TasksLoadedEvent(readTasks(in));
+            case DEADLINES_LOADED -> new DeadlinesLoadedEvent(readDeadlines(in));
+            case MESSAGES_LOADED -> new MessagesLoadedEvent(readMessages(in));
+            default -> throw new IOException("Loại sự kiện không hợp lệ: " + tag);
+        };
+        return new JournalEntry(sequence, recordedAt, event);
+    }
+
+    static void writeTask(DataOutput out, Task task) throws IOException {
+        writeString(out, task.id());
+        writeString(out, task.title());
+        writeString(out, task.description());
+        writeInstant(out, task.dueAt());
+        out.writeByte(task.status().ordinal());
+        out.writeBoolean(task.flagged());
+    }
+
+    static Task readTask(DataInput in) throws IOException {
+        return new Task(
+                readString(in),
+                readString(in),
+                readString(in),
+                readInstant(in),
+                STATUSES[in.readByte()],
+                in.readBoolean()
+        );
+    }
+
+    static void writeDeadline(DataOutput out, Deadline deadline) throws IOException {
+        writeString(out, deadline.id());
+        writeString(out, deadline.taskId());
+        writeInstant(out, deadline.dueAt());
+        writeString(out, deadline.timeZoneId());
+        ReminderPolicy policy = deadline.reminderPolicy();
+        out.writeBoolean(policy != null);
+        if (policy != null) {
+            out.writeBoolean(policy.enabled());
+            out.writeLong(policy.leadTime().getSeconds());
+        }
+    }
+
+    static Deadline readDeadline(DataInput in) throws IOException {
+        String id = readString(in);
+        String taskId = readString(in);
+        Instant dueAt = readInstant(in);
+        String timeZoneId = readString(in);
+        ReminderPolicy policy = in.readBoolean()
+                ? new ReminderPolicy(in.readBoolean(), Duration.ofSeconds(in.readLong()))
+                : null;
+        return new Deadline(id, taskId, dueAt, timeZoneId, policy);
+    }
+
+    // Bodies are fetched on demand by the detail view, so only the list-level fields are journaled.
+    // The change key is left out too; the first refresh after a warm start fills it in.
+    static void writeMessage(DataOutput out, EmailMessage message) throws IOException {
+        writeString(out, message.id());
+        writeString(out, message.subject());
+        writeString(out, message.from());
+        writeString(out, message.fromEmail());
+        writeStrings(out, message.toRecipients());
+        writeString(out, message.bodyPreview());
+        out.writeBoolean(message.isRead());
+        out.writeBoolean(message.hasAttachments());
+        writeInstant(out, message.receivedDateTime());
+        List<EmailAttachment> attachments = message.attachments() != null ? message.attachments() : List.of();
+        out.writeInt(attachments.size());
+        for (EmailAttachment attachment : attachments) {
+            writeString(out, attachment.id());
+            writeString(out, attachment.name());
+            writeString(out, attachment.contentType());
+            out.writeInt(attachment.size());
+            out.writeBoolean(attachment.isInline());
+        }
+    }
+
+    static EmailMessage readMessage(DataInput in) throws IOException {
+        String id = readString(in);
+        String subject = readString(in);
+        String from = readString(in);
+        String fromEmail = readString(in);
+        List<String> toRecipients = readStrings(in);
+        String bodyPreview = readString(in);
+        boolean isRead = in.readBoolean();
+        boolean hasAttachments = in.readBoolean();
+        Instant received = readInstant(in);
+        int attachmentCount = in.readInt();
+        List<EmailAttachment> attachments = new ArrayList<>(attachmentCount);
+        for (int i = 0; i < attachmentCount; i++) {
+            attachments.add(new EmailAttachment(readString(in), readString(in), readString(in), in.readInt(), in.readBoolean()));
+        }
+        return new EmailMessage(id, subject, from, fromEmail, toRecipients, bodyPreview, "", isRead, hasAttachments, received, attachments, null);
+    }
+
+    static void writeTasks(DataOutput out, Collection<Task> tasks) throws IOException {
+        out.writeInt(tasks.size());
+        for (Task task : tasks) {
+            writeTask(out, task);
+        }
+    }
+
+    static List<Task> readTasks(DataInput in) throws IOException {
+        int count = in.readInt();
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            tasks.add(readTask(in));
+        }
+        return tasks;
+    }
+
+    static void writeDeadlines(DataOutput out, Collection<Deadline> deadlines) throws IOException {
+        out.writeInt(deadlines.size());
+        for (Deadline deadline : deadlines) {
+            writeDeadline(out, deadline);
+        }
+    }
+
+    static List<Deadline> readDeadlines(DataInput in) throws IOException {
+        int count = in.readInt();
+        List<Deadline> deadlines = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            deadlines.add(readDeadline(in));
+        }
+        return deadlines;
+    }
+
+    static void writeMessages(DataOutput out, Collection<EmailMessage> messages) throws IOException {
+        out.writeInt(messages.size());
+        for (EmailMessage message : messages) {
+            writeMessage(out, message);
+        }
+    }
+
+    static List<EmailMessage> readMessages(DataInput in) throws IOException {
+        int count = in.readInt();
+        List<EmailMessage> messages = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            messages.add(readMessage(in));
+        }
+        return messages;
+    }
+
+    private static void writeStrings(DataOutput out, List<String> values) throws IOException {
+        List<String> safe = values != null ? values : List.of();
+        out.writeInt(safe.size());
+        for (String value : safe) {
+            writeString(out, value);
+        }
+    }
+
+    private static List<String> readStrings(DataInput in) throws IOException {
+        int count = in.readInt();
+        List<String> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            values.add(readString(in));
+        }
+        return values;
+    }
+
+    private static void writeString(DataOutput out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInput in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeInstant(DataOutput out, Instant value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value.getEpochSecond());
+            out.writeInt(value.getNano());
+        }
+    }
+
+    private static Instant readInstant(DataInput in) throws IOException {
+        return in.readBoolean() ? Instant.ofEpochSecond(in.readLong(), in.readInt()) : null;
+    }
+}
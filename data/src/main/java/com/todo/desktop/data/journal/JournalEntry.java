@@ -0,0 +1,12 @@
+package com.todo.desktop.data.journal;
+
+import com.todo.desktop.domain.event.DomainEvent;
+
+import java.time.Instant;
+
+public record JournalEntry(
+        long sequence,
+        Instant recordedAt,
+        DomainEvent event
+) {
+}
@@ -0,0 +1,400 @@
+package com.todo.desktop.data.journal;
+
+import com.todo.desktop.domain.event.DomainEvent;
+import com.todo.desktop.domain.event.EventJournal;
+import com.todo.desktop.domain.event.EventProjection;
+import com.todo.desktop.domain.model.Deadline;
+import com.todo.desktop.domain.model.EmailMessage;
+import com.todo.desktop.domain.model.Task;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+public final class MappedEventJournal implements EventJournal, AutoCloseable {
+
+    private static final int DEFAULT_SEGMENT_SIZE = 8 * 1024 * 1024;
+    private static final int DEFAULT_SNAPSHOT_INTERVAL = 2000;
+    // Bulk loaded events are large, so a few of them are worth a snapshot long before the count is reached.
+    private static final int SNAPSHOT_SEGMENTS = 2;
+    private static final int SNAPSHOT_MAGIC = 0x54444A53;
+    private static final int SNAPSHOT_VERSION = 1;
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".bin";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final int snapshotInterval;
+    private final long snapshotBytes;
+    private final EventProjection projection = new EventProjection();
+    private final ExecutorService snapshotExecutor;
+    private final Object lock = new Object();
+
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private long segmentFirstSequence;
+    private long nextSequence;
+    private int eventsSinceSnapshot;
+    private long bytesSinceSnapshot;
+    private boolean closed;
+
+    private MappedEventJournal(Path directory, int segmentSize, int snapshotInterval, long snapshotBytes) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.snapshotInterval = snapshotInterval;
+        this.snapshotBytes = snapshotBytes;
+        this.snapshotExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "event-journal-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static MappedEventJournal open(Path directory) throws IOException {
+        return open(directory, DEFAULT_SEGMENT_SIZE, DEFAULT_SNAPSHOT_INTERVAL);
+    }
+
+    public static MappedEventJournal open(Path directory, int segmentSize, int snapshotInterval) throws IOException {
+        return open(directory, segmentSize, snapshotInterval, (long) SNAPSHOT_SEGMENTS * segmentSize);
+    }
+
+    public static MappedEventJournal open(Path directory, int segmentSize, int snapshotInterval, long snapshotBytes) throws IOException {
+        if (segmentSize < 4096) {
+            throw new IllegalArgumentException("segmentSize phải >= 4096");
+        }
+        if (snapshotInterval <= 0) {
+            throw new IllegalArgumentException("snapshotInterval phải > 0");
+        }
+        if (snapshotBytes <= 0) {
+            throw new IllegalArgumentException("snapshotBytes phải > 0");
+        }
+        Files.createDirectories(directory);
+        MappedEventJournal journal = new MappedEventJournal(directory, segmentSize, snapshotInterval, snapshotBytes);
+        journal.recover();
+        return journal;
+    }
+
+    public EventProjection projection() {
+        return projection;
+    }
+
+    public long nextSequence() {
+        synchronized (lock) {
+            return nextSequence;
+        }
+    }
+
+    @Override
+    public void append(DomainEvent event) {
+        byte[] payload = EventCodec.encode(event, System.currentTimeMillis());
+        if (payload == null) {
+            return;
+        }
+        synchronized (lock) {
+            if (closed) {
+                return;
+            }
+            try {
+                if (buffer.remaining() < Integer.BYTES + payload.length) {
+                    rollSegment(payload.length);
+                }
+                int position = buffer.position();
+                buffer.put(position + Integer.BYTES, payload);
+                buffer.putInt(position, payload.length);
+                buffer.position(position + Integer.BYTES + payload.length);
+                nextSequence++;
+            } catch (IOException e) {
+                e.printStackTrace();
+                return;
+            }
+            projection.apply(event);
+            bytesSinceSnapshot += Integer.BYTES + payload.length;
+            if (++eventsSinceSnapshot >= snapshotInterval || bytesSinceSnapshot >= snapshotBytes) {
+                eventsSinceSnapshot = 0;
+                bytesSinceSnapshot = 0;
+                scheduleSnapshot();
+            }
+        }
+    }
+
+    // Forgets every event so far. The projection empties at once; on disk the old records are compacted
+    // away behind an empty snapshot, written after any snapshot that was already queued.
+    public void clear() {
+        synchronized (lock) {
+            if (closed) {
+                return;
+            }
+            projection.clear();
+            eventsSinceSnapshot = 0;
+            bytesSinceSnapshot = 0;
+            if (segmentFirstSequence != nextSequence) {
+                try {
+                    rollSegment(0);
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            }
+            scheduleSnapshot();
+        }
+    }
+
+    public long replay(long fromSequence, Consumer<? super JournalEntry> consumer) throws IOException {
+        long replayed = 0;
+        for (Segment segment : listSegments()) {
+            try (FileChannel readChannel = FileChannel.open(segment.path(), StandardOpenOption.READ)) {
+                MappedByteBuffer readBuffer = readChannel.map(FileChannel.MapMode.READ_ONLY, 0, readChannel.size());
+                long sequence = segment.firstSequence();
+                while (true) {
+                    byte[] payload = readRecord(readBuffer);
+                    if (payload == null) {
+                        break;
+                    }
+                    if (sequence >= fromSequence) {
+                        consumer.accept(EventCodec.decode(sequence, payload));
+                        replayed++;
+                    }
+                    sequence++;
+                }
+            }
+        }
+        return replayed;
+    }
+
+    @Override
+    public void close() {
+        Snapshot last;
+        synchronized (lock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            last = captureSnapshot();
+        }
+        // Queued snapshots go first: the final one may share their sequence, and so their file name.
+        snapshotExecutor.shutdown();
+        try {
+            snapshotExecutor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            writeSnapshot(last);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        synchronized (lock) {
+            try {
+                buffer.force();
+                channel.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private void recover() throws IOException {
+        long snapshotSequence = loadLatestSnapshot();
+        nextSequence = snapshotSequence;
+        List<Segment> segments = listSegments();
+        for (int i = 0; i < segments.size(); i++) {
+            Segment segment = segments.get(i);
+            boolean last = i == segments.size() - 1;
+            FileChannel segmentChannel = FileChannel.open(segment.path(), StandardOpenOption.READ, StandardOpenOption.WRITE);
+            MappedByteBuffer segmentBuffer = segmentChannel.map(FileChannel.MapMode.READ_WRITE, 0, segmentChannel.size());
+            long sequence = segment.firstSequence();
+            while (true) {
+                int position = segmentBuffer.position();
+                byte[] payload = readRecord(segmentBuffer);
+                if (payload == null) {
+                    truncate(segmentBuffer, position);
+                    break;
+                }
+                if (sequence >= snapshotSequence) {
+                    try {
+                        projection.apply(EventCodec.decode(sequence, payload).event());
+                    } catch (IOException | RuntimeException e) {
+                        e.printStackTrace();
+                        truncate(segmentBuffer, position);
+                        break;
+                    }
+                    eventsSinceSnapshot++;
+                    bytesSinceSnapshot += Integer.BYTES + payload.length;
+                }
+                sequence++;
+            }
+            nextSequence = Math.max(nextSequence, sequence);
+            if (last) {
+                channel = segmentChannel;
+                buffer = segmentBuffer;
+                segmentFirstSequence = segment.firstSequence();
+            } else {
+                segmentChannel.close();
+            }
+        }
+        if (channel == null) {
+            openSegment(nextSequence, segmentSize);
+        }
+    }
+
+    private static byte[] readRecord(MappedByteBuffer source) {
+        if (source.remaining() < Integer.BYTES) {
+            return null;
+        }
+        int position = source.position();
+        int length = source.getInt(position);
+        if (length <= 0 || length > source.remaining() - Integer.BYTES) {
+            return null;
+        }
+        byte[] payload = new byte[length];
+        source.get(position + Integer.BYTES, payload);
+        source.position(position + Integer.BYTES + length);
+        return payload;
+    }
+
+    private static void truncate(MappedByteBuffer target, int position) {
+        if (target.limit() - position >= Integer.BYTES && target.getInt(position) != 0) {
+            for (int i = position; i < target.limit(); i++) {
+                target.put(i, (byte) 0);
+            }
+        }
+        target.position(position);
+    }
+
+    private void rollSegment(int payloadLength) throws IOException {
+        buffer.force();
+        channel.close();
+        openSegment(nextSequence, Math.max(segmentSize, payloadLength + 2 * Integer.BYTES));
+    }
+
+    private void openSegment(long firstSequence, int size) throws IOException {
+        Path path = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, firstSequence, SEGMENT_SUFFIX));
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        segmentFirstSequence = firstSequence;
+    }
+
+    private Snapshot captureSnapshot() {
+        return new Snapshot(nextSequence, projection.tasks(), projection.deadlines(), projection.messages());
+    }
+
+    private void scheduleSnapshot() {
+        Snapshot snapshot = captureSnapshot();
+        snapshotExecutor.execute(() -> {
+            try {
+                writeSnapshot(snapshot);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        });
+    }
+
+    private void writeSnapshot(Snapshot snapshot) throws IOException {
+        Path target = directory.resolve(String.format("%s%020d%s", SNAPSHOT_PREFIX, snapshot.sequence(), SNAPSHOT_SUFFIX));
+        Path temp = directory.resolve(target.getFileName() + ".tmp");
+        try (OutputStream stream = Files.newOutputStream(temp);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream))) {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(SNAPSHOT_VERSION);
+            out.writeLong(snapshot.sequence());
+            EventCodec.writeTasks(out, snapshot.tasks());
+            EventCodec.writeDeadlines(out, snapshot.deadlines());
+            EventCodec.writeMessages(out, snapshot.messages());
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        compact(snapshot.sequence());
+    }
+
+    private void compact(long snapshotSequence) throws IOException {
+        for (Path path : listFiles(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX)) {
+            if (parseSequence(path, SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX) < snapshotSequence) {
+                Files.deleteIfExists(path);
+            }
+        }
+        long activeSegment;
+        synchronized (lock) {
+            activeSegment = segmentFirstSequence;
+        }
+        List<Segment> segments = listSegments();
+        for (int i = 0; i + 1 < segments.size(); i++) {
+            Segment segment = segments.get(i);
+            if (segment.firstSequence() != activeSegment && segments.get(i + 1).firstSequence() <= snapshotSequence) {
+                try {
+                    Files.deleteIfExists(segment.path());
+                } catch (IOException e) {
+                    // Still mapped on some platforms; the next snapshot retries the delete.
+                }
+            }
+        }
+    }
+
+    private long loadLatestSnapshot() throws IOException {
+        List<Path> snapshots = listFiles(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX);
+        Collections.reverse(snapshots);
+        for (Path path : snapshots) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+                if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION) {
+                    continue;
+                }
+                long sequence = in.readLong();
+                List<Task> tasks = EventCodec.readTasks(in);
+                List<Deadline> deadlines = EventCodec.readDeadlines(in);
+                List<EmailMessage> messages = EventCodec.readMessages(in);
+                projection.restore(tasks, deadlines, messages);
+                return sequence;
+            } catch (IOException | RuntimeException e) {
+                e.printStackTrace();
+            }
+        }
+        return 0;
+    }
+
+    private List<Segment> listSegments() throws IOException {
+        List<Segment> segments = new ArrayList<>();
+        for (Path path : listFiles(SEGMENT_PREFIX, SEGMENT_SUFFIX)) {
+            segments.add(new Segment(parseSequence(path, SEGMENT_PREFIX, SEGMENT_SUFFIX), path));
+        }
+        return segments;
+    }
+
+    private List<Path> listFiles(String prefix, String suffix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return new ArrayList<>(files
+                    .filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(prefix) && name.endsWith(suffix);
+                    })
+                    .sorted()
+                    .toList());
+        }
+    }
+
+    private static long parseSequence(Path path, String prefix, String suffix) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(prefix.length(), name.length() - suffix.length()));
+    }
+
+    private record Segment(long firstSequence, Path path) {
+    }
+
+    private record Snapshot(long sequence, List<Task> tasks, List<Deadline> deadlines, List<EmailMessage> messages) {
+    }
+}
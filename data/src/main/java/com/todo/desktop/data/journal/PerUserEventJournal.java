@@ -0,0 +1,101 @@
+package com.todo.desktop.data.journal;
+
+import com.todo.desktop.domain.event.DomainEvent;
+import com.todo.desktop.domain.event.EventJournal;
+import com.todo.desktop.domain.event.EventProjection;
+import com.todo.desktop.domain.event.SessionEvent;
+import com.todo.desktop.domain.event.SignedInEvent;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.Optional;
+
+// One MappedEventJournal per user under the root directory, so a warm start never shows another
+// user's data. Session events on the bus switch journals: signing in opens that user's journal,
+// signing out clears the current one and journals nothing until the next sign-in.
+public final class PerUserEventJournal implements EventJournal, AutoCloseable {
+
+    private final Path root;
+    private final Object lock = new Object();
+
+    private MappedEventJournal current;
+    private String currentUid;
+    private boolean closed;
+
+    public PerUserEventJournal(Path root) {
+        this.root = Objects.requireNonNull(root, "root");
+    }
+
+    public void switchTo(String uid) {
+        Objects.requireNonNull(uid, "uid");
+        synchronized (lock) {
+            if (closed || uid.equals(currentUid)) {
+                return;
+            }
+            closeCurrent(false);
+            try {
+                current = MappedEventJournal.open(root.resolve(directoryName(uid)));
+                currentUid = uid;
+            } catch (IOException | RuntimeException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    public void signOut() {
+        synchronized (lock) {
+            closeCurrent(true);
+        }
+    }
+
+    public Optional<EventProjection> projection() {
+        synchronized (lock) {
+            return Optional.ofNullable(current).map(MappedEventJournal::projection);
+        }
+    }
+
+    @Override
+    public void append(DomainEvent event) {
+        if (event instanceof SignedInEvent signedIn) {
+            switchTo(signedIn.user().uid());
+            return;
+        }
+        if (event instanceof SessionEvent) {
+            signOut();
+            return;
+        }
+        MappedEventJournal target;
+        synchronized (lock) {
+            target = current;
+        }
+        // A journal closed by a concurrent switch ignores the append.
+        if (target != null) {
+            target.append(event);
+        }
+    }
+
+    @Override
+    public void close() {
+        synchronized (lock) {
+            closed = true;
+            closeCurrent(false);
+        }
+    }
+
+    private void closeCurrent(boolean clear) {
+        if (current == null) {
+            return;
+        }
+        if (clear) {
+            current.clear();
+        }
+        current.close();
+        current = null;
+        currentUid = null;
+    }
+
+    private static String directoryName(String uid) {
+        return uid.replaceAll("[^A-Za-z0-9_-]", "_");
+    }
+}
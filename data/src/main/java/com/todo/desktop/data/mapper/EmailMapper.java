@@ -1,10 +1,13 @@
 package com.todo.desktop.data.mapper;
 
 import com.microsoft.graph.models.Message;
+import com.microsoft.graph.models.Recipient;
+import com.todo.desktop.domain.model.EmailAttachment;
 import com.todo.desktop.domain.model.EmailMessage;
 
 import java.time.Instant;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -35,7 +38,63 @@ public final class EmailMapper {
                 Boolean.TRUE.equals(message.isRead),
                 message.hasAttachments != null && message.hasAttachments,
                 received != null ? received.toInstant() : Instant.EPOCH,
-                List.of() // attachments - will be loaded separately
+                List.of(), // attachments - will be loaded separately
+                message.changeKey
         );
     }
+
+    // The Outlook (delegated) path: a missing received time means now, and the body is optional.
+    public static EmailMessage fromOutlook(Message msg, boolean includeBody) {
+        String id = msg.id;
+        String subject = msg.subject != null ? msg.subject : "(No subject)";
+        
+        String from = "";
+        String fromEmail = "";
+        if (msg.from != null && msg.from.emailAddress != null) {
+            from = msg.from.emailAddress.name;
+            fromEmail = msg.from.emailAddress.address;
+        }
+        
+        List<String> toRecipients = new ArrayList<>();
+        if (msg.toRecipients != null) {
+            for (Recipient recipient : msg.toRecipients) {
+                if (recipient.emailAddress != null) {
+                    toRecipients.add(recipient.emailAddress.address);
+                }
+            }
+        }
+        
+        String bodyPreview = msg.bodyPreview;
+        String bodyContent = "";
+        if (includeBody && msg.body != null) {
+            bodyContent = msg.body.content;
+        }
+        
+        boolean isRead = Boolean.TRUE.equals(msg.isRead);
+        boolean hasAttachments = Boolean.TRUE.equals(msg.hasAttachments);
+        
+        Instant receivedDateTime = Instant.now();
+        if (msg.receivedDateTime != null) {
+            // The SDK usually returns OffsetDateTime or similar, but here it might be different depending on version
+            // We'll check the type. In v5.57.0 it's usually OffsetDateTime.
+            // However, we are safe to use toString and parse or get toInstant if available.
+            // Let's assume it maps to java.time.OffsetDateTime
+            receivedDateTime = msg.receivedDateTime.toInstant();
+        }
+        
+        List<EmailAttachment> attachments = new ArrayList<>();
+        if (includeBody && msg.attachments != null && msg.attachments.getCurrentPage() != null) {
+            for (com.microsoft.graph.models.Attachment att : msg.attachments.getCurrentPage()) {
+                String attId = att.id;
+                String name = att.name;
+                String contentType = att.contentType;
+                int size = att.size != null ? att.size : 0;
+                boolean isInline = Boolean.TRUE.equals(att.isInline);
+                
+                attachments.add(new EmailAttachment(attId, name, contentType, size, isInline));
+            }
+        }
+        
+        return new EmailMessage(id, subject, from, fromEmail, toRecipients, bodyPreview, bodyContent, isRead, hasAttachments, receivedDateTime, attachments, msg.changeKey);
+    }
 }
@@ -0,0 +1,87 @@
+package com.todo.desktop.data.mapper;
+
+import com.google.cloud.Timestamp;
+import com.todo.desktop.domain.model.Deadline;
+import com.todo.desktop.domain.model.ReminderPolicy;
+import com.todo.desktop.domain.model.Task;
+import com.todo.desktop.domain.model.Task.TaskStatus;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+// Works on DocumentSnapshot.getData() so the mapping can run without a Firestore client.
+public final class FirestoreMapper {
+
+    private FirestoreMapper() {
+    }
+
+    public static Task toTask(String documentId, Map<String, Object> data) {
+        if (data == null) {
+            return null;
+        }
+        String id = string(data, "id");
+        String title = string(data, "title");
+        String statusRaw = string(data, "status");
+        TaskStatus status = statusRaw != null ? parseStatus(statusRaw) : TaskStatus.TODO;
+        return new Task(
+                id != null ? id : documentId,
+                title != null ? title : "",
+                string(data, "description"),
+                toInstant(data.get("dueAt")),
+                status,
+                data.get("flagged") instanceof Boolean flagged && flagged
+        );
+    }
+
+    public static Deadline toDeadline(String documentId, Map<String, Object> data) {
+        if (data == null) {
+            return null;
+        }
+        String id = string(data, "id");
+        String taskId = string(data, "taskId");
+        String timeZoneId = string(data, "timeZoneId");
+        Instant dueAt = toInstant(data.get("dueAt"));
+        if (dueAt == null || taskId == null || timeZoneId == null) {
+            return null;
+        }
+        return new Deadline(
+                id != null ? id : documentId,
+                taskId,
+                dueAt,
+                timeZoneId,
+                parsePolicy(data.get("reminderPolicy"))
+        );
+    }
+
+    private static ReminderPolicy parsePolicy(Object raw) {
+        if (raw instanceof Map<?, ?> map) {
+            Object enabledRaw = map.get("enabled");
+            Object leadRaw = map.get("leadMinutes");
+
+            boolean enabled = enabledRaw instanceof Boolean b && b;
+            long minutes = leadRaw instanceof Number number ? number.longValue() : 0L;
+            return new ReminderPolicy(enabled, Duration.ofMinutes(minutes));
+        }
+        return ReminderPolicy.disabled();
+    }
+
+    private static String string(Map<String, Object> data, String field) {
+        return data.get(field) instanceof String value ? value : null;
+    }
+
+    private static Instant toInstant(Object raw) {
+        if (raw instanceof Timestamp timestamp) {
+            return Instant.ofEpochSecond(timestamp.getSeconds(), timestamp.getNanos());
+        }
+        return null;
+    }
+
+    private static TaskStatus parseStatus(String statusRaw) {
+        try {
+            return TaskStatus.valueOf(statusRaw);
+        } catch (IllegalArgumentException ex) {
+            return TaskStatus.TODO;
+        }
+    }
+}
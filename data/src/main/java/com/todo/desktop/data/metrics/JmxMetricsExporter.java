@@ -0,0 +1,126 @@
+package com.todo.desktop.data.metrics;
+
+import com.todo.desktop.domain.metrics.LatencyHistogram;
+import com.todo.desktop.domain.metrics.MetricsRegistry;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.JMException;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+// Shows every metric as a flat read-only attribute under com.todo.desktop:type=Metrics, so JConsole or
+// VisualVM can chart it. Timer attributes are in microseconds. Each read takes a fresh snapshot.
+public final class JmxMetricsExporter implements DynamicMBean, AutoCloseable {
+
+    public static final String OBJECT_NAME = "com.todo.desktop:type=Metrics";
+
+    private final MetricsRegistry metrics;
+    private final ObjectName name;
+    private final MBeanServer server;
+
+    private JmxMetricsExporter(MetricsRegistry metrics, MBeanServer server) throws JMException {
+        this.metrics = Objects.requireNonNull(metrics, "metrics");
+        this.server = server;
+        this.name = new ObjectName(OBJECT_NAME);
+        if (server.isRegistered(name)) {
+            server.unregisterMBean(name);
+        }
+        server.registerMBean(this, name);
+    }
+
+    public static JmxMetricsExporter register(MetricsRegistry metrics) {
+        try {
+            return new JmxMetricsExporter(metrics, ManagementFactory.getPlatformMBeanServer());
+        } catch (JMException e) {
+            throw new IllegalStateException("Không thể đăng ký metrics với JMX", e);
+        }
+    }
+
+    @Override
+    public Object getAttribute(String attribute) throws AttributeNotFoundException {
+        Long value = values().get(attribute);
+        if (value == null) {
+            throw new AttributeNotFoundException(attribute);
+        }
+        return value;
+    }
+
+    @Override
+    public AttributeList getAttributes(String[] attributes) {
+        Map<String, Long> values = values();
+        AttributeList result = new AttributeList();
+        for (String attribute : attributes) {
+            Long value = values.get(attribute);
+            if (value != null) {
+                result.add(new Attribute(attribute, value));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+        throw new AttributeNotFoundException("Metrics chỉ đọc: " + attribute.getName());
+    }
+
+    @Override
+    public AttributeList setAttributes(AttributeList attributes) {
+        return new AttributeList();
+    }
+
+    @Override
+    public Object invoke(String actionName, Object[] params, String[] signature) {
+        throw new UnsupportedOperationException(actionName);
+    }
+
+    // Rebuilt on every call so metrics created after registration show up on the next refresh.
+    @Override
+    public MBeanInfo getMBeanInfo() {
+        List<MBeanAttributeInfo> attributes = new ArrayList<>();
+        for (String attribute : values().keySet()) {
+            attributes.add(new MBeanAttributeInfo(attribute, Long.class.getName(), attribute, true, false, false));
+        }
+        return new MBeanInfo(getClass().getName(), "To-do Desktop metrics",
+                attributes.toArray(new MBeanAttributeInfo[0]), null, null, null);
+    }
+
+    @Override
+    public void close() {
+        try {
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+        } catch (JMException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private Map<String, Long> values() {
+        MetricsRegistry.Snapshot snapshot = metrics.snapshot();
+        Map<String, Long> values = new LinkedHashMap<>();
+        values.putAll(snapshot.counters());
+        values.putAll(snapshot.gauges());
+        snapshot.timers().forEach((timer, value) -> {
+            LatencyHistogram.Snapshot latency = value.latency();
+            values.put(timer + ".count", latency.count());
+            values.put(timer + ".failures", value.failures());
+            values.put(timer + ".p50Micros", latency.p50() / 1_000);
+            values.put(timer + ".p90Micros", latency.p90() / 1_000);
+            values.put(timer + ".p99Micros", latency.p99() / 1_000);
+            values.put(timer + ".maxMicros", latency.max() / 1_000);
+            values.put(timer + ".meanMicros", latency.mean() / 1_000);
+        });
+        return values;
+    }
+}
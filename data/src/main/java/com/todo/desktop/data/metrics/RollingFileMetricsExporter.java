@@ -0,0 +1,124 @@
+package com.todo.desktop.data.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todo.desktop.data.service.AtomicFiles;
+import com.todo.desktop.domain.metrics.LatencyHistogram;
+import com.todo.desktop.domain.metrics.MetricsRegistry;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Appends one JSON line per interval to metrics.jsonl and rolls it to metrics.1.jsonl ... metrics.N.jsonl
+// once it passes the size limit, so the files stay small enough to attach to a bug report.
+// Values are cumulative since start; timer values are in microseconds.
+public final class RollingFileMetricsExporter implements AutoCloseable {
+
+    private static final String FILE_NAME = "metrics";
+    private static final String EXTENSION = ".jsonl";
+
+    private final MetricsRegistry metrics;
+    private final Path directory;
+    private final Duration interval;
+    private final long maxBytes;
+    private final int maxFiles;
+    private final ObjectMapper objectMapper;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "metrics-export");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public RollingFileMetricsExporter(MetricsRegistry metrics, Path directory, Duration interval, ObjectMapper objectMapper) {
+        this(metrics, directory, interval, 1024 * 1024, 5, objectMapper);
+    }
+
+    public RollingFileMetricsExporter(MetricsRegistry metrics, Path directory, Duration interval, long maxBytes, int maxFiles, ObjectMapper objectMapper) {
+        this.metrics = Objects.requireNonNull(metrics, "metrics");
+        this.directory = Objects.requireNonNull(directory, "directory");
+        this.interval = Objects.requireNonNull(interval, "interval");
+        this.objectMapper = Objects.requireNonNull(objectMapper, "objectMapper");
+        if (maxBytes <= 0 || maxFiles <= 0) {
+            throw new IllegalArgumentException("maxBytes và maxFiles phải > 0");
+        }
+        this.maxBytes = maxBytes;
+        this.maxFiles = maxFiles;
+    }
+
+    public void start() {
+        long millis = interval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::export, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    public Path currentFile() {
+        return directory.resolve(FILE_NAME + EXTENSION);
+    }
+
+    // The last interval is written on close, so a short session still leaves a line behind.
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        export();
+    }
+
+    private synchronized void export() {
+        try {
+            byte[] line = (objectMapper.writeValueAsString(toJson(metrics.snapshot())) + "\n").getBytes(StandardCharsets.UTF_8);
+            AtomicFiles.createPrivateDirectories(directory);
+            Path current = currentFile();
+            if (Files.exists(current) && Files.size(current) + line.length > maxBytes) {
+                roll();
+            }
+            Files.write(current, line, StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE);
+        } catch (IOException | RuntimeException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private void roll() throws IOException {
+        Files.deleteIfExists(rolled(maxFiles));
+        for (int index = maxFiles - 1; index >= 1; index--) {
+            Path source = rolled(index);
+            if (Files.exists(source)) {
+                Files.move(source, rolled(index + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        Files.move(currentFile(), rolled(1), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private Path rolled(int index) {
+        return directory.resolve(FILE_NAME + "." + index + EXTENSION);
+    }
+
+    private static Map<String, Object> toJson(MetricsRegistry.Snapshot snapshot) {
+        Map<String, Object> timers = new LinkedHashMap<>();
+        snapshot.timers().forEach((name, value) -> {
+            LatencyHistogram.Snapshot latency = value.latency();
+            Map<String, Object> timer = new LinkedHashMap<>();
+            timer.put("count", latency.count());
+            timer.put("failures", value.failures());
+            timer.put("p50", latency.p50() / 1_000);
+            timer.put("p90", latency.p90() / 1_000);
+            timer.put("p99", latency.p99() / 1_000);
+            timer.put("max", latency.max() / 1_000);
+            timer.put("mean", latency.mean() / 1_000);
+            timers.put(name, timer);
+        });
+        Map<String, Object> root = new LinkedHashMap<>();
+        root.put("at", snapshot.takenAt().toString());
+        root.put("counters", snapshot.counters());
+        root.put("gauges", snapshot.gauges());
+        root.put("timers", timers);
+        return root;
+    }
+}
@@ -5,6 +5,8 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.UserRecord;
 import com.sun.net.httpserver.HttpServer;
+import com.todo.desktop.data.service.FirebaseSession;
+import com.todo.desktop.data.service.FirebaseSessionStore;
 import com.todo.desktop.domain.model.UserProfile;
 import com.todo.desktop.domain.usecase.AuthService;
 import java.awt.Desktop;
@@ -20,6 +22,7 @@ import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.SecureRandom;
+import java.time.Instant;
 import java.util.Base64;
 import java.util.List;
 import java.util.Locale;
@@ -37,6 +40,7 @@ public final class FirebaseAuthService implements AuthService {
     private static final URI SIGN_IN_WITH_PASSWORD_ENDPOINT = URI.create("https://identitytoolkit.googleapis.com/v1/accounts:signInWithPassword");
     private static final URI SIGN_UP_ENDPOINT = URI.create("https://identitytoolkit.googleapis.com/v1/accounts:signUp");
     private static final URI SIGN_IN_WITH_IDP_ENDPOINT = URI.create("https://identitytoolkit.googleapis.com/v1/accounts:signInWithIdp");
+    private static final URI SECURE_TOKEN_ENDPOINT = URI.create("https://securetoken.googleapis.com/v1/token");
     private static final SecureRandom SECURE_RANDOM = new SecureRandom();
 
     private final FirebaseAuth firebaseAuth;
@@ -50,8 +54,12 @@ public final class FirebaseAuthService implements AuthService {
     private final URI microsoftAuthorizeEndpoint;
     private final URI microsoftTokenEndpoint;
     private final List<String> microsoftScopes;
+    private final FirebaseSessionStore sessionStore;
     private final Executor executor = Executors.newSingleThreadExecutor();
     private volatile UserProfile current;
+    private volatile FirebaseSession session;
+    private volatile Runnable sessionExpiredListener = () -> { };
+    private CompletableFuture<FirebaseSession> refreshing;
 
     public FirebaseAuthService(
             FirebaseAuth firebaseAuth,
@@ -63,7 +71,8 @@ public final class FirebaseAuthService implements AuthService {
             String microsoftClientSecret,
             URI microsoftRedirectUri,
             String microsoftAuthority,
-            List<String> microsoftScopes
+            List<String> microsoftScopes,
+            FirebaseSessionStore sessionStore
     ) {
         this.firebaseAuth = firebaseAuth;
         this.httpClient = Objects.requireNonNull(httpClient, "httpClient");
@@ -77,6 +86,40 @@ public final class FirebaseAuthService implements AuthService {
         this.microsoftAuthorizeEndpoint = authority != null ? URI.create(authority + "/oauth2/v2.0/authorize") : null;
         this.microsoftTokenEndpoint = authority != null ? URI.create(authority + "/oauth2/v2.0/token") : null;
         this.microsoftScopes = microsoftScopes == null ? List.of() : List.copyOf(microsoftScopes);
+        this.sessionStore = sessionStore;
+        // Reading the stored session is a small local file; refreshing its token is left to resumeSession().
+        if (sessionStore != null) {
+            sessionStore.load().ifPresent(stored -> {
+                this.session = stored;
+                this.current = stored.toProfile();
+            });
+        }
+    }
+
+    // Refreshes a stored session's ID token if it is close to expiry. A rejected refresh token signs the user out;
+    // a network failure keeps the session so the app still starts offline.
+    public CompletableFuture<Optional<UserProfile>> resumeSession() {
+        FirebaseSession stored = session;
+        if (stored == null || !stored.needsRefresh(Instant.now())) {
+            return CompletableFuture.completedFuture(currentUser());
+        }
+        return refresh(stored).handle((refreshed, throwable) -> currentUser());
+    }
+
+    // Called once the refresh token is rejected and the user has been signed out.
+    public void setSessionExpiredListener(Runnable listener) {
+        this.sessionExpiredListener = listener != null ? listener : () -> { };
+    }
+
+    public CompletableFuture<String> idToken() {
+        FirebaseSession active = session;
+        if (active == null) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Chưa đăng nhập Firebase"));
+        }
+        if (!active.needsRefresh(Instant.now())) {
+            return CompletableFuture.completedFuture(active.idToken());
+        }
+        return refresh(active).thenApply(FirebaseSession::idToken);
     }
 
     @Override
@@ -115,8 +158,7 @@ public final class FirebaseAuthService implements AuthService {
                             String emailValue = node.path("email").asText(email);
                             String photoUrl = node.path("photoUrl").asText(null);
                             UserProfile profile = new UserProfile(uid, displayName, emailValue, photoUrl != null && !photoUrl.isBlank() ? URI.create(photoUrl) : null);
-                            this.current = profile;
-                            return profile;
+                            return startSession(node, profile);
                         } catch (Exception e) {
                             throw new RuntimeException("Không thể phân tích phản hồi đăng nhập Firebase", e);
                         }
@@ -137,6 +179,8 @@ public final class FirebaseAuthService implements AuthService {
                             .setDisplayName(displayName);
                     UserRecord record = firebaseAuth.createUser(request);
                     UserProfile profile = new UserProfile(record.getUid(), record.getDisplayName(), record.getEmail(), record.getPhotoUrl() != null ? URI.create(record.getPhotoUrl()) : null);
+                    // The Admin SDK creates the user without signing in, so there are no tokens to keep.
+                    forgetSession();
                     current = profile;
                     return profile;
                 }
@@ -174,8 +218,7 @@ public final class FirebaseAuthService implements AuthService {
             String emailValue = node.path("email").asText(email);
             String nameValue = node.path("displayName").asText(displayName);
             UserProfile profile = new UserProfile(uid, nameValue, emailValue, null);
-            current = profile;
-            return profile;
+            return startSession(node, profile);
         } catch (IOException | InterruptedException e) {
             throw new RuntimeException("Không thể đăng ký Firebase", e);
         }
@@ -185,10 +228,109 @@ public final class FirebaseAuthService implements AuthService {
 
     @Override
     public CompletableFuture<Void> signOut() {
+        forgetSession();
         current = null;
         return CompletableFuture.completedFuture(null);
     }
 
+    private UserProfile startSession(JsonNode node, UserProfile profile) {
+        String refreshToken = node.path("refreshToken").asText(null);
+        if (refreshToken == null || refreshToken.isBlank()) {
+            forgetSession();
+        } else {
+            FirebaseSession started = new FirebaseSession(
+                    profile.uid(),
+                    profile.displayName(),
+                    profile.email(),
+                    profile.avatarUri() != null ? profile.avatarUri().toString() : null,
+                    node.path("idToken").asText(null),
+                    refreshToken,
+                    Instant.now().plusSeconds(node.path("expiresIn").asLong(3600))
+            );
+            session = started;
+            persist(started);
+        }
+        current = profile;
+        return profile;
+    }
+
+    private void forgetSession() {
+        session = null;
+        if (sessionStore != null) {
+            sessionStore.clear();
+        }
+    }
+
+    private void persist(FirebaseSession value) {
+        if (sessionStore == null) {
+            return;
+        }
+        try {
+            sessionStore.save(value);
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+        }
+    }
+
+    // Concurrent callers share one request to the secure-token endpoint.
+    private synchronized CompletableFuture<FirebaseSession> refresh(FirebaseSession stale) {
+        if (refreshing != null) {
+            return refreshing;
+        }
+        CompletableFuture<FirebaseSession> future = sendRefresh(stale);
+        refreshing = future;
+        future.whenComplete((ignored, throwable) -> {
+            synchronized (this) {
+                if (refreshing == future) {
+                    refreshing = null;
+                }
+            }
+        });
+        return future;
+    }
+
+    private CompletableFuture<FirebaseSession> sendRefresh(FirebaseSession stale) {
+        if (apiKey == null || apiKey.isBlank()) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Thiếu Firebase API key trong cấu hình"));
+        }
+        String form = "grant_type=refresh_token&refresh_token=" + URLEncoder.encode(stale.refreshToken(), StandardCharsets.UTF_8);
+        HttpRequest request = HttpRequest.newBuilder(URI.create(SECURE_TOKEN_ENDPOINT.toString() + "?key=" + apiKey))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(form, StandardCharsets.UTF_8))
+                .build();
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8))
+                .thenApplyAsync(response -> {
+                    int status = response.statusCode();
+                    if (status == 400 || status == 401 || status == 403) {
+                        if (session == stale) {
+                            forgetSession();
+                            current = null;
+                            sessionExpiredListener.run();
+                        }
+                        throw new IllegalStateException("Phiên đăng nhập đã hết hạn, vui lòng đăng nhập lại");
+                    }
+                    if (status >= 400) {
+                        throw new IllegalStateException("Làm mới token Firebase thất bại: " + response.body());
+                    }
+                    try {
+                        JsonNode node = objectMapper.readTree(response.body());
+                        FirebaseSession refreshed = stale.withTokens(
+                                node.path("id_token").asText(null),
+                                node.path("refresh_token").asText(stale.refreshToken()),
+                                Instant.now().plusSeconds(node.path("expires_in").asLong(3600))
+                        );
+                        // Only keep the result if nobody signed out or in while it was in flight.
+                        if (session == stale) {
+                            session = refreshed;
+                            persist(refreshed);
+                        }
+                        return refreshed;
+                    } catch (IOException e) {
+                        throw new RuntimeException("Không thể phân tích phản hồi làm mới token Firebase", e);
+                    }
+                }, executor);
+    }
+
     private boolean isMicrosoftConfigured() {
         return microsoftClientId != null
                 && microsoftRedirectUri != null
@@ -1,23 +1,24 @@
 package com.todo.desktop.data.repository;
 
-import com.google.api.core.ApiFuture;
 import com.google.cloud.Timestamp;
-import com.google.cloud.firestore.CollectionReference;
-import com.google.cloud.firestore.DocumentReference;
-import com.google.cloud.firestore.DocumentSnapshot;
 import com.google.cloud.firestore.Firestore;
-import com.google.cloud.firestore.Query.Direction;
-import com.google.cloud.firestore.QuerySnapshot;
-import com.google.cloud.firestore.SetOptions;
 import com.google.common.base.Strings;
-import com.todo.desktop.data.firebase.FirebaseFutures;
+import com.todo.desktop.data.mapper.FirestoreMapper;
+import com.todo.desktop.data.request.RequestLanes;
+import com.todo.desktop.data.store.DocumentStore;
+import com.todo.desktop.data.store.FirestoreDocumentStore;
+import com.todo.desktop.data.store.StoredDocument;
+import com.todo.desktop.domain.event.DeadlineChangedEvent;
+import com.todo.desktop.domain.event.DeadlinesLoadedEvent;
+import com.todo.desktop.domain.event.EventBus;
 import com.todo.desktop.domain.model.Deadline;
 import com.todo.desktop.domain.model.ReminderPolicy;
 import com.todo.desktop.domain.model.UserProfile;
 import com.todo.desktop.domain.usecase.AuthService;
+import com.todo.desktop.domain.usecase.RequestContext;
+import com.todo.desktop.domain.usecase.RequestPriority;
 import com.todo.desktop.domain.usecase.DeadlineService;
 
-import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -31,12 +32,20 @@ public final class FirestoreDeadlineRepository implements DeadlineService {
     private static final String USERS_COLLECTION = "users";
     private static final String DEADLINES_COLLECTION = "deadlines";
 
-    private final Firestore firestore;
+    private final DocumentStore store;
     private final AuthService authService;
+    private final EventBus eventBus;
+    private final RequestLanes requestLanes;
 
-    public FirestoreDeadlineRepository(Firestore firestore, AuthService authService) {
-        this.firestore = Objects.requireNonNull(firestore, "firestore");
+    public FirestoreDeadlineRepository(Firestore firestore, AuthService authService, EventBus eventBus, RequestLanes requestLanes) {
+        this(new FirestoreDocumentStore(firestore), authService, eventBus, requestLanes);
+    }
+
+    public FirestoreDeadlineRepository(DocumentStore store, AuthService authService, EventBus eventBus, RequestLanes requestLanes) {
+        this.store = Objects.requireNonNull(store, "store");
         this.authService = Objects.requireNonNull(authService, "authService");
+        this.eventBus = Objects.requireNonNull(eventBus, "eventBus");
+        this.requestLanes = Objects.requireNonNull(requestLanes, "requestLanes");
     }
 
     @Override
@@ -45,29 +54,32 @@ public final class FirestoreDeadlineRepository implements DeadlineService {
         if (uid.isEmpty()) {
             return CompletableFuture.completedFuture(List.of());
         }
-        ApiFuture<QuerySnapshot> query = deadlinesCollection(uid.get())
-                .orderBy("dueAt", Direction.ASCENDING)
-                .get();
-        return FirebaseFutures.toCompletable(query)
-                .thenApply(snapshot -> {
-                    List<Deadline> results = new ArrayList<>();
-                    for (DocumentSnapshot document : snapshot.getDocuments()) {
-                        Deadline deadline = mapToDeadline(document);
-                        if (deadline != null) {
-                            results.add(deadline);
-                        }
+        String userId = uid.get();
+        RequestPriority priority = RequestContext.currentPriority();
+        return requestLanes.submit("firestore:deadlines:" + userId, priority, () -> {
+            return RequestLanes.map(store.list(deadlinesPath(userId), "dueAt"), documents -> {
+                List<Deadline> results = new ArrayList<>(documents.size());
+                for (StoredDocument document : documents) {
+                    Deadline deadline = FirestoreMapper.toDeadline(document.id(), document.data());
+                    if (deadline != null) {
+                        results.add(deadline);
                     }
-                    return results;
-                });
+                }
+                // Background sync runs journal their diff events instead of a full copy every minute.
+                if (priority == RequestPriority.INTERACTIVE) {
+                    eventBus.publish(new DeadlinesLoadedEvent(results));
+                }
+                return results;
+            });
+        });
     }
 
     @Override
     public CompletableFuture<Deadline> saveDeadline(Deadline deadline) {
         Objects.requireNonNull(deadline, "deadline");
         String uid = currentUserId().orElseThrow(() -> new IllegalStateException("Người dùng chưa đăng nhập"));
-        CollectionReference collection = deadlinesCollection(uid);
-        String id = Strings.isNullOrEmpty(deadline.id()) ? collection.document().getId() : deadline.id();
-        DocumentReference document = collection.document(id);
+        String path = deadlinesPath(uid);
+        String id = Strings.isNullOrEmpty(deadline.id()) ? store.newId(path) : deadline.id();
 
         Map<String, Object> payload = new HashMap<>();
         payload.put("id", id);
@@ -81,76 +93,35 @@ public final class FirestoreDeadlineRepository implements DeadlineService {
         policyMap.put("leadMinutes", policy.leadTime().toMinutes());
         payload.put("reminderPolicy", policyMap);
 
-        ApiFuture<?> writeFuture = document.set(payload, SetOptions.merge());
-        return FirebaseFutures.toCompletable(writeFuture)
-                .thenApply(ignored -> new Deadline(
-                        id,
-                        deadline.taskId(),
-                        deadline.dueAt(),
-                        deadline.timeZoneId(),
-                        policy
-                ));
+        return store.merge(path, id, payload)
+                .thenApply(ignored -> {
+                    Deadline saved = new Deadline(
+                            id,
+                            deadline.taskId(),
+                            deadline.dueAt(),
+                            deadline.timeZoneId(),
+                            policy
+                    );
+                    eventBus.publish(DeadlineChangedEvent.saved(saved));
+                    return saved;
+                });
     }
 
     @Override
     public CompletableFuture<Void> deleteDeadline(String deadlineId) {
         Objects.requireNonNull(deadlineId, "deadlineId");
         String uid = currentUserId().orElseThrow(() -> new IllegalStateException("Người dùng chưa đăng nhập"));
-        DocumentReference document = deadlinesCollection(uid).document(deadlineId);
-        return FirebaseFutures.toCompletable(document.delete()).thenApply(ignored -> null);
+        return store.delete(deadlinesPath(uid), deadlineId).thenApply(ignored -> {
+            eventBus.publish(DeadlineChangedEvent.deleted(deadlineId));
+            return null;
+        });
     }
 
     private Optional<String> currentUserId() {
         return authService.currentUser().map(UserProfile::uid);
     }
 
-    private CollectionReference deadlinesCollection(String uid) {
-        return firestore.collection(USERS_COLLECTION)
-                .document(uid)
-                .collection(DEADLINES_COLLECTION);
-    }
-
-    private Deadline mapToDeadline(DocumentSnapshot document) {
-        if (!document.exists()) {
-            return null;
-        }
-        String id = document.getString("id");
-        String taskId = document.getString("taskId");
-        String timeZoneId = document.getString("timeZoneId");
-        Timestamp dueTimestamp = document.getTimestamp("dueAt");
-
-        if (dueTimestamp == null || taskId == null || timeZoneId == null) {
-            return null;
-        }
-
-        ReminderPolicy policy = parsePolicy(document.get("reminderPolicy"));
-
-        return new Deadline(
-                id != null ? id : document.getId(),
-                taskId,
-                toInstant(dueTimestamp),
-                timeZoneId,
-                policy
-        );
-    }
-
-    @SuppressWarnings("unchecked")
-    private ReminderPolicy parsePolicy(Object raw) {
-        if (raw instanceof Map<?, ?> map) {
-            Object enabledRaw = map.get("enabled");
-            Object leadRaw = map.get("leadMinutes");
-
-            boolean enabled = enabledRaw instanceof Boolean b && b;
-            long minutes = leadRaw instanceof Number number ? number.longValue() : 0L;
-            return new ReminderPolicy(enabled, Duration.ofMinutes(minutes));
-        }
-        return ReminderPolicy.disabled();
-    }
-
-    private java.time.Instant toInstant(Timestamp timestamp) {
-        if (timestamp == null) {
-            return null;
-        }
-        return java.time.Instant.ofEpochSecond(timestamp.getSeconds(), timestamp.getNanos());
+    private static String deadlinesPath(String uid) {
+        return USERS_COLLECTION + "/" + uid + "/" + DEADLINES_COLLECTION;
     }
 }
@@ -1,23 +1,24 @@
 package com.todo.desktop.data.repository;
 
-import com.google.api.core.ApiFuture;
 import com.google.cloud.Timestamp;
-import com.google.cloud.firestore.CollectionReference;
-import com.google.cloud.firestore.DocumentReference;
-import com.google.cloud.firestore.DocumentSnapshot;
 import com.google.cloud.firestore.Firestore;
-import com.google.cloud.firestore.Query.Direction;
-import com.google.cloud.firestore.QuerySnapshot;
-import com.google.cloud.firestore.SetOptions;
 import com.google.common.base.Strings;
-import com.todo.desktop.data.firebase.FirebaseFutures;
+import com.todo.desktop.data.mapper.FirestoreMapper;
+import com.todo.desktop.data.request.RequestLanes;
+import com.todo.desktop.data.store.DocumentStore;
+import com.todo.desktop.data.store.FirestoreDocumentStore;
+import com.todo.desktop.data.store.StoredDocument;
+import com.todo.desktop.domain.event.EventBus;
+import com.todo.desktop.domain.event.TaskDeletedEvent;
+import com.todo.desktop.domain.event.TaskSavedEvent;
+import com.todo.desktop.domain.event.TasksLoadedEvent;
 import com.todo.desktop.domain.model.Task;
-import com.todo.desktop.domain.model.Task.TaskStatus;
 import com.todo.desktop.domain.model.UserProfile;
 import com.todo.desktop.domain.usecase.AuthService;
+import com.todo.desktop.domain.usecase.RequestContext;
+import com.todo.desktop.domain.usecase.RequestPriority;
 import com.todo.desktop.domain.usecase.TaskService;
 
-import java.time.Instant;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -31,12 +32,20 @@ public final class FirestoreTaskRepository implements TaskService {
     private static final String USERS_COLLECTION = "users";
     private static final String TASKS_COLLECTION = "tasks";
 
-    private final Firestore firestore;
+    private final DocumentStore store;
     private final AuthService authService;
+    private final EventBus eventBus;
+    private final RequestLanes requestLanes;
 
-    public FirestoreTaskRepository(Firestore firestore, AuthService authService) {
-        this.firestore = Objects.requireNonNull(firestore, "firestore");
+    public FirestoreTaskRepository(Firestore firestore, AuthService authService, EventBus eventBus, RequestLanes requestLanes) {
+        this(new FirestoreDocumentStore(firestore), authService, eventBus, requestLanes);
+    }
+
+    public FirestoreTaskRepository(DocumentStore store, AuthService authService, EventBus eventBus, RequestLanes requestLanes) {
+        this.store = Objects.requireNonNull(store, "store");
         this.authService = Objects.requireNonNull(authService, "authService");
+        this.eventBus = Objects.requireNonNull(eventBus, "eventBus");
+        this.requestLanes = Objects.requireNonNull(requestLanes, "requestLanes");
     }
 
     @Override
@@ -45,29 +54,32 @@ public final class FirestoreTaskRepository implements TaskService {
         if (uid.isEmpty()) {
             return CompletableFuture.completedFuture(List.of());
         }
-        ApiFuture<QuerySnapshot> query = tasksCollection(uid.get())
-                .orderBy("dueAt", Direction.ASCENDING)
-                .get();
-        return FirebaseFutures.toCompletable(query)
-                .thenApply(snapshot -> {
-                    List<Task> results = new ArrayList<>();
-                    for (DocumentSnapshot document : snapshot.getDocuments()) {
-                        Task task = mapToTask(document);
-                        if (task != null) {
-                            results.add(task);
-                        }
+        String userId = uid.get();
+        RequestPriority priority = RequestContext.currentPriority();
+        return requestLanes.submit("firestore:tasks:" + userId, priority, () -> {
+            return RequestLanes.map(store.list(tasksPath(userId), "dueAt"), documents -> {
+                List<Task> results = new ArrayList<>(documents.size());
+                for (StoredDocument document : documents) {
+                    Task task = FirestoreMapper.toTask(document.id(), document.data());
+                    if (task != null) {
+                        results.add(task);
                     }
-                    return results;
-                });
+                }
+                // Background sync runs journal their diff events instead of a full copy every minute.
+                if (priority == RequestPriority.INTERACTIVE) {
+                    eventBus.publish(new TasksLoadedEvent(results));
+                }
+                return results;
+            });
+        });
     }
 
     @Override
     public CompletableFuture<Task> saveTask(Task task) {
         Objects.requireNonNull(task, "task");
         String uid = currentUserId().orElseThrow(() -> new IllegalStateException("Người dùng chưa đăng nhập"));
-        CollectionReference collection = tasksCollection(uid);
-        String id = Strings.isNullOrEmpty(task.id()) ? collection.document().getId() : task.id();
-        DocumentReference document = collection.document(id);
+        String path = tasksPath(uid);
+        String id = Strings.isNullOrEmpty(task.id()) ? store.newId(path) : task.id();
 
         Map<String, Object> payload = new HashMap<>();
         payload.put("id", id);
@@ -81,72 +93,36 @@ public final class FirestoreTaskRepository implements TaskService {
             payload.put("dueAt", null);
         }
 
-        ApiFuture<?> writeFuture = document.set(payload, SetOptions.merge());
-        return FirebaseFutures.toCompletable(writeFuture)
-                .thenApply(ignored -> new Task(
-                        id,
-                        task.title(),
-                        task.description(),
-                        task.dueAt(),
-                        task.status(),
-                        task.flagged()
-                ));
+        return store.merge(path, id, payload)
+                .thenApply(ignored -> {
+                    Task saved = new Task(
+                            id,
+                            task.title(),
+                            task.description(),
+                            task.dueAt(),
+                            task.status(),
+                            task.flagged()
+                    );
+                    eventBus.publish(new TaskSavedEvent(saved));
+                    return saved;
+                });
     }
 
     @Override
     public CompletableFuture<Void> deleteTask(String taskId) {
         Objects.requireNonNull(taskId, "taskId");
         String uid = currentUserId().orElseThrow(() -> new IllegalStateException("Người dùng chưa đăng nhập"));
-        DocumentReference document = tasksCollection(uid).document(taskId);
-        return FirebaseFutures.toCompletable(document.delete()).thenApply(ignored -> null);
+        return store.delete(tasksPath(uid), taskId).thenApply(ignored -> {
+            eventBus.publish(new TaskDeletedEvent(taskId));
+            return null;
+        });
     }
 
     private Optional<String> currentUserId() {
         return authService.currentUser().map(UserProfile::uid);
     }
 
-    private CollectionReference tasksCollection(String uid) {
-        return firestore.collection(USERS_COLLECTION)
-                .document(uid)
-                .collection(TASKS_COLLECTION);
-    }
-
-    private Task mapToTask(DocumentSnapshot snapshot) {
-        if (!snapshot.exists()) {
-            return null;
-        }
-        String id = snapshot.getString("id");
-        String title = snapshot.getString("title");
-        String description = snapshot.getString("description");
-        Boolean flagged = snapshot.getBoolean("flagged");
-        String statusRaw = snapshot.getString("status");
-        Timestamp dueTimestamp = snapshot.getTimestamp("dueAt");
-
-        Instant dueAt = toInstant(dueTimestamp);
-        TaskStatus status = statusRaw != null ? parseStatus(statusRaw) : TaskStatus.TODO;
-
-        return new Task(
-                id != null ? id : snapshot.getId(),
-                title != null ? title : "",
-                description,
-                dueAt,
-                status,
-                flagged != null && flagged
-        );
-    }
-
-    private Instant toInstant(Timestamp timestamp) {
-        if (timestamp == null) {
-            return null;
-        }
-        return Instant.ofEpochSecond(timestamp.getSeconds(), timestamp.getNanos());
-    }
-
-    private TaskStatus parseStatus(String statusRaw) {
-        try {
-            return TaskStatus.valueOf(statusRaw);
-        } catch (IllegalArgumentException ex) {
-            return TaskStatus.TODO;
-        }
+    private static String tasksPath(String uid) {
+        return USERS_COLLECTION + "/" + uid + "/" + TASKS_COLLECTION;
     }
 }
@@ -1,11 +1,14 @@
 package com.todo.desktop.data.repository;
 
+import com.todo.desktop.domain.event.DeadlineChangedEvent;
+import com.todo.desktop.domain.event.EventBus;
 import com.todo.desktop.domain.model.Deadline;
 import com.todo.desktop.domain.usecase.DeadlineService;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
@@ -13,6 +16,11 @@ import java.util.concurrent.ConcurrentHashMap;
 public final class LocalDeadlineService implements DeadlineService {
 
     private final Map<String, Deadline> deadlines = new ConcurrentHashMap<>();
+    private final EventBus eventBus;
+
+    public LocalDeadlineService(EventBus eventBus) {
+        this.eventBus = Objects.requireNonNull(eventBus, "eventBus");
+    }
 
     @Override
     public CompletableFuture<List<Deadline>> listDeadlines() {
@@ -24,12 +32,15 @@ public final class LocalDeadlineService implements DeadlineService {
         String id = deadline.id() == null || deadline.id().isBlank() ? UUID.randomUUID().toString() : deadline.id();
         Deadline normalized = new Deadline(id, deadline.taskId(), deadline.dueAt(), deadline.timeZoneId(), deadline.reminderPolicy());
         deadlines.put(id, normalized);
+        eventBus.publish(DeadlineChangedEvent.saved(normalized));
         return CompletableFuture.completedFuture(normalized);
     }
 
     @Override
     public CompletableFuture<Void> deleteDeadline(String deadlineId) {
-        deadlines.remove(deadlineId);
+        if (deadlines.remove(deadlineId) != null) {
+            eventBus.publish(DeadlineChangedEvent.deleted(deadlineId));
+        }
         return CompletableFuture.completedFuture(null);
     }
 }
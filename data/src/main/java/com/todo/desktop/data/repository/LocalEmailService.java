@@ -1,5 +1,7 @@
 package com.todo.desktop.data.repository;
 
+import com.todo.desktop.domain.event.EventBus;
+import com.todo.desktop.domain.event.MessagesAddedEvent;
 import com.todo.desktop.domain.model.EmailMessage;
 import com.todo.desktop.domain.usecase.EmailService;
 
@@ -7,6 +9,7 @@ import java.nio.file.Path;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CopyOnWriteArrayList;
@@ -14,8 +17,10 @@ import java.util.concurrent.CopyOnWriteArrayList;
 public final class LocalEmailService implements EmailService {
 
     private final List<EmailMessage> inbox = new CopyOnWriteArrayList<>();
+    private final EventBus eventBus;
 
-    public LocalEmailService() {
+    public LocalEmailService(EventBus eventBus) {
+        this.eventBus = Objects.requireNonNull(eventBus, "eventBus");
         inbox.add(new EmailMessage(
                 UUID.randomUUID().toString(),
                 "Chào mừng đến với EveryDay Planner",
@@ -27,7 +32,8 @@ public final class LocalEmailService implements EmailService {
                 true,
                 false,
                 Instant.now(),
-                List.of()
+                List.of(),
+                null
         ));
     }
 
@@ -56,9 +62,11 @@ public final class LocalEmailService implements EmailService {
                 false,
                 attachments != null && !attachments.isEmpty(),
                 Instant.now(),
-                List.of()
+                List.of(),
+                null
         );
         inbox.add(0, stored);
+        eventBus.publish(new MessagesAddedEvent(List.of(stored)));
         return CompletableFuture.completedFuture(null);
     }
 }
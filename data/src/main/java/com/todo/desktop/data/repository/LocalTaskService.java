@@ -1,11 +1,15 @@
 package com.todo.desktop.data.repository;
 
+import com.todo.desktop.domain.event.EventBus;
+import com.todo.desktop.domain.event.TaskDeletedEvent;
+import com.todo.desktop.domain.event.TaskSavedEvent;
 import com.todo.desktop.domain.model.Task;
 import com.todo.desktop.domain.usecase.TaskService;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
@@ -13,6 +17,11 @@ import java.util.concurrent.ConcurrentHashMap;
 public final class LocalTaskService implements TaskService {
 
     private final Map<String, Task> tasks = new ConcurrentHashMap<>();
+    private final EventBus eventBus;
+
+    public LocalTaskService(EventBus eventBus) {
+        this.eventBus = Objects.requireNonNull(eventBus, "eventBus");
+    }
 
     @Override
     public CompletableFuture<List<Task>> listTasks() {
@@ -24,12 +33,15 @@ public final class LocalTaskService implements TaskService {
         String id = task.id() == null || task.id().isBlank() ? UUID.randomUUID().toString() : task.id();
         Task normalized = new Task(id, task.title(), task.description(), task.dueAt(), task.status(), task.flagged());
         tasks.put(id, normalized);
+        eventBus.publish(new TaskSavedEvent(normalized));
         return CompletableFuture.completedFuture(normalized);
     }
 
     @Override
     public CompletableFuture<Void> deleteTask(String taskId) {
-        tasks.remove(taskId);
+        if (tasks.remove(taskId) != null) {
+            eventBus.publish(new TaskDeletedEvent(taskId));
+        }
         return CompletableFuture.completedFuture(null);
     }
 }
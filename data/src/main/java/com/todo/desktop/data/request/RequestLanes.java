@@ -0,0 +1,185 @@
+package com.todo.desktop.data.request;
+
+import com.todo.desktop.domain.usecase.RequestPriority;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+public final class RequestLanes {
+
+    private static final int DEFAULT_BACKGROUND_CONCURRENCY = 2;
+
+    private final int backgroundConcurrency;
+    private final Object lock = new Object();
+    private final Map<String, Pending<?>> inFlight = new HashMap<>();
+    private final Deque<Pending<?>> backgroundQueue = new ArrayDeque<>();
+    private int backgroundRunning;
+
+    public RequestLanes() {
+        this(DEFAULT_BACKGROUND_CONCURRENCY);
+    }
+
+    public RequestLanes(int backgroundConcurrency) {
+        if (backgroundConcurrency <= 0) {
+            throw new IllegalArgumentException("backgroundConcurrency phải > 0");
+        }
+        this.backgroundConcurrency = backgroundConcurrency;
+    }
+
+    public <T> CompletableFuture<T> submit(String key, RequestPriority priority, Supplier<CompletableFuture<T>> call) {
+        Objects.requireNonNull(priority, "priority");
+        Objects.requireNonNull(call, "call");
+        Pending<T> pending;
+        boolean start = false;
+        synchronized (lock) {
+            @SuppressWarnings("unchecked")
+            Pending<T> existing = key != null ? (Pending<T>) inFlight.get(key) : null;
+            if (existing != null) {
+                pending = existing;
+                if (priority == RequestPriority.INTERACTIVE && pending.priority == RequestPriority.BACKGROUND && !pending.started) {
+                    backgroundQueue.remove(pending);
+                    pending.priority = RequestPriority.INTERACTIVE;
+                    start = true;
+                }
+            } else {
+                pending = new Pending<>(key, priority, call);
+                Pending<T> created = pending;
+                pending.result.whenComplete((value, ex) -> finish(created));
+                if (key != null) {
+                    inFlight.put(key, pending);
+                }
+                if (priority == RequestPriority.INTERACTIVE || backgroundRunning < backgroundConcurrency) {
+                    start = true;
+                } else {
+                    backgroundQueue.addLast(pending);
+                }
+            }
+            pending.subscribers++;
+            if (start) {
+                markStarted(pending);
+            }
+        }
+        CompletableFuture<T> subscriber = subscribe(pending);
+        if (start) {
+            launch(pending);
+        }
+        return subscriber;
+    }
+
+    public int backgroundQueued() {
+        synchronized (lock) {
+            return backgroundQueue.size();
+        }
+    }
+
+    public static <T, R> CompletableFuture<R> map(CompletableFuture<T> source, Function<? super T, ? extends R> mapper) {
+        return linkCancel(source.thenApply(mapper), source);
+    }
+
+    public static <T> CompletableFuture<T> linkCancel(CompletableFuture<T> downstream, CompletableFuture<?> upstream) {
+        downstream.whenComplete((value, ex) -> {
+            if (downstream.isCancelled()) {
+                upstream.cancel(true);
+            }
+        });
+        return downstream;
+    }
+
+    private void markStarted(Pending<?> pending) {
+        pending.started = true;
+        if (pending.priority == RequestPriority.BACKGROUND) {
+            backgroundRunning++;
+        }
+    }
+
+    private <T> CompletableFuture<T> subscribe(Pending<T> pending) {
+        CompletableFuture<T> subscriber = new CompletableFuture<>();
+        pending.result.whenComplete((value, ex) -> {
+            if (ex != null) {
+                subscriber.completeExceptionally(ex);
+            } else {
+                subscriber.complete(value);
+            }
+        });
+        subscriber.whenComplete((value, ex) -> {
+            if (subscriber.isCancelled()) {
+                unsubscribe(pending);
+            }
+        });
+        return subscriber;
+    }
+
+    private void unsubscribe(Pending<?> pending) {
+        synchronized (lock) {
+            if (--pending.subscribers > 0 || pending.result.isDone()) {
+                return;
+            }
+            backgroundQueue.remove(pending);
+        }
+        pending.result.cancel(true);
+    }
+
+    private <T> void launch(Pending<T> pending) {
+        CompletableFuture<T> source;
+        try {
+            source = pending.call.get();
+        } catch (RuntimeException e) {
+            source = CompletableFuture.failedFuture(e);
+        }
+        CompletableFuture<T> started = source;
+        linkCancel(pending.result, started);
+        started.whenComplete((value, ex) -> {
+            if (ex != null) {
+                pending.result.completeExceptionally(ex);
+            } else {
+                pending.result.complete(value);
+            }
+        });
+    }
+
+    private void finish(Pending<?> pending) {
+        Pending<?> next = null;
+        synchronized (lock) {
+            if (pending.finished) {
+                return;
+            }
+            pending.finished = true;
+            if (pending.key != null) {
+                inFlight.remove(pending.key, pending);
+            }
+            if (pending.started && pending.priority == RequestPriority.BACKGROUND) {
+                backgroundRunning--;
+            }
+            if (backgroundRunning < backgroundConcurrency && !backgroundQueue.isEmpty()) {
+                next = backgroundQueue.pollFirst();
+                markStarted(next);
+            }
+        }
+        if (next != null) {
+            launch(next);
+        }
+    }
+
+    private static final class Pending<T> {
+
+        private final String key;
+        private final Supplier<CompletableFuture<T>> call;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private RequestPriority priority;
+        private int subscribers;
+        private boolean started;
+        private boolean finished;
+
+        private Pending(String key, RequestPriority priority, Supplier<CompletableFuture<T>> call) {
+            this.key = key;
+            this.priority = priority;
+            this.call = call;
+        }
+    }
+}
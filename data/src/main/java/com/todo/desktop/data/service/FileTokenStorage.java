@@ -2,65 +2,243 @@ package com.todo.desktop.data.service;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
 import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.FileTime;
 import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
-public final class FileTokenStorage implements TokenStorage {
+// Tokens for every account live in one file and are served from memory. The file is only read again
+// when a watcher sees another process change it, and writes go through a temp file and a rename.
+public final class FileTokenStorage implements TokenStorage, AutoCloseable {
 
+    public static final String DEFAULT_ACCOUNT = "default";
     private static final String TOKEN_FILE = "outlook_token.json";
+
     private final Path tokenPath;
     private final Gson gson;
+    private final Object lock = new Object();
+    private final WatchService watchService;
+    private volatile Map<String, MicrosoftToken> tokens;
+    private volatile boolean stale = true;
+    private volatile FileTime lastWritten;
 
     public FileTokenStorage() {
-        String userHome = System.getProperty("user.home");
-        Path appDir = Paths.get(userHome, ".todo-desktop");
+        this(Paths.get(System.getProperty("user.home"), ".todo-desktop", TOKEN_FILE));
+    }
+
+    public FileTokenStorage(Path tokenPath) {
+        this.tokenPath = Objects.requireNonNull(tokenPath, "tokenPath").toAbsolutePath();
         try {
-            Files.createDirectories(appDir);
+            AtomicFiles.createPrivateDirectories(this.tokenPath.getParent());
         } catch (IOException e) {
             throw new RuntimeException("Không thể tạo thư mục config", e);
         }
-        this.tokenPath = appDir.resolve(TOKEN_FILE);
         this.gson = new GsonBuilder()
                 .registerTypeAdapter(Instant.class, new InstantTypeAdapter())
                 .create();
+        this.watchService = startWatcher();
     }
 
     @Override
     public void saveToken(MicrosoftToken token) {
-        try {
-            String json = gson.toJson(token);
-            System.out.println("DEBUG: Saving token to file: " + tokenPath);
-            System.out.println("DEBUG: Token expires at: " + token.expiresAt());
-            Files.writeString(tokenPath, json);
-            System.out.println("DEBUG: Token saved successfully");
-        } catch (IOException e) {
-            System.out.println("DEBUG: Failed to save token: " + e.getMessage());
-            throw new RuntimeException("Không thể lưu token", e);
-        }
+        saveToken(DEFAULT_ACCOUNT, token);
     }
 
     @Override
     public MicrosoftToken loadToken() {
+        return loadToken(DEFAULT_ACCOUNT);
+    }
+
+    @Override
+    public void clearToken() {
+        clearToken(DEFAULT_ACCOUNT);
+    }
+
+    public MicrosoftToken loadToken(String account) {
+        return tokens().get(Objects.requireNonNull(account, "account"));
+    }
+
+    public void saveToken(String account, MicrosoftToken token) {
+        Objects.requireNonNull(account, "account");
+        Objects.requireNonNull(token, "token");
+        synchronized (lock) {
+            Map<String, MicrosoftToken> updated = new LinkedHashMap<>(tokens());
+            updated.put(account, token);
+            write(updated);
+        }
+    }
+
+    public void clearToken(String account) {
+        Objects.requireNonNull(account, "account");
+        synchronized (lock) {
+            Map<String, MicrosoftToken> current = tokens();
+            if (!current.containsKey(account)) {
+                return;
+            }
+            Map<String, MicrosoftToken> updated = new LinkedHashMap<>(current);
+            updated.remove(account);
+            write(updated);
+        }
+    }
+
+    public Set<String> accounts() {
+        return tokens().keySet();
+    }
+
+    // A TokenStorage view of one account that shares this store's cache and file.
+    public TokenStorage forAccount(String account) {
+        Objects.requireNonNull(account, "account");
+        return new TokenStorage() {
+            @Override
+            public void saveToken(MicrosoftToken token) {
+                FileTokenStorage.this.saveToken(account, token);
+            }
+
+            @Override
+            public MicrosoftToken loadToken() {
+                return FileTokenStorage.this.loadToken(account);
+            }
+
+            @Override
+            public void clearToken() {
+                FileTokenStorage.this.clearToken(account);
+            }
+        };
+    }
+
+    @Override
+    public void close() {
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private Map<String, MicrosoftToken> tokens() {
+        Map<String, MicrosoftToken> current = tokens;
+        if (current != null && !stale) {
+            return current;
+        }
+        synchronized (lock) {
+            if (tokens == null || stale) {
+                // Cleared before reading, so a change that lands during the read marks it stale again.
+                stale = false;
+                tokens = read();
+            }
+            return tokens;
+        }
+    }
+
+    private Map<String, MicrosoftToken> read() {
         try {
-            if (!Files.exists(tokenPath)) {
-                return null;
+            JsonElement root = JsonParser.parseString(Files.readString(tokenPath));
+            if (!root.isJsonObject()) {
+                return Map.of();
+            }
+            JsonObject object = root.getAsJsonObject();
+            Map<String, MicrosoftToken> result = new LinkedHashMap<>();
+            if (object.has("accounts")) {
+                for (Map.Entry<String, JsonElement> entry : object.getAsJsonObject("accounts").entrySet()) {
+                    result.put(entry.getKey(), gson.fromJson(entry.getValue(), MicrosoftToken.class));
+                }
+            } else if (object.has("accessToken")) {
+                // Files written before accounts existed hold a single token.
+                result.put(DEFAULT_ACCOUNT, gson.fromJson(object, MicrosoftToken.class));
+            }
+            return Collections.unmodifiableMap(result);
+        } catch (NoSuchFileException e) {
+            return Map.of();
+        } catch (IOException | RuntimeException e) {
+            e.printStackTrace();
+            return Map.of();
+        }
+    }
+
+    private void write(Map<String, MicrosoftToken> updated) {
+        JsonObject accounts = new JsonObject();
+        updated.forEach((account, token) -> accounts.add(account, gson.toJsonTree(token)));
+        JsonObject root = new JsonObject();
+        root.add("accounts", accounts);
+        try {
+            if (updated.isEmpty()) {
+                Files.deleteIfExists(tokenPath);
+                lastWritten = null;
+            } else {
+                AtomicFiles.writeString(tokenPath, gson.toJson(root));
+                lastWritten = Files.getLastModifiedTime(tokenPath);
             }
-            String json = Files.readString(tokenPath);
-            return gson.fromJson(json, MicrosoftToken.class);
         } catch (IOException e) {
+            throw new RuntimeException("Không thể lưu token", e);
+        }
+        tokens = Collections.unmodifiableMap(updated);
+        stale = false;
+    }
+
+    private WatchService startWatcher() {
+        try {
+            WatchService service = tokenPath.getFileSystem().newWatchService();
+            tokenPath.getParent().register(service,
+                    StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY,
+                    StandardWatchEventKinds.ENTRY_DELETE);
+            Thread thread = new Thread(() -> watch(service), "token-file-watcher");
+            thread.setDaemon(true);
+            thread.start();
+            return service;
+        } catch (IOException | UnsupportedOperationException e) {
+            // Without a watcher the cache is still right as long as this process is the only writer.
+            e.printStackTrace();
             return null;
         }
     }
 
-    @Override
-    public void clearToken() {
+    private void watch(WatchService service) {
+        try {
+            while (true) {
+                WatchKey key = service.take();
+                boolean touched = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    Object context = event.context();
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW
+                            || (context instanceof Path path && path.equals(tokenPath.getFileName()))) {
+                        touched = true;
+                    }
+                }
+                key.reset();
+                if (touched && !isOwnWrite()) {
+                    stale = true;
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Closed with the store.
+        }
+    }
+
+    private boolean isOwnWrite() {
+        FileTime written = lastWritten;
         try {
-            Files.deleteIfExists(tokenPath);
+            return written != null && written.equals(Files.getLastModifiedTime(tokenPath));
         } catch (IOException e) {
-            // Ignore
+            return written == null;
         }
     }
 
@@ -0,0 +1,41 @@
+package com.todo.desktop.data.service;
+
+import com.todo.desktop.domain.model.UserProfile;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+
+public record FirebaseSession(
+        String uid,
+        String displayName,
+        String email,
+        String photoUrl,
+        String idToken,
+        String refreshToken,
+        Instant expiresAt
+) {
+
+    private static final Duration REFRESH_MARGIN = Duration.ofMinutes(5);
+
+    public FirebaseSession {
+        Objects.requireNonNull(uid, "uid");
+        Objects.requireNonNull(email, "email");
+        Objects.requireNonNull(refreshToken, "refreshToken");
+        Objects.requireNonNull(expiresAt, "expiresAt");
+    }
+
+    public boolean needsRefresh(Instant now) {
+        return idToken == null || !now.isBefore(expiresAt.minus(REFRESH_MARGIN));
+    }
+
+    public FirebaseSession withTokens(String idToken, String refreshToken, Instant expiresAt) {
+        return new FirebaseSession(uid, displayName, email, photoUrl, idToken, refreshToken, expiresAt);
+    }
+
+    public UserProfile toProfile() {
+        URI avatar = photoUrl != null && !photoUrl.isBlank() ? URI.create(photoUrl) : null;
+        return new UserProfile(uid, displayName, email, avatar);
+    }
+}
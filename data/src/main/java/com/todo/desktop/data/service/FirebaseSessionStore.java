@@ -0,0 +1,107 @@
+package com.todo.desktop.data.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.Optional;
+
+// Keeps the signed-in Firebase user between launches in an owner-only file.
+public final class FirebaseSessionStore {
+
+    private final Path file;
+    private final ObjectMapper objectMapper;
+    private final Object lock = new Object();
+    private boolean loaded;
+    private FirebaseSession session;
+
+    public FirebaseSessionStore(Path file, ObjectMapper objectMapper) {
+        this.file = Objects.requireNonNull(file, "file");
+        this.objectMapper = Objects.requireNonNull(objectMapper, "objectMapper");
+    }
+
+    public static FirebaseSessionStore inUserHome(ObjectMapper objectMapper) {
+        return new FirebaseSessionStore(Path.of(System.getProperty("user.home"), ".todo-desktop", "firebase_session.json"), objectMapper);
+    }
+
+    public Optional<FirebaseSession> load() {
+        synchronized (lock) {
+            if (!loaded) {
+                session = read();
+                loaded = true;
+            }
+            return Optional.ofNullable(session);
+        }
+    }
+
+    public void save(FirebaseSession session) {
+        Objects.requireNonNull(session, "session");
+        synchronized (lock) {
+            ObjectNode node = objectMapper.createObjectNode();
+            node.put("uid", session.uid());
+            node.put("displayName", session.displayName());
+            node.put("email", session.email());
+            node.put("photoUrl", session.photoUrl());
+            node.put("idToken", session.idToken());
+            node.put("refreshToken", session.refreshToken());
+            node.put("expiresAt", session.expiresAt().toEpochMilli());
+            try {
+                AtomicFiles.writeString(file, objectMapper.writeValueAsString(node));
+            } catch (IOException e) {
+                throw new IllegalStateException("Không thể lưu phiên đăng nhập", e);
+            }
+            this.session = session;
+            this.loaded = true;
+        }
+    }
+
+    public void clear() {
+        synchronized (lock) {
+            session = null;
+            loaded = true;
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private FirebaseSession read() {
+        try {
+            JsonNode node = objectMapper.readTree(Files.readString(file));
+            String refreshToken = text(node, "refreshToken");
+            String uid = text(node, "uid");
+            String email = text(node, "email");
+            if (refreshToken == null || uid == null || email == null) {
+                return null;
+            }
+            return new FirebaseSession(
+                    uid,
+                    text(node, "displayName"),
+                    email,
+                    text(node, "photoUrl"),
+                    text(node, "idToken"),
+                    refreshToken,
+                    Instant.ofEpochMilli(node.path("expiresAt").asLong(0))
+            );
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException | RuntimeException e) {
+            // A damaged session file only costs one sign-in.
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+}
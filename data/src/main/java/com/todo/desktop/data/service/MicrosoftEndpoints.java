@@ -0,0 +1,30 @@
+package com.todo.desktop.data.service;
+
+import java.util.Objects;
+
+// Where the delegated Outlook flow signs in and where Graph calls go. Both can point at a local stand-in.
+public record MicrosoftEndpoints(String authority, String graphBaseUrl) {
+
+    public static final MicrosoftEndpoints DEFAULT = new MicrosoftEndpoints(
+            "https://login.microsoftonline.com/common",
+            "https://graph.microsoft.com/v1.0"
+    );
+
+    public MicrosoftEndpoints {
+        authority = trimSlash(Objects.requireNonNull(authority, "authority"));
+        graphBaseUrl = trimSlash(Objects.requireNonNull(graphBaseUrl, "graphBaseUrl"));
+    }
+
+    public String tokenEndpoint() {
+        return authority + "/oauth2/v2.0/token";
+    }
+
+    public String authorizeEndpoint() {
+        return authority + "/oauth2/v2.0/authorize";
+    }
+
+    private static String trimSlash(String url) {
+        String trimmed = url.trim();
+        return trimmed.endsWith("/") ? trimmed.substring(0, trimmed.length() - 1) : trimmed;
+    }
+}
@@ -1,13 +1,34 @@
 package com.todo.desktop.data.service;
 
 import java.time.Instant;
+import java.util.Locale;
 
 public record MicrosoftToken(
         String accessToken,
         String refreshToken,
-        Instant expiresAt
+        Instant expiresAt,
+        String scope
 ) {
+    public MicrosoftToken(String accessToken, String refreshToken, Instant expiresAt) {
+        this(accessToken, refreshToken, expiresAt, null);
+    }
+
     public boolean isExpired() {
         return Instant.now().isAfter(expiresAt.minusSeconds(60));
     }
+
+    // Tokens saved before the granted scopes were recorded report none. Graph may qualify the names
+    // with its resource URI, so "https://graph.microsoft.com/Mail.Read" matches "Mail.Read".
+    public boolean hasScope(String name) {
+        if (scope == null || scope.isBlank()) {
+            return false;
+        }
+        String wanted = name.toLowerCase(Locale.ROOT);
+        for (String granted : scope.trim().toLowerCase(Locale.ROOT).split("\\s+")) {
+            if (granted.equals(wanted) || granted.endsWith("/" + wanted)) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
@@ -5,6 +5,7 @@ import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 import com.microsoft.graph.authentication.IAuthenticationProvider;
+import com.microsoft.graph.http.GraphServiceException;
 import com.microsoft.graph.models.BodyType;
 import com.microsoft.graph.models.EmailAddress;
 import com.microsoft.graph.models.FileAttachment;
@@ -12,19 +13,29 @@ import com.microsoft.graph.models.ItemBody;
 import com.microsoft.graph.models.Message;
 import com.microsoft.graph.models.Recipient;
 import com.microsoft.graph.models.UserSendMailParameterSet;
+import com.microsoft.graph.options.HeaderOption;
+import com.microsoft.graph.options.Option;
 import com.microsoft.graph.requests.GraphServiceClient;
-import com.microsoft.graph.requests.MessageCollectionPage;
-import com.todo.desktop.domain.model.EmailAttachment;
+import com.todo.desktop.data.mapper.EmailMapper;
+import com.todo.desktop.data.request.RequestLanes;
+import com.todo.desktop.domain.event.EventBus;
+import com.todo.desktop.domain.event.MessagesLoadedEvent;
+import com.todo.desktop.domain.event.MessagesRemovedEvent;
+import com.todo.desktop.domain.event.MessagesUpdatedEvent;
 import com.todo.desktop.domain.model.EmailMessage;
 import com.todo.desktop.domain.usecase.OutlookService;
+import com.todo.desktop.domain.usecase.RequestContext;
+import com.todo.desktop.domain.usecase.RequestPriority;
 
 import java.awt.Desktop;
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.net.HttpURLConnection;
 import java.net.InetSocketAddress;
 import java.net.URI;
@@ -41,36 +52,64 @@ import java.util.Base64;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 import com.sun.net.httpserver.HttpServer;
 import okhttp3.Request;
 
 public final class OutlookServiceImpl implements OutlookService {
 
-    private static final String AUTHORITY = "https://login.microsoftonline.com/common";
-    private static final String TOKEN_ENDPOINT = AUTHORITY + "/oauth2/v2.0/token";
-    private static final String AUTHORIZE_ENDPOINT = AUTHORITY + "/oauth2/v2.0/authorize";
-    // GRAPH_API_ENDPOINT is handled by the SDK
-    private static final String SCOPES = "openid profile email offline_access Mail.Send Mail.ReadWrite Mail.Read";
+    // Sender photos are read from other users' profiles, which needs User.ReadBasic.All on top of the mail scopes.
+    private static final String PHOTO_SCOPE = "User.ReadBasic.All";
+    private static final String MAIL_SCOPES = "openid profile email offline_access Mail.Send Mail.ReadWrite Mail.Read";
+    private static final String SCOPES = MAIL_SCOPES + " " + PHOTO_SCOPE;
     private static final int CALLBACK_PORT = 8765;
     private static final String REDIRECT_URI = "http://127.0.0.1:" + CALLBACK_PORT + "/oauth2/callback";
 
     private final String clientId;
     private final TokenStorage tokenStorage;
+    private final EventBus eventBus;
+    private final RequestLanes requestLanes;
+    private final MicrosoftEndpoints endpoints;
+    private volatile GraphServiceClient<Request> graphClient;
     
     // We still use Gson for the manual token exchange parts
     private final Gson gson = new Gson();
 
-    public OutlookServiceImpl(String clientId, TokenStorage tokenStorage) {
+    public OutlookServiceImpl(String clientId, TokenStorage tokenStorage, EventBus eventBus, RequestLanes requestLanes) {
+        this(clientId, tokenStorage, eventBus, requestLanes, MicrosoftEndpoints.DEFAULT);
+    }
+
+    public OutlookServiceImpl(String clientId, TokenStorage tokenStorage, EventBus eventBus, RequestLanes requestLanes, MicrosoftEndpoints endpoints) {
         this.clientId = clientId;
         this.tokenStorage = tokenStorage;
+        this.eventBus = Objects.requireNonNull(eventBus, "eventBus");
+        this.requestLanes = Objects.requireNonNull(requestLanes, "requestLanes");
+        this.endpoints = Objects.requireNonNull(endpoints, "endpoints");
     }
 
     private GraphServiceClient<Request> getGraphClient() {
-        return GraphServiceClient.builder()
+        GraphServiceClient<Request> client = graphClient;
+        if (client == null) {
+            synchronized (this) {
+                client = graphClient;
+                if (client == null) {
+                    client = createGraphClient();
+                    graphClient = client;
+                }
+            }
+        }
+        return client;
+    }
+
+    private GraphServiceClient<Request> createGraphClient() {
+        GraphServiceClient<Request> client = GraphServiceClient.builder()
                 .authenticationProvider(new IAuthenticationProvider() {
                     @Override
                     public CompletableFuture<String> getAuthorizationTokenAsync(URL requestUrl) {
@@ -84,19 +123,19 @@ public final class OutlookServiceImpl implements OutlookService {
                     }
                 })
                 .buildClient();
+        client.setServiceRoot(endpoints.graphBaseUrl());
+        return client;
     }
 
     @Override
     public CompletableFuture<Void> connectOutlook() {
         return CompletableFuture.supplyAsync(() -> {
             try {
-                System.out.println("DEBUG: Starting Outlook connection process...");
                 String codeVerifier = generateCodeVerifier();
                 String codeChallenge = generateCodeChallenge(codeVerifier);
                 String state = generateRandomString(16);
 
                 String authUrl = buildAuthorizationUrl(codeChallenge, state);
-                System.out.println("DEBUG: Auth URL built successfully");
 
                 CountDownLatch latch = new CountDownLatch(1);
                 String[] authCodeHolder = new String[1];
@@ -104,11 +143,9 @@ public final class OutlookServiceImpl implements OutlookService {
 
                 HttpServer server = createCallbackServer(authCodeHolder, stateHolder, latch);
                 server.start();
-                System.out.println("DEBUG: Callback server started on port " + CALLBACK_PORT);
 
                 if (Desktop.isDesktopSupported()) {
                     Desktop.getDesktop().browse(new URI(authUrl));
-                    System.out.println("DEBUG: Browser opened with auth URL");
                 }
 
                 boolean completed = latch.await(5, TimeUnit.MINUTES);
@@ -122,13 +159,10 @@ public final class OutlookServiceImpl implements OutlookService {
                     throw new IllegalStateException("State không khớp - có thể bị tấn công CSRF");
                 }
 
-                System.out.println("DEBUG: Received auth code, exchanging for tokens...");
                 exchangeCodeForTokens(authCodeHolder[0], codeVerifier);
-                System.out.println("DEBUG: Tokens exchanged and saved successfully");
 
                 return null;
             } catch (Exception e) {
-                System.out.println("DEBUG: Outlook connection failed: " + e.getMessage());
                 e.printStackTrace();
                 throw new RuntimeException("Kết nối Outlook thất bại: " + e.getMessage(), e);
             }
@@ -185,7 +219,6 @@ public final class OutlookServiceImpl implements OutlookService {
                         .buildRequest()
                         .post();
 
-                System.out.println("DEBUG: Email sent successfully");
                 return null;
             } catch (Exception e) {
                 throw new RuntimeException("Gửi email thất bại: " + e.getMessage(), e);
@@ -203,6 +236,17 @@ public final class OutlookServiceImpl implements OutlookService {
         }
     }
 
+    // Tokens granted before the photo scope existed lack it until the user connects again and consents.
+    @Override
+    public boolean canLoadContactPhotos() {
+        try {
+            MicrosoftToken token = tokenStorage.loadToken();
+            return token != null && token.hasScope(PHOTO_SCOPE);
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
     @Override
     public void disconnect() {
         tokenStorage.clearToken();
@@ -215,20 +259,22 @@ public final class OutlookServiceImpl implements OutlookService {
         }
 
         if (token.isExpired()) {
-            token = refreshAccessToken(token.refreshToken());
+            token = refreshAccessToken(token);
             tokenStorage.saveToken(token);
         }
 
         return token.accessToken();
     }
 
-    private MicrosoftToken refreshAccessToken(String refreshToken) throws Exception {
+    // Asking for a scope the user never consented to fails the refresh, so older tokens keep the mail scopes.
+    private MicrosoftToken refreshAccessToken(MicrosoftToken stale) throws Exception {
+        String scopes = stale.hasScope(PHOTO_SCOPE) ? SCOPES : MAIL_SCOPES;
         String params = "client_id=" + URLEncoder.encode(clientId, StandardCharsets.UTF_8)
-                + "&refresh_token=" + URLEncoder.encode(refreshToken, StandardCharsets.UTF_8)
+                + "&refresh_token=" + URLEncoder.encode(stale.refreshToken(), StandardCharsets.UTF_8)
                 + "&grant_type=refresh_token"
-                + "&scope=" + URLEncoder.encode(SCOPES, StandardCharsets.UTF_8);
+                + "&scope=" + URLEncoder.encode(scopes, StandardCharsets.UTF_8);
 
-        URL url = new URL(TOKEN_ENDPOINT);
+        URL url = new URL(endpoints.tokenEndpoint());
         HttpURLConnection conn = (HttpURLConnection) url.openConnection();
         conn.setRequestMethod("POST");
         conn.setRequestProperty("Content-Type", "application/x-www-form-urlencoded");
@@ -250,7 +296,8 @@ public final class OutlookServiceImpl implements OutlookService {
         return new MicrosoftToken(
                 json.get("access_token").getAsString(),
                 json.get("refresh_token").getAsString(),
-                Instant.now().plusSeconds(json.get("expires_in").getAsLong())
+                Instant.now().plusSeconds(json.get("expires_in").getAsLong()),
+                json.has("scope") ? json.get("scope").getAsString() : stale.scope()
         );
     }
 
@@ -261,7 +308,7 @@ public final class OutlookServiceImpl implements OutlookService {
                 + "&grant_type=authorization_code"
                 + "&code_verifier=" + codeVerifier;
 
-        URL url = new URL(TOKEN_ENDPOINT);
+        URL url = new URL(endpoints.tokenEndpoint());
         HttpURLConnection conn = (HttpURLConnection) url.openConnection();
         conn.setRequestMethod("POST");
         conn.setRequestProperty("Content-Type", "application/x-www-form-urlencoded");
@@ -283,7 +330,8 @@ public final class OutlookServiceImpl implements OutlookService {
         MicrosoftToken token = new MicrosoftToken(
                 json.get("access_token").getAsString(),
                 json.get("refresh_token").getAsString(),
-                Instant.now().plusSeconds(json.get("expires_in").getAsLong())
+                Instant.now().plusSeconds(json.get("expires_in").getAsLong()),
+                json.has("scope") ? json.get("scope").getAsString() : null
         );
 
         tokenStorage.saveToken(token);
@@ -293,7 +341,7 @@ public final class OutlookServiceImpl implements OutlookService {
     
     private String buildAuthorizationUrl(String codeChallenge, String state) {
         try {
-            return AUTHORIZE_ENDPOINT
+            return endpoints.authorizeEndpoint()
                     + "?client_id=" + URLEncoder.encode(clientId, StandardCharsets.UTF_8)
                     + "&response_type=code"
                     + "&redirect_uri=" + URLEncoder.encode(REDIRECT_URI, StandardCharsets.UTF_8)
@@ -407,65 +455,117 @@ public final class OutlookServiceImpl implements OutlookService {
     
     @Override
     public CompletableFuture<List<EmailMessage>> getInboxMessages(int top, int skip) {
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                MessageCollectionPage messages = getGraphClient().me().messages()
-                    .buildRequest()
-                    .top(top)
-                    .skip(skip)
-                    .select("id,subject,from,toRecipients,bodyPreview,isRead,hasAttachments,receivedDateTime")
-                    .get();
-
-                List<EmailMessage> emailList = new ArrayList<>();
-                if (messages != null && messages.getCurrentPage() != null) {
-                    for (Message msg : messages.getCurrentPage()) {
-                        emailList.add(convertSdkMessageToDomain(msg, false));
+        return requestLanes.submit("graph:inbox:" + top + ":" + skip, RequestContext.currentPriority(), () -> graphCall(
+                "Lấy email thất bại",
+                getGraphClient().me().messages()
+                        .buildRequest()
+                        .top(top)
+                        .skip(skip)
+                        .select("id,changeKey,subject,from,toRecipients,bodyPreview,isRead,hasAttachments,receivedDateTime")
+                        .futureGet(),
+                messages -> {
+                    List<EmailMessage> emailList = new ArrayList<>();
+                    if (messages != null && messages.getCurrentPage() != null) {
+                        for (Message msg : messages.getCurrentPage()) {
+                            emailList.add(EmailMapper.fromOutlook(msg, false));
+                        }
                     }
-                }
-                
-                return emailList;
-            } catch (Exception e) {
-                throw new RuntimeException("Lấy email thất bại: " + e.getMessage(), e);
-            }
-        });
+
+                    eventBus.publish(new MessagesLoadedEvent(emailList));
+                    return emailList;
+                }));
     }
 
     @Override
     public CompletableFuture<EmailMessage> getMessageById(String messageId) {
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                Message msg = getGraphClient().me().messages(messageId)
-                    .buildRequest()
-                    .expand("attachments")
-                    .get();
-                
-                return convertSdkMessageToDomain(msg, true);
-            } catch (Exception e) {
-                throw new RuntimeException("Lấy chi tiết email thất bại: " + e.getMessage(), e);
-            }
-        });
+        return getMessageById(messageId, false);
     }
 
     @Override
-    public CompletableFuture<byte[]> downloadAttachment(String messageId, String attachmentId) {
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                com.microsoft.graph.models.Attachment attachment = getGraphClient().me().messages(messageId)
-                    .attachments(attachmentId)
-                    .buildRequest()
-                    .get();
+    public CompletableFuture<EmailMessage> getMessageById(String messageId, boolean plainTextBody) {
+        List<Option> options = plainTextBody
+                ? List.of(new HeaderOption("Prefer", "outlook.body-content-type=\"text\""))
+                : List.of();
+        String key = "graph:message:" + messageId + (plainTextBody ? ":text" : "");
+        return requestLanes.submit(key, RequestContext.currentPriority(), () -> graphCall(
+                "Lấy chi tiết email thất bại",
+                getGraphClient().me().messages(messageId)
+                        .buildRequest(options)
+                        .expand("attachments")
+                        .futureGet(),
+                msg -> {
+                    EmailMessage message = EmailMapper.fromOutlook(msg, true);
+                    eventBus.publish(new MessagesUpdatedEvent(List.of(message)));
+                    return message;
+                }));
+    }
 
-                if (attachment instanceof FileAttachment) {
-                    FileAttachment fileAttachment = (FileAttachment) attachment;
-                    if (fileAttachment.contentBytes != null) {
+    @Override
+    public CompletableFuture<byte[]> downloadAttachment(String messageId, String attachmentId) {
+        return requestLanes.submit("graph:attachment:" + messageId + ":" + attachmentId, RequestContext.currentPriority(), () -> graphCall(
+                "Download attachment thất bại",
+                getGraphClient().me().messages(messageId)
+                        .attachments(attachmentId)
+                        .buildRequest()
+                        .futureGet(),
+                attachment -> {
+                    if (attachment instanceof FileAttachment fileAttachment && fileAttachment.contentBytes != null) {
                         return fileAttachment.contentBytes;
                     }
+                    return new byte[0];
+                }));
+    }
+
+    // Senders outside the tenant have no photo; those come back as an empty array rather than an error.
+    // Without the photo scope every request would be a 403, so none is sent and nothing looks like a miss.
+    @Override
+    public CompletableFuture<byte[]> getContactPhoto(String emailAddress) {
+        if (!canLoadContactPhotos()) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Chưa được cấp quyền " + PHOTO_SCOPE + " để lấy ảnh liên hệ"));
+        }
+        return requestLanes.submit("graph:photo:" + emailAddress, RequestPriority.BACKGROUND, () -> {
+            CompletableFuture<InputStream> request = getGraphClient().users(emailAddress)
+                    .photos("48x48")
+                    .content()
+                    .buildRequest()
+                    .futureGet();
+            CompletableFuture<byte[]> mapped = request.handle((stream, ex) -> {
+                if (ex != null) {
+                    Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+                    if (cause instanceof CancellationException cancelled) {
+                        throw cancelled;
+                    }
+                    if (cause instanceof GraphServiceException graphError && graphError.getResponseCode() >= 400 && graphError.getResponseCode() < 500) {
+                        return new byte[0];
+                    }
+                    throw new RuntimeException("Lấy ảnh liên hệ thất bại: " + cause.getMessage(), cause);
                 }
-                return new byte[0];
-            } catch (Exception e) {
-                throw new RuntimeException("Download attachment thất bại: " + e.getMessage(), e);
+                if (stream == null) {
+                    return new byte[0];
+                }
+                try (InputStream input = stream) {
+                    return input.readAllBytes();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            return RequestLanes.linkCancel(mapped, request);
+        });
+    }
+
+    // Maps the SDK future without losing cancellation, so cancelling the returned future aborts the HTTP call.
+    private static <T, R> CompletableFuture<R> graphCall(String errorMessage, CompletableFuture<T> request, Function<? super T, ? extends R> mapper) {
+        CompletableFuture<R> mapped = request.handle((value, ex) -> {
+            if (ex != null) {
+                Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+                if (cause instanceof CancellationException cancelled) {
+                    throw cancelled;
+                }
+                throw new RuntimeException(errorMessage + ": " + cause.getMessage(), cause);
             }
+            return mapper.apply(value);
         });
+        return RequestLanes.linkCancel(mapped, request);
     }
 
     @Override
@@ -473,6 +573,7 @@ public final class OutlookServiceImpl implements OutlookService {
         return CompletableFuture.supplyAsync(() -> {
             try {
                 getGraphClient().me().messages(messageId).buildRequest().delete();
+                eventBus.publish(new MessagesRemovedEvent(List.of(messageId)));
                 return null;
             } catch (Exception e) {
                 throw new RuntimeException("Xóa email thất bại: " + e.getMessage(), e);
@@ -537,60 +638,6 @@ public final class OutlookServiceImpl implements OutlookService {
         });
     }
 
-    private EmailMessage convertSdkMessageToDomain(Message msg, boolean includeBody) {
-        String id = msg.id;
-        String subject = msg.subject != null ? msg.subject : "(No subject)";
-        
-        String from = "";
-        String fromEmail = "";
-        if (msg.from != null && msg.from.emailAddress != null) {
-            from = msg.from.emailAddress.name;
-            fromEmail = msg.from.emailAddress.address;
-        }
-        
-        List<String> toRecipients = new ArrayList<>();
-        if (msg.toRecipients != null) {
-            for (Recipient recipient : msg.toRecipients) {
-                if (recipient.emailAddress != null) {
-                    toRecipients.add(recipient.emailAddress.address);
-                }
-            }
-        }
-        
-        String bodyPreview = msg.bodyPreview;
-        String bodyContent = "";
-        if (includeBody && msg.body != null) {
-            bodyContent = msg.body.content;
-        }
-        
-        boolean isRead = Boolean.TRUE.equals(msg.isRead);
-        boolean hasAttachments = Boolean.TRUE.equals(msg.hasAttachments);
-        
-        Instant receivedDateTime = Instant.now();
-        if (msg.receivedDateTime != null) {
-            // The SDK usually returns OffsetDateTime or similar, but here it might be different depending on version
-            // We'll check the type. In v5.57.0 it's usually OffsetDateTime.
-            // However, we are safe to use toString and parse or get toInstant if available.
-            // Let's assume it maps to java.time.OffsetDateTime
-            receivedDateTime = msg.receivedDateTime.toInstant();
-        }
-        
-        List<EmailAttachment> attachments = new ArrayList<>();
-        if (includeBody && msg.attachments != null && msg.attachments.getCurrentPage() != null) {
-            for (com.microsoft.graph.models.Attachment att : msg.attachments.getCurrentPage()) {
-                String attId = att.id;
-                String name = att.name;
-                String contentType = att.contentType;
-                int size = att.size != null ? att.size : 0;
-                boolean isInline = Boolean.TRUE.equals(att.isInline);
-                
-                attachments.add(new EmailAttachment(attId, name, contentType, size, isInline));
-            }
-        }
-        
-        return new EmailMessage(id, subject, from, fromEmail, toRecipients, bodyPreview, bodyContent, isRead, hasAttachments, receivedDateTime, attachments);
-    }
-
     private byte[] readFileToBytes(File file) throws IOException {
         try (FileInputStream fis = new FileInputStream(file)) {
             return fis.readAllBytes();
@@ -0,0 +1,25 @@
+package com.todo.desktop.data.store;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+// The Firestore operations the repositories rely on, addressed by collection path ("users/{uid}/tasks").
+public interface DocumentStore {
+
+    String newId(String collectionPath);
+
+    CompletableFuture<List<StoredDocument>> list(String collectionPath, String orderBy);
+
+    // set(data, SetOptions.merge()): nested maps are merged, everything else is replaced.
+    CompletableFuture<Void> merge(String collectionPath, String id, Map<String, Object> data);
+
+    CompletableFuture<Void> delete(String collectionPath, String id);
+
+    Registration listen(String collectionPath, String orderBy, Consumer<List<StoredDocument>> listener);
+
+    interface Registration {
+        void remove();
+    }
+}
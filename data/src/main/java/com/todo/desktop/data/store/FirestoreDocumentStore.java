@@ -0,0 +1,82 @@
+package com.todo.desktop.data.store;
+
+import com.google.api.core.ApiFuture;
+import com.google.cloud.firestore.CollectionReference;
+import com.google.cloud.firestore.DocumentSnapshot;
+import com.google.cloud.firestore.Firestore;
+import com.google.cloud.firestore.ListenerRegistration;
+import com.google.cloud.firestore.Query.Direction;
+import com.google.cloud.firestore.QuerySnapshot;
+import com.google.cloud.firestore.SetOptions;
+import com.todo.desktop.data.firebase.FirebaseFutures;
+import com.todo.desktop.data.request.RequestLanes;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+public final class FirestoreDocumentStore implements DocumentStore {
+
+    private final Firestore firestore;
+
+    public FirestoreDocumentStore(Firestore firestore) {
+        this.firestore = Objects.requireNonNull(firestore, "firestore");
+    }
+
+    @Override
+    public String newId(String collectionPath) {
+        return collection(collectionPath).document().getId();
+    }
+
+    @Override
+    public CompletableFuture<List<StoredDocument>> list(String collectionPath, String orderBy) {
+        ApiFuture<QuerySnapshot> query = collection(collectionPath)
+                .orderBy(orderBy, Direction.ASCENDING)
+                .get();
+        return RequestLanes.map(FirebaseFutures.toCompletable(query), FirestoreDocumentStore::documents);
+    }
+
+    @Override
+    public CompletableFuture<Void> merge(String collectionPath, String id, Map<String, Object> data) {
+        ApiFuture<?> write = collection(collectionPath).document(id).set(data, SetOptions.merge());
+        return RequestLanes.map(FirebaseFutures.toCompletable(write), ignored -> null);
+    }
+
+    @Override
+    public CompletableFuture<Void> delete(String collectionPath, String id) {
+        ApiFuture<?> write = collection(collectionPath).document(id).delete();
+        return RequestLanes.map(FirebaseFutures.toCompletable(write), ignored -> null);
+    }
+
+    @Override
+    public Registration listen(String collectionPath, String orderBy, Consumer<List<StoredDocument>> listener) {
+        Objects.requireNonNull(listener, "listener");
+        ListenerRegistration registration = collection(collectionPath)
+                .orderBy(orderBy, Direction.ASCENDING)
+                .addSnapshotListener((snapshot, error) -> {
+                    if (error != null) {
+                        error.printStackTrace();
+                        return;
+                    }
+                    if (snapshot != null) {
+                        listener.accept(documents(snapshot));
+                    }
+                });
+        return registration::remove;
+    }
+
+    private CollectionReference collection(String collectionPath) {
+        return firestore.collection(collectionPath);
+    }
+
+    private static List<StoredDocument> documents(QuerySnapshot snapshot) {
+        List<StoredDocument> documents = new ArrayList<>(snapshot.size());
+        for (DocumentSnapshot document : snapshot.getDocuments()) {
+            documents.add(new StoredDocument(document.getId(), document.getData()));
+        }
+        return documents;
+    }
+}
@@ -0,0 +1,177 @@
+package com.todo.desktop.data.store;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+// Stand-in for Firestore in benchmarks and offline runs. Every operation takes effect after the
+// configured latency; with no latency it completes on the calling thread.
+public final class InMemoryDocumentStore implements DocumentStore {
+
+    private static final String ID_ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789";
+    private static final int ID_LENGTH = 20;
+
+    private final Duration latency;
+    private final Executor delayed;
+    private final Map<String, Map<String, Map<String, Object>>> collections = new ConcurrentHashMap<>();
+    private final Map<String, List<Listener>> listeners = new ConcurrentHashMap<>();
+
+    public InMemoryDocumentStore() {
+        this(Duration.ZERO);
+    }
+
+    public InMemoryDocumentStore(Duration latency) {
+        this.latency = Objects.requireNonNull(latency, "latency");
+        if (latency.isNegative()) {
+            throw new IllegalArgumentException("latency phải >= 0");
+        }
+        this.delayed = CompletableFuture.delayedExecutor(latency.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public String newId(String collectionPath) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        StringBuilder id = new StringBuilder(ID_LENGTH);
+        for (int i = 0; i < ID_LENGTH; i++) {
+            id.append(ID_ALPHABET.charAt(random.nextInt(ID_ALPHABET.length())));
+        }
+        return id.toString();
+    }
+
+    @Override
+    public CompletableFuture<List<StoredDocument>> list(String collectionPath, String orderBy) {
+        return submit(() -> query(collectionPath, orderBy));
+    }
+
+    @Override
+    public CompletableFuture<Void> merge(String collectionPath, String id, Map<String, Object> data) {
+        Objects.requireNonNull(id, "id");
+        Objects.requireNonNull(data, "data");
+        Map<String, Object> update = new HashMap<>(data);
+        return submit(() -> {
+            collection(collectionPath).compute(id, (key, existing) -> merged(existing, update));
+            notifyListeners(collectionPath);
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> delete(String collectionPath, String id) {
+        Objects.requireNonNull(id, "id");
+        return submit(() -> {
+            if (collection(collectionPath).remove(id) != null) {
+                notifyListeners(collectionPath);
+            }
+            return null;
+        });
+    }
+
+    // Like a Firestore listener: the current result first, then a full result after every change.
+    @Override
+    public Registration listen(String collectionPath, String orderBy, Consumer<List<StoredDocument>> listener) {
+        Listener registered = new Listener(orderBy, Objects.requireNonNull(listener, "listener"));
+        List<Listener> registeredListeners = listeners.computeIfAbsent(collectionPath, path -> new CopyOnWriteArrayList<>());
+        registeredListeners.add(registered);
+        submit(() -> query(collectionPath, orderBy)).thenAccept(registered::deliver);
+        return () -> registeredListeners.remove(registered);
+    }
+
+    public int size(String collectionPath) {
+        Map<String, Map<String, Object>> collection = collections.get(collectionPath);
+        return collection == null ? 0 : collection.size();
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> operation) {
+        if (latency.isZero()) {
+            try {
+                return CompletableFuture.completedFuture(operation.get());
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+        return CompletableFuture.supplyAsync(operation, delayed);
+    }
+
+    private Map<String, Map<String, Object>> collection(String collectionPath) {
+        return collections.computeIfAbsent(Objects.requireNonNull(collectionPath, "collectionPath"), path -> new ConcurrentHashMap<>());
+    }
+
+    // Documents without the field are left out and nulls sort first, as in a Firestore orderBy query.
+    private List<StoredDocument> query(String collectionPath, String orderBy) {
+        Map<String, Map<String, Object>> collection = collections.get(collectionPath);
+        if (collection == null) {
+            return List.of();
+        }
+        List<StoredDocument> documents = new ArrayList<>(collection.size());
+        collection.forEach((id, data) -> {
+            if (orderBy == null || data.containsKey(orderBy)) {
+                documents.add(new StoredDocument(id, data));
+            }
+        });
+        Comparator<StoredDocument> byId = Comparator.comparing(StoredDocument::id);
+        documents.sort(orderBy == null ? byId : Comparator
+                .<StoredDocument, Object>comparing(document -> document.data().get(orderBy), InMemoryDocumentStore::compareValues)
+                .thenComparing(byId));
+        return documents;
+    }
+
+    private void notifyListeners(String collectionPath) {
+        List<Listener> registered = listeners.get(collectionPath);
+        if (registered == null) {
+            return;
+        }
+        for (Listener listener : registered) {
+            listener.deliver(query(collectionPath, listener.orderBy()));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> merged(Map<String, Object> existing, Map<String, Object> update) {
+        Map<String, Object> result = existing != null ? new HashMap<>(existing) : new HashMap<>();
+        update.forEach((field, value) -> {
+            if (value instanceof Map<?, ?> nested && result.get(field) instanceof Map<?, ?> current) {
+                result.put(field, merged((Map<String, Object>) current, (Map<String, Object>) nested));
+            } else if (value instanceof Map<?, ?> nested) {
+                result.put(field, merged(null, (Map<String, Object>) nested));
+            } else {
+                result.put(field, value);
+            }
+        });
+        return Collections.unmodifiableMap(result);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compareValues(Object left, Object right) {
+        if (left == null || right == null) {
+            return left == null ? (right == null ? 0 : -1) : 1;
+        }
+        if (left.getClass() == right.getClass() && left instanceof Comparable comparable) {
+            return comparable.compareTo(right);
+        }
+        return left.getClass().getName().compareTo(right.getClass().getName());
+    }
+
+    private record Listener(String orderBy, Consumer<List<StoredDocument>> consumer) {
+
+        void deliver(List<StoredDocument> documents) {
+            try {
+                consumer.accept(documents);
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+}
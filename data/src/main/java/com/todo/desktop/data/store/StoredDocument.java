@@ -0,0 +1,6 @@
+package com.todo.desktop.data.store;
+
+import java.util.Map;
+
+public record StoredDocument(String id, Map<String, Object> data) {
+}
@@ -0,0 +1,110 @@
+package com.todo.desktop.data.journal;
+
+import com.todo.desktop.domain.event.DeadlineChangedEvent;
+import com.todo.desktop.domain.event.DeadlinesLoadedEvent;
+import com.todo.desktop.domain.event.DomainEvent;
+import com.todo.desktop.domain.event.MessagesAddedEvent;
+import com.todo.desktop.domain.event.MessagesLoadedEvent;
+import com.todo.desktop.domain.event.MessagesRemovedEvent;
+import com.todo.desktop.domain.event.MessagesUpdatedEvent;
+import com.todo.desktop.domain.event.SignedOutEvent;
+import com.todo.desktop.domain.event.TaskDeletedEvent;
+import com.todo.desktop.domain.event.TaskSavedEvent;
+import com.todo.desktop.domain.event.TaskSyncedEvent;
+import com.todo.desktop.domain.event.TasksLoadedEvent;
+import com.todo.desktop.domain.model.Deadline;
+import com.todo.desktop.domain.model.EmailAttachment;
+import com.todo.desktop.domain.model.EmailMessage;
+import com.todo.desktop.domain.model.ReminderPolicy;
+import com.todo.desktop.domain.model.Task;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class EventCodecTest {
+
+    private static final long RECORDED_AT = 1_700_000_000_123L;
+
+    private static final Task TASK = new Task("t1", "Nộp báo cáo", "Gửi cho phòng kế toán",
+            Instant.parse("2024-05-01T09:30:15.250Z"), Task.TaskStatus.IN_PROGRESS, true);
+    private static final Deadline DEADLINE = new Deadline("d1", "t1", Instant.parse("2024-05-01T17:00:00Z"),
+            "Asia/Ho_Chi_Minh", new ReminderPolicy(true, Duration.ofMinutes(45)));
+
+    @Test
+    void taskEventsRoundTrip() throws IOException {
+        assertRoundTrip(new TaskSavedEvent(TASK));
+        assertRoundTrip(new TaskSyncedEvent(TASK));
+        assertRoundTrip(new TaskDeletedEvent("t1"));
+        assertRoundTrip(new TasksLoadedEvent(List.of(TASK, new Task("t2", "Trống", null, null, Task.TaskStatus.DONE, false))));
+    }
+
+    @Test
+    void deadlineEventsRoundTrip() throws IOException {
+        assertRoundTrip(DeadlineChangedEvent.saved(DEADLINE));
+        assertRoundTrip(DeadlineChangedEvent.deleted("d1"));
+        assertRoundTrip(new DeadlinesLoadedEvent(List.of(DEADLINE,
+                new Deadline("d2", "t2", Instant.parse("2024-06-01T00:00:00Z"), "UTC", null))));
+    }
+
+    @Test
+    void messageEventsRoundTripWithoutBodyAndChangeKey() throws IOException {
+        EmailMessage message = message("m1", "Lịch họp", Instant.parse("2024-05-02T08:00:00Z"));
+        EmailMessage journaled = new EmailMessage("m1", "Lịch họp", "An Nguyễn", "an@contoso.com",
+                List.of("binh@contoso.com", "chi@contoso.com"), "Xem lịch đính kèm", "", false, true,
+                Instant.parse("2024-05-02T08:00:00Z"),
+                List.of(new EmailAttachment("a1", "lich.pdf", "application/pdf", 2048, false)), null);
+
+        assertEquals(new MessagesAddedEvent(List.of(journaled)), roundTrip(new MessagesAddedEvent(List.of(message))));
+        assertEquals(new MessagesUpdatedEvent(List.of(journaled)), roundTrip(new MessagesUpdatedEvent(List.of(message))));
+        assertEquals(new MessagesLoadedEvent(List.of(journaled)), roundTrip(new MessagesLoadedEvent(List.of(message))));
+        assertRoundTrip(new MessagesRemovedEvent(List.of("m1", "m2")));
+    }
+
+    @Test
+    void messageWithoutAttachmentsOrDateRoundTrips() throws IOException {
+        EmailMessage bare = new EmailMessage("m2", null, null, null, List.of(), null, "", true, false, null, List.of(), null);
+        assertRoundTrip(new MessagesAddedEvent(List.of(bare)));
+    }
+
+    @Test
+    void decodeKeepsSequenceAndRecordedAt() throws IOException {
+        JournalEntry entry = EventCodec.decode(42, EventCodec.encode(new TaskDeletedEvent("t1"), RECORDED_AT));
+
+        assertEquals(42L, entry.sequence());
+        assertEquals(Instant.ofEpochMilli(RECORDED_AT), entry.recordedAt());
+    }
+
+    @Test
+    void eventsWithoutACodecAreNotEncoded() {
+        assertNull(EventCodec.encode(new SignedOutEvent(), RECORDED_AT));
+    }
+
+    @Test
+    void unknownTagIsRejected() {
+        byte[] payload = EventCodec.encode(new TaskDeletedEvent("t1"), RECORDED_AT);
+        payload[0] = 99;
+
+        assertThrows(IOException.class, () -> EventCodec.decode(0, payload));
+    }
+
+    private static void assertRoundTrip(DomainEvent event) throws IOException {
+        assertEquals(event, roundTrip(event));
+    }
+
+    private static DomainEvent roundTrip(DomainEvent event) throws IOException {
+        return EventCodec.decode(0, EventCodec.encode(event, RECORDED_AT)).event();
+    }
+
+    private static EmailMessage message(String id, String subject, Instant received) {
+        return new EmailMessage(id, subject, "An Nguyễn", "an@contoso.com", List.of("binh@contoso.com", "chi@contoso.com"),
+                "Xem lịch đính kèm", "<p>Nội dung đầy đủ</p>", false, true, received,
+                List.of(new EmailAttachment("a1", "lich.pdf", "application/pdf", 2048, false)), "CK-1");
+    }
+}
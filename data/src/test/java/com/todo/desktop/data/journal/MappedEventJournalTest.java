@@ -0,0 +1,212 @@
+package com.todo.desktop.data.journal;
+
+import com.todo.desktop.domain.event.SignedOutEvent;
+import com.todo.desktop.domain.event.TaskDeletedEvent;
+import com.todo.desktop.domain.event.TaskSavedEvent;
+import com.todo.desktop.domain.event.TasksLoadedEvent;
+import com.todo.desktop.domain.model.Task;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MappedEventJournalTest {
+
+    private static final int SEGMENT_SIZE = 4096;
+    private static final int NO_SNAPSHOTS = Integer.MAX_VALUE;
+    private static final long SNAPSHOT_BYTES = 2L * SEGMENT_SIZE;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void reopenRebuildsTheProjectionFromTheLog() throws IOException {
+        try (MappedEventJournal journal = open()) {
+            journal.append(new TaskSavedEvent(task("t1")));
+            journal.append(new TaskSavedEvent(task("t2")));
+            journal.append(new TaskDeletedEvent("t1"));
+        }
+        deleteSnapshots();
+
+        try (MappedEventJournal journal = open()) {
+            assertEquals(List.of("t2"), taskIds(journal));
+            assertEquals(3L, journal.nextSequence());
+        }
+    }
+
+    @Test
+    void reopenRestoresTheSnapshotWrittenOnClose() throws IOException {
+        try (MappedEventJournal journal = open()) {
+            journal.append(new TaskSavedEvent(task("t1")));
+        }
+
+        try (MappedEventJournal journal = open()) {
+            assertEquals(List.of("t1"), taskIds(journal));
+            assertEquals(1L, journal.nextSequence());
+        }
+    }
+
+    @Test
+    void tornRecordAtTheTailIsTruncatedAndOverwritten() throws IOException {
+        try (MappedEventJournal journal = open()) {
+            journal.append(new TaskSavedEvent(task("t1")));
+            journal.append(new TaskSavedEvent(task("t2")));
+        }
+        deleteSnapshots();
+        // A length prefix that made it to disk ahead of a payload that did not.
+        damageTail(segment -> {
+            segment.putInt(segment.position(), 24);
+            segment.put(segment.position() + Integer.BYTES, (byte) 99);
+        });
+
+        try (MappedEventJournal journal = open()) {
+            assertEquals(List.of("t1", "t2"), taskIds(journal));
+            assertEquals(2L, journal.nextSequence());
+            journal.append(new TaskSavedEvent(task("t3")));
+        }
+        deleteSnapshots();
+
+        try (MappedEventJournal journal = open()) {
+            assertEquals(List.of("t1", "t2", "t3"), taskIds(journal));
+            assertEquals(3L, journal.replay(0, entry -> { }));
+        }
+    }
+
+    @Test
+    void lengthRunningPastTheSegmentEndIsIgnored() throws IOException {
+        try (MappedEventJournal journal = open()) {
+            journal.append(new TaskSavedEvent(task("t1")));
+        }
+        deleteSnapshots();
+        damageTail(segment -> segment.putInt(segment.position(), SEGMENT_SIZE));
+
+        try (MappedEventJournal journal = open()) {
+            assertEquals(List.of("t1"), taskIds(journal));
+            journal.append(new TaskSavedEvent(task("t2")));
+        }
+        deleteSnapshots();
+
+        try (MappedEventJournal journal = open()) {
+            assertEquals(List.of("t1", "t2"), taskIds(journal));
+        }
+    }
+
+    @Test
+    void replayReadsAcrossSegmentsFromTheRequestedSequence() throws IOException {
+        try (MappedEventJournal journal = open()) {
+            for (int i = 0; i < 200; i++) {
+                journal.append(new TaskSavedEvent(task("t" + i)));
+            }
+            assertTrue(segments().size() > 1, "sự kiện phải trải qua nhiều segment");
+
+            List<Long> sequences = new ArrayList<>();
+            journal.replay(150, entry -> sequences.add(entry.sequence()));
+            assertEquals(LongStream.range(150, 200).boxed().toList(), sequences);
+        }
+    }
+
+    @Test
+    void eventsWithoutACodecAreNotJournaled() throws IOException {
+        try (MappedEventJournal journal = open()) {
+            journal.append(new SignedOutEvent());
+            assertEquals(0L, journal.nextSequence());
+        }
+    }
+
+    @Test
+    void clearForgetsEverythingAcrossReopen() throws IOException {
+        try (MappedEventJournal journal = open()) {
+            journal.append(new TaskSavedEvent(task("t1")));
+            journal.clear();
+            assertTrue(journal.projection().isEmpty());
+            journal.append(new TaskSavedEvent(task("t2")));
+        }
+        deleteSnapshots();
+
+        try (MappedEventJournal journal = open()) {
+            assertEquals(List.of("t2"), taskIds(journal));
+        }
+    }
+
+    @Test
+    void repeatedBulkLoadsAreCompactedByBytesWritten() throws Exception {
+        List<Task> tasks = IntStream.range(0, 40).mapToObj(i -> task("t" + i)).toList();
+        try (MappedEventJournal journal = MappedEventJournal.open(directory, SEGMENT_SIZE, NO_SNAPSHOTS, SNAPSHOT_BYTES)) {
+            for (int i = 0; i < 500; i++) {
+                journal.append(new TasksLoadedEvent(tasks));
+            }
+            // Snapshots are written in the background; give the last one a moment to compact.
+            long deadline = System.currentTimeMillis() + 5_000;
+            while ((segments().size() > 4 || directorySize() > 8 * SEGMENT_SIZE) && System.currentTimeMillis() < deadline) {
+                Thread.sleep(20);
+            }
+            assertTrue(segments().size() <= 4, "số segment phải giới hạn, thực tế " + segments().size());
+            assertTrue(directorySize() <= 8 * SEGMENT_SIZE, "dung lượng journal phải giới hạn, thực tế " + directorySize());
+            assertEquals(40, journal.projection().tasks().size());
+        }
+    }
+
+    private MappedEventJournal open() throws IOException {
+        return MappedEventJournal.open(directory, SEGMENT_SIZE, NO_SNAPSHOTS, Long.MAX_VALUE);
+    }
+
+    private long directorySize() throws IOException {
+        long total = 0;
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path path : files.toList()) {
+                total += Files.size(path);
+            }
+        }
+        return total;
+    }
+
+    private void deleteSnapshots() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path path : files.filter(path -> path.getFileName().toString().startsWith("snapshot-")).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().startsWith("segment-")).sorted().toList();
+        }
+    }
+
+    // Hands over the newest segment positioned just past its last complete record.
+    private void damageTail(Consumer<MappedByteBuffer> damage) throws IOException {
+        List<Path> segments = segments();
+        try (FileChannel channel = FileChannel.open(segments.get(segments.size() - 1), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+            int length;
+            while ((length = segment.getInt(segment.position())) > 0) {
+                segment.position(segment.position() + Integer.BYTES + length);
+            }
+            damage.accept(segment);
+            segment.force();
+        }
+    }
+
+    private static List<String> taskIds(MappedEventJournal journal) {
+        return journal.projection().tasks().stream().map(Task::id).sorted().toList();
+    }
+
+    private static Task task(String id) {
+        return new Task(id, "Công việc " + id, null, null, Task.TaskStatus.TODO, false);
+    }
+}
@@ -0,0 +1,86 @@
+package com.todo.desktop.data.journal;
+
+import com.todo.desktop.domain.event.SessionExpiredEvent;
+import com.todo.desktop.domain.event.SignedInEvent;
+import com.todo.desktop.domain.event.SignedOutEvent;
+import com.todo.desktop.domain.event.TaskSavedEvent;
+import com.todo.desktop.domain.model.Task;
+import com.todo.desktop.domain.model.UserProfile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PerUserEventJournalTest {
+
+    @TempDir
+    Path root;
+
+    @Test
+    void eachUserSeesOnlyTheirOwnEvents() {
+        try (PerUserEventJournal journal = new PerUserEventJournal(root)) {
+            journal.append(new SignedInEvent(user("alice")));
+            journal.append(new TaskSavedEvent(task("a1")));
+            journal.switchTo("bob");
+            journal.append(new TaskSavedEvent(task("b1")));
+            assertEquals(List.of("b1"), taskIds(journal));
+
+            journal.switchTo("alice");
+            assertEquals(List.of("a1"), taskIds(journal));
+        }
+    }
+
+    @Test
+    void signingOutClearsTheJournalAndStopsJournaling() {
+        try (PerUserEventJournal journal = new PerUserEventJournal(root)) {
+            journal.switchTo("alice");
+            journal.append(new TaskSavedEvent(task("a1")));
+            journal.append(new SignedOutEvent());
+
+            assertEquals(Optional.empty(), journal.projection());
+            journal.append(new TaskSavedEvent(task("a2")));
+
+            journal.switchTo("alice");
+            assertTrue(journal.projection().orElseThrow().isEmpty());
+        }
+    }
+
+    @Test
+    void expiredSessionIsTreatedAsSignOut() {
+        try (PerUserEventJournal journal = new PerUserEventJournal(root)) {
+            journal.switchTo("alice");
+            journal.append(new TaskSavedEvent(task("a1")));
+            journal.append(new SessionExpiredEvent());
+
+            journal.switchTo("alice");
+            assertTrue(journal.projection().orElseThrow().isEmpty());
+        }
+    }
+
+    @Test
+    void uidIsSanitizedIntoASingleDirectory() {
+        try (PerUserEventJournal journal = new PerUserEventJournal(root)) {
+            journal.switchTo("../evil/uid");
+        }
+
+        assertTrue(Files.isDirectory(root.resolve("___evil_uid")));
+    }
+
+    private static List<String> taskIds(PerUserEventJournal journal) {
+        return journal.projection().orElseThrow().tasks().stream().map(Task::id).sorted().toList();
+    }
+
+    private static UserProfile user(String uid) {
+        return new UserProfile(uid, null, uid + "@contoso.com", null);
+    }
+
+    private static Task task(String id) {
+        return new Task(id, "Công việc " + id, null, null, Task.TaskStatus.TODO, false);
+    }
+}
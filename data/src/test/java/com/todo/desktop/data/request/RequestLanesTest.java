@@ -0,0 +1,196 @@
+package com.todo.desktop.data.request;
+
+import com.todo.desktop.domain.usecase.RequestPriority;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequestLanesTest {
+
+    private final RequestLanes lanes = new RequestLanes(1);
+
+    @Test
+    void sameKeySharesOneCall() {
+        Call<String> call = new Call<>();
+
+        CompletableFuture<String> first = lanes.submit("inbox", RequestPriority.INTERACTIVE, call);
+        CompletableFuture<String> second = lanes.submit("inbox", RequestPriority.INTERACTIVE, call);
+        call.future.complete("trang 1");
+
+        assertEquals(1, call.invocations);
+        assertEquals("trang 1", first.join());
+        assertEquals("trang 1", second.join());
+    }
+
+    @Test
+    void requestsWithoutAKeyAreNeverShared() {
+        Call<String> call = new Call<>();
+
+        lanes.submit(null, RequestPriority.INTERACTIVE, call);
+        lanes.submit(null, RequestPriority.INTERACTIVE, call);
+
+        assertEquals(2, call.invocations);
+    }
+
+    @Test
+    void keyIsReleasedOnceTheCallSettles() {
+        Call<String> call = new Call<>();
+        lanes.submit("inbox", RequestPriority.INTERACTIVE, call);
+        call.future.complete("cũ");
+
+        Call<String> next = new Call<>();
+        lanes.submit("inbox", RequestPriority.INTERACTIVE, next);
+
+        assertEquals(1, next.invocations);
+    }
+
+    @Test
+    void backgroundLaneRunsAtMostItsConcurrency() {
+        Call<String> first = new Call<>();
+        Call<String> second = new Call<>();
+
+        lanes.submit("a", RequestPriority.BACKGROUND, first);
+        lanes.submit("b", RequestPriority.BACKGROUND, second);
+        assertEquals(0, second.invocations);
+        assertEquals(1, lanes.backgroundQueued());
+
+        first.future.complete("a");
+        assertEquals(1, second.invocations);
+        assertEquals(0, lanes.backgroundQueued());
+    }
+
+    @Test
+    void interactiveRequestsBypassTheBackgroundLimit() {
+        lanes.submit("a", RequestPriority.BACKGROUND, new Call<String>());
+        Call<String> interactive = new Call<>();
+
+        lanes.submit("b", RequestPriority.INTERACTIVE, interactive);
+
+        assertEquals(1, interactive.invocations);
+    }
+
+    @Test
+    void interactiveSubmitPromotesAQueuedBackgroundRequest() {
+        Call<String> running = new Call<>();
+        Call<String> queued = new Call<>();
+        lanes.submit("a", RequestPriority.BACKGROUND, running);
+        CompletableFuture<String> prefetch = lanes.submit("b", RequestPriority.BACKGROUND, queued);
+
+        CompletableFuture<String> opened = lanes.submit("b", RequestPriority.INTERACTIVE, new Call<String>());
+        assertEquals(1, queued.invocations);
+        assertEquals(0, lanes.backgroundQueued());
+
+        queued.future.complete("chi tiết");
+        assertEquals("chi tiết", opened.join());
+        assertEquals("chi tiết", prefetch.join());
+    }
+
+    @Test
+    void promotedRequestDoesNotFreeABackgroundSlot() {
+        Call<String> running = new Call<>();
+        Call<String> promoted = new Call<>();
+        lanes.submit("a", RequestPriority.BACKGROUND, running);
+        lanes.submit("b", RequestPriority.BACKGROUND, promoted);
+        lanes.submit("b", RequestPriority.INTERACTIVE, promoted);
+        promoted.future.complete("b");
+
+        Call<String> later = new Call<>();
+        lanes.submit("c", RequestPriority.BACKGROUND, later);
+
+        assertEquals(0, later.invocations);
+        running.future.complete("a");
+        assertEquals(1, later.invocations);
+    }
+
+    @Test
+    void cancellingOneSubscriberKeepsTheSharedCall() {
+        Call<String> call = new Call<>();
+        CompletableFuture<String> first = lanes.submit("inbox", RequestPriority.INTERACTIVE, call);
+        CompletableFuture<String> second = lanes.submit("inbox", RequestPriority.INTERACTIVE, call);
+
+        first.cancel(true);
+        call.future.complete("trang 1");
+
+        assertFalse(call.future.isCancelled());
+        assertEquals("trang 1", second.join());
+    }
+
+    @Test
+    void cancellingTheLastSubscriberCancelsTheCall() {
+        Call<String> call = new Call<>();
+        CompletableFuture<String> first = lanes.submit("inbox", RequestPriority.INTERACTIVE, call);
+        CompletableFuture<String> second = lanes.submit("inbox", RequestPriority.INTERACTIVE, call);
+
+        first.cancel(true);
+        second.cancel(true);
+
+        assertTrue(call.future.isCancelled());
+    }
+
+    @Test
+    void cancelledQueuedRequestNeverStarts() {
+        Call<String> running = new Call<>();
+        Call<String> queued = new Call<>();
+        lanes.submit("a", RequestPriority.BACKGROUND, running);
+        CompletableFuture<String> prefetch = lanes.submit("b", RequestPriority.BACKGROUND, queued);
+
+        prefetch.cancel(true);
+        assertEquals(0, lanes.backgroundQueued());
+        running.future.complete("a");
+
+        assertEquals(0, queued.invocations);
+    }
+
+    @Test
+    void failureReachesEverySubscriber() {
+        Call<String> call = new Call<>();
+        CompletableFuture<String> first = lanes.submit("inbox", RequestPriority.INTERACTIVE, call);
+        CompletableFuture<String> second = lanes.submit("inbox", RequestPriority.INTERACTIVE, call);
+
+        call.future.completeExceptionally(new IllegalStateException("lỗi mạng"));
+
+        assertThrows(CompletionException.class, first::join);
+        assertThrows(CompletionException.class, second::join);
+    }
+
+    @Test
+    void callThatThrowsFailsTheRequestAndFreesTheSlot() {
+        CompletableFuture<String> failed = lanes.submit("a", RequestPriority.BACKGROUND, () -> {
+            throw new IllegalStateException("lỗi cấu hình");
+        });
+        Call<String> next = new Call<>();
+        lanes.submit("b", RequestPriority.BACKGROUND, next);
+
+        assertTrue(failed.isCompletedExceptionally());
+        assertEquals(1, next.invocations);
+    }
+
+    @Test
+    void cancellingAMappedFutureCancelsItsSource() {
+        CompletableFuture<String> source = new CompletableFuture<>();
+        CompletableFuture<Integer> mapped = RequestLanes.map(source, String::length);
+
+        mapped.cancel(true);
+
+        assertTrue(source.isCancelled());
+    }
+
+    private static final class Call<T> implements Supplier<CompletableFuture<T>> {
+
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+        private int invocations;
+
+        @Override
+        public CompletableFuture<T> get() {
+            invocations++;
+            return future;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.todo.desktop.data.service;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FileTokenStorageTest {
+
+    private static final Instant EXPIRES_AT = Instant.parse("2030-01-01T00:00:00Z");
+
+    @TempDir
+    Path directory;
+
+    private final List<FileTokenStorage> opened = new ArrayList<>();
+
+    @AfterEach
+    void closeStores() {
+        opened.forEach(FileTokenStorage::close);
+    }
+
+    @Test
+    void accountsAreKeptSideBySideInOneFile() throws IOException {
+        FileTokenStorage storage = open();
+        storage.saveToken("work", token("a1"));
+        storage.forAccount("home").saveToken(token("b1"));
+
+        JsonObject accounts = JsonParser.parseString(Files.readString(tokenPath())).getAsJsonObject().getAsJsonObject("accounts");
+        assertEquals(Set.of("work", "home"), accounts.keySet());
+
+        FileTokenStorage reopened = open();
+        assertEquals(token("a1"), reopened.loadToken("work"));
+        assertEquals(token("b1"), reopened.forAccount("home").loadToken());
+        assertNull(reopened.loadToken());
+    }
+
+    @Test
+    void clearingTheLastAccountDeletesTheFile() {
+        FileTokenStorage storage = open();
+        storage.saveToken("work", token("a1"));
+        storage.saveToken("home", token("b1"));
+
+        storage.clearToken("work");
+        assertEquals(Set.of("home"), storage.accounts());
+        assertTrue(Files.exists(tokenPath()));
+
+        storage.forAccount("home").clearToken();
+        assertEquals(Set.of(), storage.accounts());
+        assertFalse(Files.exists(tokenPath()));
+    }
+
+    @Test
+    void legacySingleTokenFileIsReadAsTheDefaultAccount() throws IOException {
+        Files.writeString(tokenPath(), "{\"accessToken\":\"cũ\",\"refreshToken\":\"r-cũ\",\"expiresAt\":\"" + EXPIRES_AT + "\"}");
+
+        FileTokenStorage storage = open();
+        assertEquals(new MicrosoftToken("cũ", "r-cũ", EXPIRES_AT), storage.loadToken());
+        assertEquals(Set.of(FileTokenStorage.DEFAULT_ACCOUNT), storage.accounts());
+
+        // The next write upgrades the file to the accounts layout and keeps the old token.
+        storage.saveToken("work", token("a1"));
+        JsonObject root = JsonParser.parseString(Files.readString(tokenPath())).getAsJsonObject();
+        assertFalse(root.has("accessToken"));
+        assertEquals(Set.of(FileTokenStorage.DEFAULT_ACCOUNT, "work"), root.getAsJsonObject("accounts").keySet());
+    }
+
+    @Test
+    void writeByAnotherProcessInvalidatesTheCache() throws Exception {
+        FileTokenStorage storage = open();
+        assertNull(storage.loadToken("work"));
+
+        FileTokenStorage other = open();
+        other.saveToken("work", token("từ nơi khác"));
+
+        assertTrue(awaitToken(storage, "work", token("từ nơi khác")), "cache phải đọc lại sau khi file bị ghi từ bên ngoài");
+    }
+
+    @Test
+    void changeEventForOwnWriteKeepsTheCache() throws Exception {
+        FileTokenStorage storage = open();
+        storage.saveToken("work", token("a1"));
+        FileTime written = Files.getLastModifiedTime(tokenPath());
+
+        // Different content under the same modification time is indistinguishable from our own write,
+        // so the store keeps serving what it wrote instead of reading the file back.
+        Path replacement = directory.resolve("replacement.json");
+        Files.writeString(replacement, "{\"accounts\":{}}");
+        Files.setLastModifiedTime(replacement, written);
+        Files.move(replacement, tokenPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        Thread.sleep(500);
+
+        assertEquals(token("a1"), storage.loadToken("work"));
+    }
+
+    private FileTokenStorage open() {
+        FileTokenStorage storage = new FileTokenStorage(tokenPath());
+        opened.add(storage);
+        return storage;
+    }
+
+    private Path tokenPath() {
+        return directory.resolve("outlook_token.json");
+    }
+
+    private static boolean awaitToken(FileTokenStorage storage, String account, MicrosoftToken expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (System.currentTimeMillis() < deadline) {
+            if (Objects.equals(expected, storage.loadToken(account))) {
+                return true;
+            }
+            Thread.sleep(20);
+        }
+        return false;
+    }
+
+    private static MicrosoftToken token(String accessToken) {
+        return new MicrosoftToken(accessToken, "r-" + accessToken, EXPIRES_AT, "Mail.Read");
+    }
+}
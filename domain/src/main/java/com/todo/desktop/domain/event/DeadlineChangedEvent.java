@@ -0,0 +1,24 @@
+package com.todo.desktop.domain.event;
+
+import com.todo.desktop.domain.model.Deadline;
+
+import java.util.Objects;
+
+public record DeadlineChangedEvent(String deadlineId, Deadline deadline) implements PlannerEvent {
+
+    public DeadlineChangedEvent {
+        Objects.requireNonNull(deadlineId, "deadlineId");
+    }
+
+    public static DeadlineChangedEvent saved(Deadline deadline) {
+        return new DeadlineChangedEvent(deadline.id(), deadline);
+    }
+
+    public static DeadlineChangedEvent deleted(String deadlineId) {
+        return new DeadlineChangedEvent(deadlineId, null);
+    }
+
+    public boolean removed() {
+        return deadline == null;
+    }
+}
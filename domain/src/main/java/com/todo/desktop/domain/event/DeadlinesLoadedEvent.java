@@ -0,0 +1,12 @@
+package com.todo.desktop.domain.event;
+
+import com.todo.desktop.domain.model.Deadline;
+
+import java.util.List;
+
+public record DeadlinesLoadedEvent(List<Deadline> deadlines) implements DomainEvent {
+
+    public DeadlinesLoadedEvent {
+        deadlines = List.copyOf(deadlines);
+    }
+}
@@ -1,19 +1,62 @@
 package com.todo.desktop.domain.event;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 
 public final class EventBus {
 
     private final Map<Class<? extends DomainEvent>, Set<Consumer<DomainEvent>>> listeners = new ConcurrentHashMap<>();
     private final Map<Class<? extends DomainEvent>, Map<Consumer<?>, Consumer<DomainEvent>>> adapters = new ConcurrentHashMap<>();
+    // Resolved listeners per concrete event class, including those registered for its supertypes.
+    private final Map<Class<?>, Consumer<DomainEvent>[]> dispatchCache = new ConcurrentHashMap<>();
+    private final AtomicLong listenerVersion = new AtomicLong();
+    private final EventJournal journal;
+
+    public EventBus() {
+        this(null);
+    }
+
+    public EventBus(EventJournal journal) {
+        this.journal = journal;
+    }
 
     public <T extends DomainEvent> void register(Class<T> type, Consumer<? super T> consumer) {
-        Consumer<DomainEvent> adapter = event -> consumer.accept(type.cast(event));
+        addAdapter(type, consumer, event -> consumer.accept(type.cast(event)));
+    }
+
+    public <T extends DomainEvent> void registerAsync(Class<T> type, Consumer<? super T> consumer, Executor executor) {
+        registerAsync(type, consumer, executor, MailboxOptions.defaults());
+    }
+
+    public <T extends DomainEvent> void registerAsync(
+            Class<T> type,
+            Consumer<? super T> consumer,
+            Executor executor,
+            MailboxOptions<T> options
+    ) {
+        Objects.requireNonNull(executor, "executor");
+        Objects.requireNonNull(options, "options");
+        Mailbox<T> mailbox = new Mailbox<>(type, consumer, executor, options);
+        addAdapter(type, consumer, mailbox);
+    }
+
+    private void addAdapter(Class<? extends DomainEvent> type, Consumer<?> consumer, Consumer<DomainEvent> adapter) {
+        Objects.requireNonNull(type, "type");
+        Objects.requireNonNull(consumer, "consumer");
         listeners.computeIfAbsent(type, ignored -> ConcurrentHashMap.newKeySet()).add(adapter);
         adapters.computeIfAbsent(type, ignored -> new ConcurrentHashMap<>()).put(consumer, adapter);
+        invalidateDispatchCache();
     }
 
     public <T extends DomainEvent> void unregister(Class<T> type, Consumer<? super T> consumer) {
@@ -35,9 +78,65 @@ public final class EventBus {
         if (adapterMap.isEmpty()) {
             adapters.remove(type);
         }
+        invalidateDispatchCache();
+        // Events already queued for a disposed subscriber must not reach it.
+        if (adapter instanceof Mailbox<?> mailbox) {
+            mailbox.close();
+        }
     }
 
     public void publish(DomainEvent event) {
-        listeners.getOrDefault(event.getClass(), Set.of()).forEach(listener -> listener.accept(event));
+        if (journal != null) {
+            journal.append(event);
+        }
+        Class<?> eventType = event.getClass();
+        Consumer<DomainEvent>[] targets = dispatchCache.get(eventType);
+        if (targets == null) {
+            targets = resolveTargets(eventType);
+        }
+        for (Consumer<DomainEvent> target : targets) {
+            target.accept(event);
+        }
+    }
+
+    private void invalidateDispatchCache() {
+        listenerVersion.incrementAndGet();
+        dispatchCache.clear();
+    }
+
+    private Consumer<DomainEvent>[] resolveTargets(Class<?> eventType) {
+        long version = listenerVersion.get();
+        List<Consumer<DomainEvent>> resolved = new ArrayList<>();
+        for (Class<?> type : typeHierarchy(eventType)) {
+            Set<Consumer<DomainEvent>> registered = listeners.get(type);
+            if (registered != null) {
+                resolved.addAll(registered);
+            }
+        }
+        @SuppressWarnings("unchecked")
+        Consumer<DomainEvent>[] targets = (Consumer<DomainEvent>[]) resolved.toArray(Consumer[]::new);
+        dispatchCache.put(eventType, targets);
+        // A register/unregister raced with the resolution; drop the possibly stale entry.
+        if (listenerVersion.get() != version) {
+            dispatchCache.remove(eventType, targets);
+        }
+        return targets;
+    }
+
+    private static Set<Class<?>> typeHierarchy(Class<?> eventType) {
+        Set<Class<?>> types = new LinkedHashSet<>();
+        Deque<Class<?>> pending = new ArrayDeque<>();
+        pending.add(eventType);
+        while (!pending.isEmpty()) {
+            Class<?> type = pending.poll();
+            if (!DomainEvent.class.isAssignableFrom(type) || !types.add(type)) {
+                continue;
+            }
+            if (type.getSuperclass() != null) {
+                pending.add(type.getSuperclass());
+            }
+            Collections.addAll(pending, type.getInterfaces());
+        }
+        return types;
     }
 }
@@ -0,0 +1,6 @@
+package com.todo.desktop.domain.event;
+
+public interface EventJournal {
+
+    void append(DomainEvent event);
+}
@@ -0,0 +1,99 @@
+package com.todo.desktop.domain.event;
+
+import com.todo.desktop.domain.model.Deadline;
+import com.todo.desktop.domain.model.EmailMessage;
+import com.todo.desktop.domain.model.Task;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public final class EventProjection {
+
+    // Only the newest messages matter for a warm start; paging through a large inbox must not grow the
+    // projection, or the snapshots written from it, without bound.
+    private static final int MESSAGE_LIMIT = 500;
+
+    private final Map<String, Task> tasks = new ConcurrentHashMap<>();
+    private final Map<String, Deadline> deadlines = new ConcurrentHashMap<>();
+    private final Map<String, EmailMessage> messages = new ConcurrentHashMap<>();
+
+    public void apply(DomainEvent event) {
+        if (event instanceof TaskSavedEvent saved) {
+            tasks.put(saved.task().id(), saved.task());
+        } else if (event instanceof TaskSyncedEvent synced) {
+            tasks.put(synced.task().id(), synced.task());
+        } else if (event instanceof TaskDeletedEvent deleted) {
+            tasks.remove(deleted.taskId());
+        } else if (event instanceof DeadlineChangedEvent changed) {
+            if (changed.removed()) {
+                deadlines.remove(changed.deadlineId());
+            } else {
+                deadlines.put(changed.deadlineId(), changed.deadline());
+            }
+        } else if (event instanceof TasksLoadedEvent loaded) {
+            tasks.clear();
+            loaded.tasks().forEach(task -> tasks.put(task.id(), task));
+        } else if (event instanceof DeadlinesLoadedEvent loaded) {
+            deadlines.clear();
+            loaded.deadlines().forEach(deadline -> deadlines.put(deadline.id(), deadline));
+        } else if (event instanceof MessagesLoadedEvent loaded) {
+            loaded.messages().forEach(message -> messages.put(message.id(), message));
+            trimMessages();
+        } else if (event instanceof MessagesAddedEvent added) {
+            added.messages().forEach(message -> messages.put(message.id(), message));
+            trimMessages();
+        } else if (event instanceof MessagesUpdatedEvent updated) {
+            updated.messages().forEach(message -> messages.put(message.id(), message));
+        } else if (event instanceof MessagesRemovedEvent removed) {
+            removed.messageIds().forEach(messages::remove);
+        }
+    }
+
+    public void restore(Collection<Task> taskValues, Collection<Deadline> deadlineValues, Collection<EmailMessage> messageValues) {
+        tasks.clear();
+        deadlines.clear();
+        messages.clear();
+        taskValues.forEach(task -> tasks.put(task.id(), task));
+        deadlineValues.forEach(deadline -> deadlines.put(deadline.id(), deadline));
+        messageValues.forEach(message -> messages.put(message.id(), message));
+        trimMessages();
+    }
+
+    public void clear() {
+        tasks.clear();
+        deadlines.clear();
+        messages.clear();
+    }
+
+    public List<Task> tasks() {
+        return List.copyOf(tasks.values());
+    }
+
+    public List<Deadline> deadlines() {
+        return List.copyOf(deadlines.values());
+    }
+
+    public List<EmailMessage> messages() {
+        return List.copyOf(messages.values());
+    }
+
+    public boolean isEmpty() {
+        return tasks.isEmpty() && deadlines.isEmpty() && messages.isEmpty();
+    }
+
+    private void trimMessages() {
+        int excess = messages.size() - MESSAGE_LIMIT;
+        if (excess <= 0) {
+            return;
+        }
+        messages.values().stream()
+                .sorted(Comparator.comparing(EmailMessage::receivedDateTime, Comparator.nullsFirst(Comparator.naturalOrder())))
+                .limit(excess)
+                .map(EmailMessage::id)
+                .toList()
+                .forEach(messages::remove);
+    }
+}
@@ -0,0 +1,163 @@
+package com.todo.desktop.domain.event;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+final class Mailbox<T extends DomainEvent> implements Consumer<DomainEvent> {
+
+    // Upper bound per drain task so one busy subscriber cannot monopolise its executor (e.g. the FX thread).
+    private static final int DRAIN_BATCH = 64;
+
+    private final Class<T> type;
+    private final Consumer<? super T> consumer;
+    private final Executor executor;
+    private final int capacity;
+    private final OverflowPolicy overflowPolicy;
+    private final Function<? super T, ?> coalesceKey;
+    private final Runnable overflowHandler;
+
+    private final Object lock = new Object();
+    private final ArrayDeque<Slot<T>> queue = new ArrayDeque<>();
+    private final Map<Object, Slot<T>> pendingByKey = new HashMap<>();
+    private boolean scheduled;
+    private boolean closed;
+    private long dropped;
+
+    Mailbox(Class<T> type, Consumer<? super T> consumer, Executor executor, MailboxOptions<T> options) {
+        this.type = type;
+        this.consumer = consumer;
+        this.executor = executor;
+        this.capacity = options.capacity();
+        this.overflowPolicy = options.overflowPolicy();
+        this.coalesceKey = options.coalesceKey();
+        this.overflowHandler = options.overflowHandler();
+    }
+
+    @Override
+    public void accept(DomainEvent event) {
+        offer(event);
+    }
+
+    // Called from EventBus.publish, so nothing in here may throw at the publisher.
+    void offer(DomainEvent event) {
+        T typed = type.cast(event);
+        boolean start = false;
+        long droppedSoFar = 0;
+        synchronized (lock) {
+            if (closed) {
+                return;
+            }
+            Object key = coalesceKey != null ? coalesceKey.apply(typed) : null;
+            if (key != null) {
+                Slot<T> pending = pendingByKey.get(key);
+                if (pending != null) {
+                    pending.event = typed;
+                    return;
+                }
+            }
+            boolean full = queue.size() >= capacity;
+            if (full) {
+                droppedSoFar = ++dropped;
+                if (overflowPolicy == OverflowPolicy.DROP_OLDEST) {
+                    forget(queue.pollFirst());
+                }
+            }
+            if (!full || overflowPolicy == OverflowPolicy.DROP_OLDEST) {
+                Slot<T> slot = new Slot<>(key, typed);
+                queue.addLast(slot);
+                if (key != null) {
+                    pendingByKey.put(key, slot);
+                }
+                start = !scheduled;
+                scheduled = true;
+            }
+        }
+        if (droppedSoFar > 0) {
+            reportOverflow(droppedSoFar);
+        }
+        if (start) {
+            schedule();
+        }
+    }
+
+    // Drops the backlog and ignores later offers; a drain already running stops at its next event.
+    void close() {
+        synchronized (lock) {
+            closed = true;
+            queue.clear();
+            pendingByKey.clear();
+        }
+    }
+
+    long dropped() {
+        synchronized (lock) {
+            return dropped;
+        }
+    }
+
+    private void reportOverflow(long droppedSoFar) {
+        // Logged on the first drop and then at every power of two, so a flood does not flood the log too.
+        if (Long.bitCount(droppedSoFar) == 1) {
+            System.err.println("Hàng đợi sự kiện " + type.getSimpleName() + " đầy, đã bỏ " + droppedSoFar + " sự kiện");
+        }
+        if (overflowHandler != null) {
+            try {
+                overflowHandler.run();
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private void schedule() {
+        try {
+            executor.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            synchronized (lock) {
+                scheduled = false;
+            }
+        }
+    }
+
+    private void drain() {
+        for (int i = 0; i < DRAIN_BATCH; i++) {
+            T event;
+            synchronized (lock) {
+                Slot<T> slot = queue.pollFirst();
+                if (slot == null) {
+                    scheduled = false;
+                    return;
+                }
+                forget(slot);
+                event = slot.event;
+            }
+            try {
+                consumer.accept(event);
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        }
+        schedule();
+    }
+
+    private void forget(Slot<T> slot) {
+        if (slot != null && slot.key != null) {
+            pendingByKey.remove(slot.key, slot);
+        }
+    }
+
+    private static final class Slot<T> {
+        private final Object key;
+        private T event;
+
+        private Slot(Object key, T event) {
+            this.key = key;
+            this.event = event;
+        }
+    }
+}
@@ -0,0 +1,4 @@
+package com.todo.desktop.domain.event;
+
+public interface MailboxEvent extends DomainEvent {
+}
@@ -0,0 +1,43 @@
+package com.todo.desktop.domain.event;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+public record MailboxOptions<T extends DomainEvent>(
+        int capacity,
+        OverflowPolicy overflowPolicy,
+        Function<? super T, ?> coalesceKey,
+        Runnable overflowHandler
+) {
+
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    public MailboxOptions {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity phải lớn hơn 0");
+        }
+        Objects.requireNonNull(overflowPolicy, "overflowPolicy");
+    }
+
+    public static <T extends DomainEvent> MailboxOptions<T> defaults() {
+        return new MailboxOptions<>(DEFAULT_CAPACITY, OverflowPolicy.DROP_OLDEST, null, null);
+    }
+
+    public static <T extends DomainEvent> MailboxOptions<T> bounded(int capacity, OverflowPolicy overflowPolicy) {
+        return new MailboxOptions<>(capacity, overflowPolicy, null, null);
+    }
+
+    public MailboxOptions<T> coalescingBy(Function<? super T, ?> key) {
+        return new MailboxOptions<>(capacity, overflowPolicy, Objects.requireNonNull(key, "key"), overflowHandler);
+    }
+
+    public MailboxOptions<T> coalescingByType() {
+        return coalescingBy(Object::getClass);
+    }
+
+    // Runs on the publishing thread each time an event is dropped; subscribers that apply deltas use it
+    // to schedule a full reload, since the dropped event is gone for good.
+    public MailboxOptions<T> onOverflow(Runnable handler) {
+        return new MailboxOptions<>(capacity, overflowPolicy, coalesceKey, Objects.requireNonNull(handler, "handler"));
+    }
+}
@@ -0,0 +1,12 @@
+package com.todo.desktop.domain.event;
+
+import com.todo.desktop.domain.model.EmailMessage;
+
+import java.util.List;
+
+public record MessagesAddedEvent(List<EmailMessage> messages) implements MailboxEvent {
+
+    public MessagesAddedEvent {
+        messages = List.copyOf(messages);
+    }
+}
@@ -0,0 +1,12 @@
+package com.todo.desktop.domain.event;
+
+import com.todo.desktop.domain.model.EmailMessage;
+
+import java.util.List;
+
+public record MessagesLoadedEvent(List<EmailMessage> messages) implements DomainEvent {
+
+    public MessagesLoadedEvent {
+        messages = List.copyOf(messages);
+    }
+}
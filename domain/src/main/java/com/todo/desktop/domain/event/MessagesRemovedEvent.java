@@ -0,0 +1,10 @@
+package com.todo.desktop.domain.event;
+
+import java.util.List;
+
+public record MessagesRemovedEvent(List<String> messageIds) implements MailboxEvent {
+
+    public MessagesRemovedEvent {
+        messageIds = List.copyOf(messageIds);
+    }
+}
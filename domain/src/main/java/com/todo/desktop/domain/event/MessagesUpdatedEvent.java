@@ -0,0 +1,12 @@
+package com.todo.desktop.domain.event;
+
+import com.todo.desktop.domain.model.EmailMessage;
+
+import java.util.List;
+
+public record MessagesUpdatedEvent(List<EmailMessage> messages) implements MailboxEvent {
+
+    public MessagesUpdatedEvent {
+        messages = List.copyOf(messages);
+    }
+}
@@ -0,0 +1,7 @@
+package com.todo.desktop.domain.event;
+
+// Either way the dropped event is counted and reported through MailboxOptions.onOverflow; publish never throws.
+public enum OverflowPolicy {
+    DROP_OLDEST,
+    DROP_NEWEST
+}
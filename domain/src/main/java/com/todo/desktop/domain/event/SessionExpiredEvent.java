@@ -0,0 +1,5 @@
+package com.todo.desktop.domain.event;
+
+// The stored session was rejected by the server and the user has been signed out without asking.
+public record SessionExpiredEvent() implements SessionEvent {
+}
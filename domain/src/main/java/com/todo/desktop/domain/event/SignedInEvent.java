@@ -0,0 +1,12 @@
+package com.todo.desktop.domain.event;
+
+import com.todo.desktop.domain.model.UserProfile;
+
+import java.util.Objects;
+
+public record SignedInEvent(UserProfile user) implements SessionEvent {
+
+    public SignedInEvent {
+        Objects.requireNonNull(user, "user");
+    }
+}
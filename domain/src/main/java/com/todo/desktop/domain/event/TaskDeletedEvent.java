@@ -0,0 +1,10 @@
+package com.todo.desktop.domain.event;
+
+import java.util.Objects;
+
+public record TaskDeletedEvent(String taskId) implements PlannerEvent {
+
+    public TaskDeletedEvent {
+        Objects.requireNonNull(taskId, "taskId");
+    }
+}
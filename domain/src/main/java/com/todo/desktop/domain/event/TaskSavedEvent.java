@@ -0,0 +1,12 @@
+package com.todo.desktop.domain.event;
+
+import com.todo.desktop.domain.model.Task;
+
+import java.util.Objects;
+
+public record TaskSavedEvent(Task task) implements PlannerEvent {
+
+    public TaskSavedEvent {
+        Objects.requireNonNull(task, "task");
+    }
+}
@@ -2,5 +2,5 @@ package com.todo.desktop.domain.event;
 
 import com.todo.desktop.domain.model.Task;
 
-public record TaskSyncedEvent(Task task) implements DomainEvent {
+public record TaskSyncedEvent(Task task) implements PlannerEvent {
 }
@@ -0,0 +1,12 @@
+package com.todo.desktop.domain.event;
+
+import com.todo.desktop.domain.model.Task;
+
+import java.util.List;
+
+public record TasksLoadedEvent(List<Task> tasks) implements DomainEvent {
+
+    public TasksLoadedEvent {
+        tasks = List.copyOf(tasks);
+    }
+}
@@ -0,0 +1,40 @@
+package com.todo.desktop.domain.metrics;
+
+import com.todo.desktop.domain.model.UserProfile;
+import com.todo.desktop.domain.usecase.AuthService;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+public final class MeteredAuthService implements AuthService {
+
+    private final AuthService delegate;
+    private final MetricsRegistry metrics;
+
+    public MeteredAuthService(AuthService delegate, MetricsRegistry metrics) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate");
+        this.metrics = Objects.requireNonNull(metrics, "metrics");
+    }
+
+    // Read on every render and sync tick from a field in memory; timing it would only add noise.
+    @Override
+    public Optional<UserProfile> currentUser() {
+        return delegate.currentUser();
+    }
+
+    @Override
+    public CompletableFuture<UserProfile> signInWithPassword(String email, String password) {
+        return metrics.timeAsync("auth.signInWithPassword", () -> delegate.signInWithPassword(email, password));
+    }
+
+    @Override
+    public CompletableFuture<UserProfile> register(String email, String password, String displayName) {
+        return metrics.timeAsync("auth.register", () -> delegate.register(email, password, displayName));
+    }
+
+    @Override
+    public CompletableFuture<Void> signOut() {
+        return metrics.timeAsync("auth.signOut", delegate::signOut);
+    }
+}
@@ -0,0 +1,34 @@
+package com.todo.desktop.domain.metrics;
+
+import com.todo.desktop.domain.model.Deadline;
+import com.todo.desktop.domain.usecase.DeadlineService;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+
+public final class MeteredDeadlineService implements DeadlineService {
+
+    private final DeadlineService delegate;
+    private final MetricsRegistry metrics;
+
+    public MeteredDeadlineService(DeadlineService delegate, MetricsRegistry metrics) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate");
+        this.metrics = Objects.requireNonNull(metrics, "metrics");
+    }
+
+    @Override
+    public CompletableFuture<List<Deadline>> listDeadlines() {
+        return metrics.timeAsync("deadline.listDeadlines", delegate::listDeadlines);
+    }
+
+    @Override
+    public CompletableFuture<Deadline> saveDeadline(Deadline deadline) {
+        return metrics.timeAsync("deadline.saveDeadline", () -> delegate.saveDeadline(deadline));
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteDeadline(String deadlineId) {
+        return metrics.timeAsync("deadline.deleteDeadline", () -> delegate.deleteDeadline(deadlineId));
+    }
+}
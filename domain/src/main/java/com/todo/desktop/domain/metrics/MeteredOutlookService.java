@@ -0,0 +1,101 @@
+package com.todo.desktop.domain.metrics;
+
+import com.todo.desktop.domain.model.EmailMessage;
+import com.todo.desktop.domain.usecase.OutlookService;
+
+import java.io.File;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+
+// Overloads share one timer, since they are the same call to Graph.
+public final class MeteredOutlookService implements OutlookService {
+
+    private final OutlookService delegate;
+    private final MetricsRegistry metrics;
+
+    public MeteredOutlookService(OutlookService delegate, MetricsRegistry metrics) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate");
+        this.metrics = Objects.requireNonNull(metrics, "metrics");
+    }
+
+    @Override
+    public CompletableFuture<Void> connectOutlook() {
+        return metrics.timeAsync("outlook.connectOutlook", delegate::connectOutlook);
+    }
+
+    @Override
+    public CompletableFuture<Void> sendEmail(String toEmail, String subject, String body) {
+        return metrics.timeAsync("outlook.sendEmail", () -> delegate.sendEmail(toEmail, subject, body));
+    }
+
+    @Override
+    public CompletableFuture<Void> sendEmailWithAttachments(String toEmail, String subject, String body, List<File> attachments) {
+        return metrics.timeAsync("outlook.sendEmail", () -> delegate.sendEmailWithAttachments(toEmail, subject, body, attachments));
+    }
+
+    @Override
+    public CompletableFuture<List<EmailMessage>> getInboxMessages(int top) {
+        return metrics.timeAsync("outlook.getInboxMessages", () -> delegate.getInboxMessages(top));
+    }
+
+    @Override
+    public CompletableFuture<List<EmailMessage>> getInboxMessages(int top, int skip) {
+        return metrics.timeAsync("outlook.getInboxMessages", () -> delegate.getInboxMessages(top, skip));
+    }
+
+    @Override
+    public CompletableFuture<EmailMessage> getMessageById(String messageId) {
+        return metrics.timeAsync("outlook.getMessageById", () -> delegate.getMessageById(messageId));
+    }
+
+    @Override
+    public CompletableFuture<EmailMessage> getMessageById(String messageId, boolean plainTextBody) {
+        return metrics.timeAsync("outlook.getMessageById", () -> delegate.getMessageById(messageId, plainTextBody));
+    }
+
+    @Override
+    public CompletableFuture<byte[]> downloadAttachment(String messageId, String attachmentId) {
+        return metrics.timeAsync("outlook.downloadAttachment", () -> delegate.downloadAttachment(messageId, attachmentId));
+    }
+
+    @Override
+    public CompletableFuture<byte[]> getContactPhoto(String emailAddress) {
+        return metrics.timeAsync("outlook.getContactPhoto", () -> delegate.getContactPhoto(emailAddress));
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteMessage(String messageId) {
+        return metrics.timeAsync("outlook.deleteMessage", () -> delegate.deleteMessage(messageId));
+    }
+
+    @Override
+    public CompletableFuture<Void> reply(String messageId, String comment) {
+        return metrics.timeAsync("outlook.reply", () -> delegate.reply(messageId, comment));
+    }
+
+    @Override
+    public CompletableFuture<Void> forward(String messageId, String toEmail, String comment) {
+        return metrics.timeAsync("outlook.forward", () -> delegate.forward(messageId, toEmail, comment));
+    }
+
+    @Override
+    public boolean isConnected() {
+        MetricsRegistry.Timer timer = metrics.timer("outlook.isConnected");
+        long started = System.nanoTime();
+        boolean connected = delegate.isConnected();
+        timer.record(System.nanoTime() - started, true);
+        return connected;
+    }
+
+    @Override
+    public boolean canLoadContactPhotos() {
+        return delegate.canLoadContactPhotos();
+    }
+
+    @Override
+    public void disconnect() {
+        metrics.increment("outlook.disconnect");
+        delegate.disconnect();
+    }
+}
@@ -0,0 +1,34 @@
+package com.todo.desktop.domain.metrics;
+
+import com.todo.desktop.domain.model.Task;
+import com.todo.desktop.domain.usecase.TaskService;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+
+public final class MeteredTaskService implements TaskService {
+
+    private final TaskService delegate;
+    private final MetricsRegistry metrics;
+
+    public MeteredTaskService(TaskService delegate, MetricsRegistry metrics) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate");
+        this.metrics = Objects.requireNonNull(metrics, "metrics");
+    }
+
+    @Override
+    public CompletableFuture<List<Task>> listTasks() {
+        return metrics.timeAsync("task.listTasks", delegate::listTasks);
+    }
+
+    @Override
+    public CompletableFuture<Task> saveTask(Task task) {
+        return metrics.timeAsync("task.saveTask", () -> delegate.saveTask(task));
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteTask(String taskId) {
+        return metrics.timeAsync("task.deleteTask", () -> delegate.deleteTask(taskId));
+    }
+}
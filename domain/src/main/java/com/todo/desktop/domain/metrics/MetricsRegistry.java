@@ -0,0 +1,100 @@
+package com.todo.desktop.domain.metrics;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+// Named counters, timers and gauges for the whole app. Metrics are created on first use and live as
+// long as the registry; recording never blocks, so it is safe on the FX thread and in hot paths.
+public final class MetricsRegistry {
+
+    private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<String, LongSupplier> gauges = new ConcurrentHashMap<>();
+
+    public void increment(String name) {
+        add(name, 1);
+    }
+
+    public void add(String name, long delta) {
+        counters.computeIfAbsent(Objects.requireNonNull(name, "name"), key -> new LongAdder()).add(delta);
+    }
+
+    public Timer timer(String name) {
+        return timers.computeIfAbsent(Objects.requireNonNull(name, "name"), key -> new Timer());
+    }
+
+    public void gauge(String name, LongSupplier value) {
+        gauges.put(Objects.requireNonNull(name, "name"), Objects.requireNonNull(value, "value"));
+    }
+
+    // Times an async call from the moment it is started until its future settles. The caller gets the
+    // original future back, so cancelling it still reaches the underlying request.
+    public <T> CompletableFuture<T> timeAsync(String name, Supplier<CompletableFuture<T>> call) {
+        Timer timer = timer(name);
+        long started = System.nanoTime();
+        CompletableFuture<T> future;
+        try {
+            future = call.get();
+        } catch (RuntimeException e) {
+            timer.record(System.nanoTime() - started, false);
+            throw e;
+        }
+        future.whenComplete((value, ex) -> timer.record(System.nanoTime() - started, ex == null));
+        return future;
+    }
+
+    public Snapshot snapshot() {
+        Map<String, Long> counterValues = new TreeMap<>();
+        counters.forEach((name, counter) -> counterValues.put(name, counter.sum()));
+        Map<String, Long> gaugeValues = new TreeMap<>();
+        gauges.forEach((name, gauge) -> {
+            try {
+                gaugeValues.put(name, gauge.getAsLong());
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        });
+        Map<String, TimerSnapshot> timerValues = new TreeMap<>();
+        timers.forEach((name, timer) -> timerValues.put(name, timer.snapshot()));
+        return new Snapshot(
+                Instant.now(),
+                Collections.unmodifiableMap(counterValues),
+                Collections.unmodifiableMap(gaugeValues),
+                Collections.unmodifiableMap(timerValues)
+        );
+    }
+
+    public static final class Timer {
+
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder failures = new LongAdder();
+
+        private Timer() {
+        }
+
+        public void record(long nanos, boolean succeeded) {
+            latency.record(nanos);
+            if (!succeeded) {
+                failures.increment();
+            }
+        }
+
+        public TimerSnapshot snapshot() {
+            return new TimerSnapshot(latency.snapshot(), failures.sum());
+        }
+    }
+
+    public record TimerSnapshot(LatencyHistogram.Snapshot latency, long failures) {
+    }
+
+    public record Snapshot(Instant takenAt, Map<String, Long> counters, Map<String, Long> gauges, Map<String, TimerSnapshot> timers) {
+    }
+}
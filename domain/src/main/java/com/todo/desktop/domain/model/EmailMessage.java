@@ -14,6 +14,7 @@ public record EmailMessage(
         boolean isRead,
         boolean hasAttachments,
         Instant receivedDateTime,
-        List<EmailAttachment> attachments
+        List<EmailAttachment> attachments,
+        String changeKey
 ) {
 }
@@ -12,10 +12,13 @@ public interface OutlookService {
     CompletableFuture<List<EmailMessage>> getInboxMessages(int top);
     CompletableFuture<List<EmailMessage>> getInboxMessages(int top, int skip);
     CompletableFuture<EmailMessage> getMessageById(String messageId);
+    CompletableFuture<EmailMessage> getMessageById(String messageId, boolean plainTextBody);
     CompletableFuture<byte[]> downloadAttachment(String messageId, String attachmentId);
+    CompletableFuture<byte[]> getContactPhoto(String emailAddress);
     CompletableFuture<Void> deleteMessage(String messageId);
     CompletableFuture<Void> reply(String messageId, String comment);
     CompletableFuture<Void> forward(String messageId, String toEmail, String comment);
     boolean isConnected();
+    boolean canLoadContactPhotos();
     void disconnect();
 }
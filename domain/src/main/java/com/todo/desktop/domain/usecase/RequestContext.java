@@ -0,0 +1,31 @@
+package com.todo.desktop.domain.usecase;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+public final class RequestContext {
+
+    private static final ThreadLocal<RequestPriority> PRIORITY = ThreadLocal.withInitial(() -> RequestPriority.INTERACTIVE);
+
+    private RequestContext() {
+    }
+
+    public static RequestPriority currentPriority() {
+        return PRIORITY.get();
+    }
+
+    public static <T> T withPriority(RequestPriority priority, Supplier<T> call) {
+        Objects.requireNonNull(priority, "priority");
+        RequestPriority previous = PRIORITY.get();
+        PRIORITY.set(priority);
+        try {
+            return call.get();
+        } finally {
+            PRIORITY.set(previous);
+        }
+    }
+
+    public static <T> T inBackground(Supplier<T> call) {
+        return withPriority(RequestPriority.BACKGROUND, call);
+    }
+}
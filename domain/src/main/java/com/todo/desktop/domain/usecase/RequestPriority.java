@@ -0,0 +1,6 @@
+package com.todo.desktop.domain.usecase;
+
+public enum RequestPriority {
+    INTERACTIVE,
+    BACKGROUND
+}
@@ -0,0 +1,149 @@
+package com.todo.desktop.domain.event;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EventBusTest {
+
+    private final EventBus bus = new EventBus();
+
+    @Test
+    void supertypeListenersReceiveSubtypeEvents() {
+        List<DomainEvent> all = new ArrayList<>();
+        List<PlannerEvent> planner = new ArrayList<>();
+        List<TaskDeletedEvent> deleted = new ArrayList<>();
+        bus.register(DomainEvent.class, all::add);
+        bus.register(PlannerEvent.class, planner::add);
+        bus.register(TaskDeletedEvent.class, deleted::add);
+
+        TaskDeletedEvent event = new TaskDeletedEvent("t1");
+        bus.publish(event);
+        bus.publish(new SignedOutEvent());
+
+        assertEquals(List.of(event, new SignedOutEvent()), all);
+        assertEquals(List.of(event), planner);
+        assertEquals(List.of(event), deleted);
+    }
+
+    @Test
+    void listenerMatchedThroughSeveralSupertypesIsCalledOnce() {
+        AtomicInteger calls = new AtomicInteger();
+        bus.register(DomainEvent.class, event -> calls.incrementAndGet());
+
+        bus.publish(new PlannerMailEvent());
+        bus.publish(new PlannerMailEvent());
+
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void registeringAfterAPublishInvalidatesTheCachedTargets() {
+        List<String> late = new ArrayList<>();
+        bus.publish(new TaskDeletedEvent("t1"));
+
+        bus.register(PlannerEvent.class, event -> late.add(((TaskDeletedEvent) event).taskId()));
+        bus.publish(new TaskDeletedEvent("t2"));
+
+        assertEquals(List.of("t2"), late);
+    }
+
+    @Test
+    void unregisteringAfterAPublishInvalidatesTheCachedTargets() {
+        List<String> received = new ArrayList<>();
+        Consumer<TaskDeletedEvent> listener = event -> received.add(event.taskId());
+        bus.register(TaskDeletedEvent.class, listener);
+        bus.publish(new TaskDeletedEvent("t1"));
+
+        bus.unregister(TaskDeletedEvent.class, listener);
+        bus.publish(new TaskDeletedEvent("t2"));
+
+        assertEquals(List.of("t1"), received);
+    }
+
+    @Test
+    void unregisterOnlyRemovesTheGivenTypeRegistration() {
+        List<String> received = new ArrayList<>();
+        Consumer<DomainEvent> listener = event -> received.add(event.getClass().getSimpleName());
+        bus.register(PlannerEvent.class, listener);
+        bus.register(SessionEvent.class, listener);
+
+        bus.unregister(PlannerEvent.class, listener);
+        bus.publish(new TaskDeletedEvent("t1"));
+        bus.publish(new SignedOutEvent());
+
+        assertEquals(List.of("SignedOutEvent"), received);
+    }
+
+    @Test
+    void registerRacingWithDispatchIsSeenByTheNextPublish() throws InterruptedException {
+        AtomicBoolean running = new AtomicBoolean(true);
+        List<Thread> publishers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Thread publisher = new Thread(() -> {
+                while (running.get()) {
+                    bus.publish(new TaskDeletedEvent("nền"));
+                }
+            });
+            publisher.start();
+            publishers.add(publisher);
+        }
+        try {
+            for (int i = 0; i < 20_000; i++) {
+                AtomicBoolean seen = new AtomicBoolean();
+                Consumer<TaskDeletedEvent> listener = event -> {
+                    if (event.taskId().equals("kiểm tra")) {
+                        seen.set(true);
+                    }
+                };
+                bus.register(TaskDeletedEvent.class, listener);
+                bus.publish(new TaskDeletedEvent("kiểm tra"));
+                assertTrue(seen.get(), "listener vừa đăng ký phải nhận sự kiện ở lần " + i);
+                bus.unregister(TaskDeletedEvent.class, listener);
+            }
+        } finally {
+            running.set(false);
+            for (Thread publisher : publishers) {
+                publisher.join();
+            }
+        }
+    }
+
+    @Test
+    void journalSeesEveryEventBeforeListeners() {
+        List<String> order = new ArrayList<>();
+        EventBus journaled = new EventBus(event -> order.add("journal"));
+        journaled.register(DomainEvent.class, event -> order.add("listener"));
+
+        journaled.publish(new SignedOutEvent());
+
+        assertEquals(List.of("journal", "listener"), order);
+    }
+
+    @Test
+    void unregisteringAnAsyncListenerDropsItsQueuedEvents() {
+        Queue<Runnable> tasks = new ArrayDeque<>();
+        List<String> received = new ArrayList<>();
+        Consumer<TaskDeletedEvent> listener = event -> received.add(event.taskId());
+        bus.registerAsync(TaskDeletedEvent.class, listener, tasks::add);
+
+        bus.publish(new TaskDeletedEvent("t1"));
+        bus.unregister(TaskDeletedEvent.class, listener);
+        bus.publish(new TaskDeletedEvent("t2"));
+        tasks.forEach(Runnable::run);
+
+        assertEquals(List.of(), received);
+    }
+
+    private record PlannerMailEvent() implements PlannerEvent, MailboxEvent {
+    }
+}
@@ -0,0 +1,204 @@
+package com.todo.desktop.domain.event;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MailboxTest {
+
+    private final ManualExecutor executor = new ManualExecutor();
+    private final List<String> delivered = new ArrayList<>();
+
+    @Test
+    void deliversInPublishOrderOnTheExecutor() {
+        Mailbox<TaskDeletedEvent> mailbox = mailbox(MailboxOptions.defaults());
+
+        mailbox.offer(new TaskDeletedEvent("a"));
+        mailbox.offer(new TaskDeletedEvent("b"));
+        assertEquals(List.of(), delivered);
+        assertEquals(1, executor.pending());
+
+        executor.runAll();
+        assertEquals(List.of("a", "b"), delivered);
+    }
+
+    @Test
+    void dropOldestKeepsTheNewestEventsAndCountsDrops() {
+        Mailbox<TaskDeletedEvent> mailbox = mailbox(MailboxOptions.bounded(2, OverflowPolicy.DROP_OLDEST));
+
+        for (String id : List.of("a", "b", "c", "d")) {
+            mailbox.offer(new TaskDeletedEvent(id));
+        }
+        executor.runAll();
+
+        assertEquals(List.of("c", "d"), delivered);
+        assertEquals(2, mailbox.dropped());
+    }
+
+    @Test
+    void dropNewestKeepsTheBacklogAndCountsDrops() {
+        Mailbox<TaskDeletedEvent> mailbox = mailbox(MailboxOptions.bounded(2, OverflowPolicy.DROP_NEWEST));
+
+        for (String id : List.of("a", "b", "c", "d")) {
+            mailbox.offer(new TaskDeletedEvent(id));
+        }
+        executor.runAll();
+
+        assertEquals(List.of("a", "b"), delivered);
+        assertEquals(2, mailbox.dropped());
+    }
+
+    @Test
+    void overflowHandlerRunsForEveryDropAndMayThrow() {
+        AtomicInteger overflows = new AtomicInteger();
+        Mailbox<TaskDeletedEvent> mailbox = mailbox(MailboxOptions.<TaskDeletedEvent>bounded(1, OverflowPolicy.DROP_OLDEST)
+                .onOverflow(() -> {
+                    overflows.incrementAndGet();
+                    throw new IllegalStateException("handler lỗi");
+                }));
+
+        mailbox.offer(new TaskDeletedEvent("a"));
+        mailbox.offer(new TaskDeletedEvent("b"));
+        mailbox.offer(new TaskDeletedEvent("c"));
+        executor.runAll();
+
+        assertEquals(2, overflows.get());
+        assertEquals(List.of("c"), delivered);
+    }
+
+    @Test
+    void coalescingReplacesThePendingEventInPlace() {
+        Mailbox<TaskDeletedEvent> mailbox = mailbox(MailboxOptions.<TaskDeletedEvent>defaults()
+                .coalescingBy(event -> event.taskId().substring(0, 1)));
+
+        mailbox.offer(new TaskDeletedEvent("a1"));
+        mailbox.offer(new TaskDeletedEvent("b1"));
+        mailbox.offer(new TaskDeletedEvent("a2"));
+        executor.runAll();
+
+        assertEquals(List.of("a2", "b1"), delivered);
+        assertEquals(0, mailbox.dropped());
+    }
+
+    @Test
+    void coalescingStartsAFreshSlotOnceTheEventWasDelivered() {
+        Mailbox<TaskDeletedEvent> mailbox = mailbox(MailboxOptions.<TaskDeletedEvent>defaults().coalescingByType());
+
+        mailbox.offer(new TaskDeletedEvent("a"));
+        mailbox.offer(new TaskDeletedEvent("b"));
+        executor.runAll();
+        mailbox.offer(new TaskDeletedEvent("c"));
+        executor.runAll();
+
+        assertEquals(List.of("b", "c"), delivered);
+    }
+
+    @Test
+    void coalescedSlotDroppedOnOverflowDoesNotSwallowLaterEvents() {
+        Mailbox<TaskDeletedEvent> mailbox = mailbox(MailboxOptions.<TaskDeletedEvent>bounded(1, OverflowPolicy.DROP_OLDEST)
+                .coalescingBy(event -> event.taskId().substring(0, 1)));
+
+        mailbox.offer(new TaskDeletedEvent("a1"));
+        mailbox.offer(new TaskDeletedEvent("b1"));
+        mailbox.offer(new TaskDeletedEvent("a2"));
+        executor.runAll();
+
+        assertEquals(List.of("a2"), delivered);
+        assertEquals(2, mailbox.dropped());
+    }
+
+    @Test
+    void closeDiscardsTheBacklogAndLaterOffers() {
+        Mailbox<TaskDeletedEvent> mailbox = mailbox(MailboxOptions.defaults());
+
+        mailbox.offer(new TaskDeletedEvent("a"));
+        mailbox.close();
+        mailbox.offer(new TaskDeletedEvent("b"));
+        executor.runAll();
+
+        assertEquals(List.of(), delivered);
+    }
+
+    @Test
+    void consumerFailureDoesNotStopTheDrain() {
+        Mailbox<TaskDeletedEvent> mailbox = new Mailbox<>(TaskDeletedEvent.class, event -> {
+            if (event.taskId().equals("a")) {
+                throw new IllegalStateException("consumer lỗi");
+            }
+            delivered.add(event.taskId());
+        }, executor, MailboxOptions.defaults());
+
+        mailbox.offer(new TaskDeletedEvent("a"));
+        mailbox.offer(new TaskDeletedEvent("b"));
+        executor.runAll();
+
+        assertEquals(List.of("b"), delivered);
+    }
+
+    @Test
+    void largeBacklogIsDrainedInSeveralTasks() {
+        Mailbox<TaskDeletedEvent> mailbox = mailbox(MailboxOptions.defaults());
+
+        for (int i = 0; i < 200; i++) {
+            mailbox.offer(new TaskDeletedEvent("t" + i));
+        }
+        int tasks = executor.runAll();
+
+        assertEquals(200, delivered.size());
+        assertEquals(4, tasks);
+    }
+
+    @Test
+    void rejectedDrainIsRetriedOnTheNextOffer() {
+        executor.rejectNext = true;
+        Mailbox<TaskDeletedEvent> mailbox = mailbox(MailboxOptions.defaults());
+
+        mailbox.offer(new TaskDeletedEvent("a"));
+        assertEquals(0, executor.pending());
+        mailbox.offer(new TaskDeletedEvent("b"));
+        executor.runAll();
+
+        assertEquals(List.of("a", "b"), delivered);
+    }
+
+    private Mailbox<TaskDeletedEvent> mailbox(MailboxOptions<TaskDeletedEvent> options) {
+        return new Mailbox<>(TaskDeletedEvent.class, event -> delivered.add(event.taskId()), executor, options);
+    }
+
+    private static final class ManualExecutor implements Executor {
+
+        private final Queue<Runnable> tasks = new ArrayDeque<>();
+        private boolean rejectNext;
+
+        @Override
+        public void execute(Runnable task) {
+            if (rejectNext) {
+                rejectNext = false;
+                throw new RejectedExecutionException("executor đã dừng");
+            }
+            tasks.add(task);
+        }
+
+        int pending() {
+            return tasks.size();
+        }
+
+        int runAll() {
+            int ran = 0;
+            Runnable task;
+            while ((task = tasks.poll()) != null) {
+                task.run();
+                ran++;
+            }
+            return ran;
+        }
+    }
+}
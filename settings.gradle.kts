@@ -6,4 +6,5 @@ include(
     "domain",
     "data",
     "sync",
+    "benchmarks",
 )
@@ -0,0 +1,230 @@
+package com.todo.desktop.sync;
+
+import com.todo.desktop.domain.event.DeadlineChangedEvent;
+import com.todo.desktop.domain.event.DomainEvent;
+import com.todo.desktop.domain.event.EventBus;
+import com.todo.desktop.domain.event.PlannerEvent;
+import com.todo.desktop.domain.event.TaskDeletedEvent;
+import com.todo.desktop.domain.event.TaskSavedEvent;
+import com.todo.desktop.domain.event.TaskSyncedEvent;
+import com.todo.desktop.domain.model.Deadline;
+import com.todo.desktop.domain.model.Task;
+import com.todo.desktop.domain.model.UserProfile;
+import com.todo.desktop.domain.usecase.AuthService;
+import com.todo.desktop.domain.usecase.DeadlineService;
+import com.todo.desktop.domain.usecase.RequestContext;
+import com.todo.desktop.domain.usecase.TaskService;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+public final class SyncEngine implements AutoCloseable {
+
+    private static final Duration DEFAULT_FETCH_TIMEOUT = Duration.ofSeconds(30);
+
+    private final TaskService taskService;
+    private final DeadlineService deadlineService;
+    private final AuthService authService;
+    private final EventBus eventBus;
+    private final Duration fetchTimeout;
+    private final Consumer<PlannerEvent> localChangeListener = this::onLocalChange;
+
+    private final Map<String, Task> knownTasks = new HashMap<>();
+    private final Map<String, Deadline> knownDeadlines = new HashMap<>();
+    // Ids written locally, with the run counter current at the time of the write.
+    private final Map<String, Long> dirtyTasks = new HashMap<>();
+    private final Map<String, Long> dirtyDeadlines = new HashMap<>();
+    private final AtomicLong runCounter = new AtomicLong();
+    private final Object lock = new Object();
+
+    private String baselineUid;
+    private volatile SyncRunMetrics lastRun;
+    private volatile Consumer<SyncRunMetrics> metricsListener = metrics -> { };
+
+    public SyncEngine(TaskService taskService, DeadlineService deadlineService, AuthService authService, EventBus eventBus) {
+        this(taskService, deadlineService, authService, eventBus, DEFAULT_FETCH_TIMEOUT);
+    }
+
+    public SyncEngine(TaskService taskService, DeadlineService deadlineService, AuthService authService, EventBus eventBus, Duration fetchTimeout) {
+        this.fetchTimeout = Objects.requireNonNull(fetchTimeout, "fetchTimeout");
+        if (fetchTimeout.isNegative() || fetchTimeout.isZero()) {
+            throw new IllegalArgumentException("fetchTimeout phải > 0");
+        }
+        this.taskService = Objects.requireNonNull(taskService, "taskService");
+        this.deadlineService = Objects.requireNonNull(deadlineService, "deadlineService");
+        this.authService = Objects.requireNonNull(authService, "authService");
+        this.eventBus = Objects.requireNonNull(eventBus, "eventBus");
+        eventBus.register(PlannerEvent.class, localChangeListener);
+    }
+
+    public void seed(Collection<Task> tasks, Collection<Deadline> deadlines) {
+        synchronized (lock) {
+            knownTasks.clear();
+            knownDeadlines.clear();
+            tasks.forEach(task -> knownTasks.put(task.id(), task));
+            deadlines.forEach(deadline -> knownDeadlines.put(deadline.id(), deadline));
+            baselineUid = authService.currentUser().map(UserProfile::uid).orElse(null);
+        }
+    }
+
+    public void setMetricsListener(Consumer<SyncRunMetrics> listener) {
+        this.metricsListener = listener != null ? listener : metrics -> { };
+    }
+
+    public Optional<SyncRunMetrics> lastRun() {
+        return Optional.ofNullable(lastRun);
+    }
+
+    public synchronized SyncRunMetrics runOnce() {
+        Instant startedAt = Instant.now();
+        Optional<String> uid = authService.currentUser().map(UserProfile::uid);
+        if (uid.isEmpty()) {
+            return record(SyncRunMetrics.skipped(startedAt));
+        }
+        long startNanos = System.nanoTime();
+        long run = runCounter.incrementAndGet();
+
+        CompletableFuture<List<Task>> taskFuture = RequestContext.inBackground(taskService::listTasks);
+        CompletableFuture<List<Deadline>> deadlineFuture = RequestContext.inBackground(deadlineService::listDeadlines);
+        awaitFetches(taskFuture, deadlineFuture);
+        List<Task> remoteTasks = taskFuture.join();
+        List<Deadline> remoteDeadlines = deadlineFuture.join();
+        if (!uid.equals(authService.currentUser().map(UserProfile::uid))) {
+            return record(SyncRunMetrics.skipped(startedAt));
+        }
+
+        List<DomainEvent> changes = new ArrayList<>();
+        synchronized (lock) {
+            if (!uid.get().equals(baselineUid)) {
+                knownTasks.clear();
+                knownDeadlines.clear();
+                baselineUid = uid.get();
+            }
+            diffTasks(remoteTasks, run, changes);
+            diffDeadlines(remoteDeadlines, run, changes);
+            dirtyTasks.values().removeIf(writtenAt -> writtenAt < run);
+            dirtyDeadlines.values().removeIf(writtenAt -> writtenAt < run);
+        }
+        for (DomainEvent change : changes) {
+            eventBus.publish(change);
+        }
+
+        Duration duration = Duration.ofNanos(System.nanoTime() - startNanos);
+        return record(new SyncRunMetrics(startedAt, duration, remoteTasks.size() + remoteDeadlines.size(), changes.size(), false));
+    }
+
+    @Override
+    public void close() {
+        eventBus.unregister(PlannerEvent.class, localChangeListener);
+    }
+
+    private SyncRunMetrics record(SyncRunMetrics metrics) {
+        lastRun = metrics;
+        metricsListener.accept(metrics);
+        return metrics;
+    }
+
+    private void diffTasks(List<Task> remote, long run, List<DomainEvent> changes) {
+        Map<String, Task> remaining = new HashMap<>(knownTasks);
+        for (Task task : remote) {
+            remaining.remove(task.id());
+            if (isDirtySince(dirtyTasks, task.id(), run)) {
+                continue;
+            }
+            Task known = knownTasks.put(task.id(), task);
+            if (!task.equals(known)) {
+                changes.add(new TaskSyncedEvent(task));
+            }
+        }
+        for (String removedId : remaining.keySet()) {
+            if (isDirtySince(dirtyTasks, removedId, run)) {
+                continue;
+            }
+            knownTasks.remove(removedId);
+            changes.add(new TaskDeletedEvent(removedId));
+        }
+    }
+
+    private void diffDeadlines(List<Deadline> remote, long run, List<DomainEvent> changes) {
+        Map<String, Deadline> remaining = new HashMap<>(knownDeadlines);
+        for (Deadline deadline : remote) {
+            remaining.remove(deadline.id());
+            if (isDirtySince(dirtyDeadlines, deadline.id(), run)) {
+                continue;
+            }
+            Deadline known = knownDeadlines.put(deadline.id(), deadline);
+            if (!deadline.equals(known)) {
+                changes.add(DeadlineChangedEvent.saved(deadline));
+            }
+        }
+        for (String removedId : remaining.keySet()) {
+            if (isDirtySince(dirtyDeadlines, removedId, run)) {
+                continue;
+            }
+            knownDeadlines.remove(removedId);
+            changes.add(DeadlineChangedEvent.deleted(removedId));
+        }
+    }
+
+    // runOnce holds the engine's monitor while it waits, so a hung request must not wait forever. A timeout
+    // cancels both fetches and fails the run, which puts the scheduler into its retry backoff.
+    private void awaitFetches(CompletableFuture<?> taskFuture, CompletableFuture<?> deadlineFuture) {
+        try {
+            CompletableFuture.allOf(taskFuture, deadlineFuture).get(fetchTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            taskFuture.cancel(true);
+            deadlineFuture.cancel(true);
+            throw new IllegalStateException("Đồng bộ quá thời gian chờ " + fetchTimeout.toMillis() + " ms", e);
+        } catch (ExecutionException e) {
+            throw new CompletionException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            taskFuture.cancel(true);
+            deadlineFuture.cancel(true);
+            throw new CompletionException(e);
+        }
+    }
+
+    // A local write that landed while this run was fetching is newer than the fetched copy.
+    private static boolean isDirtySince(Map<String, Long> dirty, String id, long run) {
+        Long writtenAt = dirty.get(id);
+        return writtenAt != null && writtenAt >= run;
+    }
+
+    private void onLocalChange(PlannerEvent event) {
+        if (event instanceof TaskSyncedEvent) {
+            return;
+        }
+        long run = runCounter.get();
+        synchronized (lock) {
+            if (event instanceof TaskSavedEvent saved) {
+                knownTasks.put(saved.task().id(), saved.task());
+                dirtyTasks.put(saved.task().id(), run);
+            } else if (event instanceof TaskDeletedEvent deleted) {
+                knownTasks.remove(deleted.taskId());
+                dirtyTasks.put(deleted.taskId(), run);
+            } else if (event instanceof DeadlineChangedEvent changed) {
+                if (changed.removed()) {
+                    knownDeadlines.remove(changed.deadlineId());
+                } else {
+                    knownDeadlines.put(changed.deadlineId(), changed.deadline());
+                }
+                dirtyDeadlines.put(changed.deadlineId(), run);
+            }
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.todo.desktop.sync;
+
+import java.time.Duration;
+import java.time.Instant;
+
+public record SyncRunMetrics(
+        Instant startedAt,
+        Duration duration,
+        int documentsRead,
+        int changesApplied,
+        boolean skipped
+) {
+
+    public static SyncRunMetrics skipped(Instant startedAt) {
+        return new SyncRunMetrics(startedAt, Duration.ZERO, 0, 0, true);
+    }
+}
@@ -1,54 +1,188 @@
 package com.todo.desktop.sync;
 
-import org.quartz.JobDetail;
-import org.quartz.Scheduler;
-import org.quartz.SchedulerException;
-import org.quartz.Trigger;
-import org.quartz.TriggerBuilder;
-import org.quartz.impl.StdSchedulerFactory;
-
 import java.time.Duration;
-
-import static org.quartz.SimpleScheduleBuilder.simpleSchedule;
-import static org.quartz.TriggerBuilder.newTrigger;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 
 public final class SyncScheduler implements AutoCloseable {
 
-    private final Scheduler scheduler;
+    private static final Duration ACTIVE_INTERVAL = Duration.ofMinutes(1);
+    private static final Duration IDLE_AFTER = Duration.ofMinutes(3);
+    private static final Duration IDLE_INTERVAL = Duration.ofMinutes(5);
+    private static final Duration MAX_IDLE_INTERVAL = Duration.ofMinutes(30);
+    private static final Duration RETRY_INTERVAL = Duration.ofSeconds(30);
+    private static final Duration MAX_RETRY_INTERVAL = Duration.ofMinutes(15);
+    private static final Duration FOCUS_DEBOUNCE = Duration.ofSeconds(20);
+    private static final double JITTER = 0.2;
 
-    public SyncScheduler() {
-        try {
-            this.scheduler = StdSchedulerFactory.getDefaultScheduler();
-        } catch (SchedulerException e) {
-            throw new RuntimeException(e);
+    private final Runnable syncTask;
+    private final ScheduledExecutorService executor;
+    private final Object lock = new Object();
+
+    private volatile long lastActivityNanos = System.nanoTime();
+    private volatile boolean backedOff;
+    private volatile boolean minimized;
+
+    private ScheduledFuture<?> pending;
+    private long pendingDueNanos;
+    private long lastRunNanos = System.nanoTime();
+    private int idleRuns;
+    private int failures;
+    private boolean started;
+    private boolean running;
+    private boolean rerunRequested;
+    private boolean closed;
+
+    public SyncScheduler(Runnable syncTask) {
+        this.syncTask = Objects.requireNonNull(syncTask, "syncTask");
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "sync-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void start() {
+        synchronized (lock) {
+            if (started || closed) {
+                return;
+            }
+            started = true;
+            scheduleIn(ACTIVE_INTERVAL.toNanos());
         }
     }
 
-    public void schedule(JobDetail job, Duration every) {
-        Trigger trigger = newTrigger()
-                .withSchedule(simpleSchedule().withIntervalInMilliseconds(every.toMillis()).repeatForever())
-                .build();
-        try {
-            scheduler.scheduleJob(job, trigger);
-        } catch (SchedulerException e) {
-            throw new RuntimeException(e);
+    public void requestSync() {
+        synchronized (lock) {
+            if (!started || closed) {
+                return;
+            }
+            if (running) {
+                rerunRequested = true;
+            } else {
+                scheduleIn(0);
+            }
         }
     }
 
-    public void start() {
-        try {
-            scheduler.start();
-        } catch (SchedulerException e) {
-            throw new RuntimeException(e);
+    public void onUserActivity() {
+        long now = System.nanoTime();
+        lastActivityNanos = now;
+        if (!backedOff || minimized) {
+            return;
+        }
+        synchronized (lock) {
+            if (!started || closed || failures > 0) {
+                return;
+            }
+            idleRuns = 0;
+            backedOff = false;
+            long dueNanos = lastRunNanos + ACTIVE_INTERVAL.toNanos();
+            if (dueNanos < pendingDueNanos) {
+                scheduleIn(Math.max(0, dueNanos - now));
+            }
+        }
+    }
+
+    public void onFocusGained() {
+        long now = System.nanoTime();
+        lastActivityNanos = now;
+        synchronized (lock) {
+            if (now - lastRunNanos >= FOCUS_DEBOUNCE.toNanos()) {
+                requestSync();
+            }
+        }
+    }
+
+    public void setMinimized(boolean minimized) {
+        this.minimized = minimized;
+        if (!minimized) {
+            onFocusGained();
         }
     }
 
     @Override
     public void close() {
+        synchronized (lock) {
+            closed = true;
+            if (pending != null) {
+                pending.cancel(false);
+            }
+        }
+        executor.shutdown();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void runSync() {
+        synchronized (lock) {
+            running = true;
+        }
+        boolean succeeded;
         try {
-            scheduler.shutdown(true);
-        } catch (SchedulerException e) {
-            throw new RuntimeException(e);
+            syncTask.run();
+            succeeded = true;
+        } catch (RuntimeException e) {
+            succeeded = false;
+            synchronized (lock) {
+                if (failures == 0) {
+                    e.printStackTrace();
+                }
+            }
+        }
+        synchronized (lock) {
+            running = false;
+            lastRunNanos = System.nanoTime();
+            failures = succeeded ? 0 : failures + 1;
+            if (!closed) {
+                long delay = nextDelayNanos();
+                scheduleIn(rerunRequested && succeeded ? 0 : delay);
+                rerunRequested = false;
+            }
+        }
+    }
+
+    private long nextDelayNanos() {
+        if (failures > 0) {
+            backedOff = true;
+            return jitter(backoff(RETRY_INTERVAL, failures, MAX_RETRY_INTERVAL));
+        }
+        if (minimized) {
+            backedOff = true;
+            return jitter(MAX_IDLE_INTERVAL.toNanos());
+        }
+        if (System.nanoTime() - lastActivityNanos > IDLE_AFTER.toNanos()) {
+            idleRuns++;
+            backedOff = true;
+            return jitter(backoff(IDLE_INTERVAL, idleRuns, MAX_IDLE_INTERVAL));
+        }
+        idleRuns = 0;
+        backedOff = false;
+        return jitter(ACTIVE_INTERVAL.toNanos());
+    }
+
+    private static long backoff(Duration base, int attempt, Duration max) {
+        long delay = base.toNanos() << Math.min(attempt - 1, 16);
+        return Math.min(delay, max.toNanos());
+    }
+
+    private static long jitter(long delayNanos) {
+        double factor = 1 + ThreadLocalRandom.current().nextDouble(-JITTER, JITTER);
+        return (long) (delayNanos * factor);
+    }
+
+    private void scheduleIn(long delayNanos) {
+        if (pending != null) {
+            pending.cancel(false);
         }
+        pendingDueNanos = System.nanoTime() + delayNanos;
+        pending = executor.schedule(this::runSync, delayNanos, TimeUnit.NANOSECONDS);
     }
 }
@@ -1,23 +1,19 @@
 package com.todo.desktop.sync.job;
 
-import com.todo.desktop.domain.usecase.DeadlineService;
-import com.todo.desktop.domain.usecase.TaskService;
-import org.quartz.Job;
-import org.quartz.JobExecutionContext;
+import com.todo.desktop.sync.SyncEngine;
 
-public final class DeadlineSyncJob implements Job {
+import java.util.Objects;
 
-    private final DeadlineService deadlineService;
-    private final TaskService taskService;
+public final class DeadlineSyncJob implements Runnable {
 
-    public DeadlineSyncJob(DeadlineService deadlineService, TaskService taskService) {
-        this.deadlineService = deadlineService;
-        this.taskService = taskService;
+    private final SyncEngine syncEngine;
+
+    public DeadlineSyncJob(SyncEngine syncEngine) {
+        this.syncEngine = Objects.requireNonNull(syncEngine, "syncEngine");
     }
 
     @Override
-    public void execute(JobExecutionContext context) {
-        deadlineService.listDeadlines();
-        taskService.listTasks();
+    public void run() {
+        syncEngine.runOnce();
     }
 }
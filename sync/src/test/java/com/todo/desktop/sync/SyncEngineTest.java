@@ -0,0 +1,274 @@
+package com.todo.desktop.sync;
+
+import com.todo.desktop.domain.event.DeadlineChangedEvent;
+import com.todo.desktop.domain.event.DomainEvent;
+import com.todo.desktop.domain.event.EventBus;
+import com.todo.desktop.domain.event.PlannerEvent;
+import com.todo.desktop.domain.event.TaskDeletedEvent;
+import com.todo.desktop.domain.event.TaskSavedEvent;
+import com.todo.desktop.domain.event.TaskSyncedEvent;
+import com.todo.desktop.domain.model.Deadline;
+import com.todo.desktop.domain.model.Task;
+import com.todo.desktop.domain.model.UserProfile;
+import com.todo.desktop.domain.usecase.AuthService;
+import com.todo.desktop.domain.usecase.DeadlineService;
+import com.todo.desktop.domain.usecase.TaskService;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SyncEngineTest {
+
+    private final EventBus eventBus = new EventBus();
+    private final FakeTaskService tasks = new FakeTaskService();
+    private final FakeDeadlineService deadlines = new FakeDeadlineService();
+    private final FakeAuthService auth = new FakeAuthService();
+    private final List<DomainEvent> published = new ArrayList<>();
+
+    SyncEngineTest() {
+        eventBus.register(PlannerEvent.class, published::add);
+    }
+
+    @Test
+    void firstRunPublishesEveryRemoteDocument() {
+        tasks.remote = List.of(task("t1", "Một"), task("t2", "Hai"));
+        deadlines.remote = List.of(deadline("d1", "t1"));
+
+        SyncRunMetrics metrics = engine().runOnce();
+
+        assertEquals(new HashSet<>(List.of(
+                new TaskSyncedEvent(task("t1", "Một")),
+                new TaskSyncedEvent(task("t2", "Hai")),
+                DeadlineChangedEvent.saved(deadline("d1", "t1"))
+        )), new HashSet<>(published));
+        assertEquals(3, metrics.documentsRead());
+        assertEquals(3, metrics.changesApplied());
+    }
+
+    @Test
+    void unchangedRemoteAgainstTheSeedPublishesNothing() {
+        tasks.remote = List.of(task("t1", "Một"));
+        deadlines.remote = List.of(deadline("d1", "t1"));
+        SyncEngine engine = engine();
+        engine.seed(tasks.remote, deadlines.remote);
+
+        SyncRunMetrics metrics = engine.runOnce();
+
+        assertEquals(List.of(), published);
+        assertEquals(0, metrics.changesApplied());
+    }
+
+    @Test
+    void remoteEditsAndDeletesAreDiffedAgainstTheBaseline() {
+        SyncEngine engine = engine();
+        engine.seed(List.of(task("t1", "Một"), task("t2", "Hai")), List.of(deadline("d1", "t1")));
+        tasks.remote = List.of(task("t1", "Một (đã sửa)"));
+
+        engine.runOnce();
+
+        assertEquals(new HashSet<>(List.of(
+                new TaskSyncedEvent(task("t1", "Một (đã sửa)")),
+                new TaskDeletedEvent("t2"),
+                DeadlineChangedEvent.deleted("d1")
+        )), new HashSet<>(published));
+    }
+
+    @Test
+    void secondRunOnlyPublishesWhatChangedSinceTheFirst() {
+        SyncEngine engine = engine();
+        tasks.remote = List.of(task("t1", "Một"), task("t2", "Hai"));
+        engine.runOnce();
+        published.clear();
+
+        tasks.remote = List.of(task("t1", "Một"), task("t2", "Hai (đã sửa)"));
+        engine.runOnce();
+
+        assertEquals(List.of(new TaskSyncedEvent(task("t2", "Hai (đã sửa)"))), published);
+    }
+
+    @Test
+    void localSaveDuringTheFetchIsNotOverwrittenByTheStaleCopy() {
+        SyncEngine engine = engine();
+        engine.seed(List.of(task("t1", "Một")), List.of());
+        TaskSavedEvent localSave = new TaskSavedEvent(task("t1", "Một (sửa tại máy)"));
+        tasks.onList = () -> eventBus.publish(localSave);
+        tasks.remote = List.of(task("t1", "Một"));
+
+        engine.runOnce();
+
+        assertEquals(List.of(localSave), published);
+    }
+
+    @Test
+    void taskCreatedDuringTheFetchIsNotDeleted() {
+        SyncEngine engine = engine();
+        TaskSavedEvent localSave = new TaskSavedEvent(task("t9", "Mới"));
+        tasks.onList = () -> eventBus.publish(localSave);
+
+        engine.runOnce();
+
+        assertEquals(List.of(localSave), published);
+    }
+
+    @Test
+    void localWriteIsOnlyProtectedForTheRunItOverlapped() {
+        SyncEngine engine = engine();
+        engine.seed(List.of(task("t1", "Một")), List.of());
+        tasks.onList = () -> eventBus.publish(new TaskSavedEvent(task("t1", "Một (sửa tại máy)")));
+        tasks.remote = List.of(task("t1", "Một"));
+        engine.runOnce();
+        published.clear();
+
+        // The remote copy never picked up the write, so the next run reverts to it.
+        tasks.onList = () -> { };
+        engine.runOnce();
+
+        assertEquals(List.of(new TaskSyncedEvent(task("t1", "Một"))), published);
+    }
+
+    @Test
+    void switchingUsersDropsTheOldBaseline() {
+        SyncEngine engine = engine();
+        engine.seed(List.of(task("a1", "Của An")), List.of());
+        auth.user = new UserProfile("binh", null, "binh@contoso.com", null);
+        tasks.remote = List.of(task("b1", "Của Bình"));
+
+        engine.runOnce();
+
+        assertEquals(List.of(new TaskSyncedEvent(task("b1", "Của Bình"))), published);
+    }
+
+    @Test
+    void runWithoutASignedInUserIsSkipped() {
+        auth.user = null;
+        tasks.remote = List.of(task("t1", "Một"));
+
+        SyncRunMetrics metrics = engine().runOnce();
+
+        assertTrue(metrics.skipped());
+        assertEquals(List.of(), published);
+    }
+
+    @Test
+    void hungFetchTimesOutAndIsCancelled() {
+        CompletableFuture<List<Task>> hung = new CompletableFuture<>();
+        tasks.pending = hung;
+        SyncEngine engine = new SyncEngine(tasks, deadlines, auth, eventBus, Duration.ofMillis(50));
+
+        assertThrows(IllegalStateException.class, engine::runOnce);
+        assertTrue(hung.isCancelled());
+    }
+
+    @Test
+    void failedFetchFailsTheRun() {
+        tasks.pending = CompletableFuture.failedFuture(new IllegalStateException("mất kết nối"));
+
+        CompletionException failure = assertThrows(CompletionException.class, engine()::runOnce);
+        assertEquals("mất kết nối", failure.getCause().getMessage());
+    }
+
+    @Test
+    void closedEngineStopsTrackingLocalWrites() {
+        SyncEngine engine = engine();
+        engine.seed(List.of(task("t1", "Một")), List.of());
+        engine.close();
+        eventBus.publish(new TaskDeletedEvent("t1"));
+        published.clear();
+        tasks.remote = List.of(task("t1", "Một"));
+
+        engine.runOnce();
+
+        assertEquals(List.of(), published);
+    }
+
+    private SyncEngine engine() {
+        return new SyncEngine(tasks, deadlines, auth, eventBus);
+    }
+
+    private static Task task(String id, String title) {
+        return new Task(id, title, null, null, Task.TaskStatus.TODO, false);
+    }
+
+    private static Deadline deadline(String id, String taskId) {
+        return new Deadline(id, taskId, Instant.parse("2024-05-01T17:00:00Z"), "UTC", null);
+    }
+
+    private static final class FakeTaskService implements TaskService {
+
+        private List<Task> remote = List.of();
+        private CompletableFuture<List<Task>> pending;
+        private Runnable onList = () -> { };
+
+        @Override
+        public CompletableFuture<List<Task>> listTasks() {
+            onList.run();
+            return pending != null ? pending : CompletableFuture.completedFuture(remote);
+        }
+
+        @Override
+        public CompletableFuture<Task> saveTask(Task task) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public CompletableFuture<Void> deleteTask(String taskId) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private static final class FakeDeadlineService implements DeadlineService {
+
+        private List<Deadline> remote = List.of();
+
+        @Override
+        public CompletableFuture<List<Deadline>> listDeadlines() {
+            return CompletableFuture.completedFuture(remote);
+        }
+
+        @Override
+        public CompletableFuture<Deadline> saveDeadline(Deadline deadline) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public CompletableFuture<Void> deleteDeadline(String deadlineId) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private static final class FakeAuthService implements AuthService {
+
+        private UserProfile user = new UserProfile("an", null, "an@contoso.com", null);
+
+        @Override
+        public Optional<UserProfile> currentUser() {
+            return Optional.ofNullable(user);
+        }
+
+        @Override
+        public CompletableFuture<UserProfile> signInWithPassword(String email, String password) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public CompletableFuture<UserProfile> register(String email, String password, String displayName) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public CompletableFuture<Void> signOut() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -16,3 +16,21 @@ dependencies {
     testImplementation(platform("org.junit:junit-bom:5.10.0"))
     testImplementation("org.junit.jupiter:junit-jupiter")
 }
+
+// Compiles styles.css to JavaFX binary CSS; StyleManager picks up styles.bss next to the .css automatically.
+val compileStylesheets by tasks.registering(JavaExec::class) {
+    val source = layout.projectDirectory.file("src/main/resources/ui/styles.css")
+    val output = layout.buildDirectory.dir("generated/bss")
+    inputs.file(source)
+    outputs.dir(output)
+    classpath = sourceSets.main.get().compileClasspath
+    mainClass.set("com.sun.javafx.css.parser.Css2Bin")
+    args(source.asFile.absolutePath, output.get().file("ui/styles.bss").asFile.absolutePath)
+    doFirst {
+        output.get().dir("ui").asFile.mkdirs()
+    }
+}
+
+sourceSets.main {
+    resources.srcDir(compileStylesheets)
+}
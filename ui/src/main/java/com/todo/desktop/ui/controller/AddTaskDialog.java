@@ -0,0 +1,88 @@
+package com.todo.desktop.ui.controller;
+
+import com.todo.desktop.domain.model.Task;
+import javafx.scene.Node;
+import javafx.scene.control.ButtonType;
+import javafx.scene.control.DatePicker;
+import javafx.scene.control.Dialog;
+import javafx.scene.control.DialogPane;
+import javafx.scene.control.Label;
+import javafx.scene.control.TextArea;
+import javafx.scene.control.TextField;
+import javafx.scene.layout.VBox;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Optional;
+import java.util.UUID;
+
+// Built once in code and reused, so opening it costs neither an FXML parse nor a new scene graph.
+final class AddTaskDialog {
+
+    private final Dialog<Task> dialog = new Dialog<>();
+    private final TextField titleField = new TextField();
+    private final TextArea descriptionArea = new TextArea();
+    private final DatePicker dueDatePicker = new DatePicker();
+
+    AddTaskDialog() {
+        titleField.setPromptText("Ví dụ: Hoàn thành báo cáo...");
+        titleField.getStyleClass().add("text-field");
+        descriptionArea.setPromptText("Chi tiết công việc...");
+        descriptionArea.setPrefRowCount(3);
+        descriptionArea.setWrapText(true);
+        descriptionArea.getStyleClass().add("text-area");
+        dueDatePicker.setPromptText("Chọn ngày");
+        dueDatePicker.setMaxWidth(Double.MAX_VALUE);
+
+        Label header = new Label("Thêm Công Việc Mới");
+        header.getStyleClass().add("header-medium");
+        VBox content = new VBox(16,
+                header,
+                field("Tiêu đề", titleField),
+                field("Mô tả", descriptionArea),
+                field("Hạn chót", dueDatePicker));
+        content.setPrefWidth(400);
+
+        DialogPane pane = dialog.getDialogPane();
+        pane.getStylesheets().add(AddTaskDialog.class.getResource("/ui/styles.css").toExternalForm());
+        pane.getStyleClass().add("card");
+        pane.setContent(content);
+        pane.getButtonTypes().setAll(ButtonType.OK, ButtonType.CANCEL);
+
+        dialog.setTitle("Thêm công việc");
+        dialog.setResultConverter(this::toTask);
+    }
+
+    Optional<Task> showAndWait() {
+        titleField.clear();
+        descriptionArea.clear();
+        dueDatePicker.setValue(null);
+        titleField.requestFocus();
+        return dialog.showAndWait();
+    }
+
+    private Task toTask(ButtonType buttonType) {
+        if (buttonType != ButtonType.OK) {
+            return null;
+        }
+        String title = titleField.getText();
+        if (title == null || title.isBlank()) {
+            return null; // Validation could be better
+        }
+        LocalDate date = dueDatePicker.getValue();
+        Instant dueAt = date != null
+                ? date.atTime(23, 59).atZone(ZoneId.systemDefault()).toInstant()
+                : Instant.now().plus(Duration.ofDays(1)); // Default 1 day
+        // Generate ID here as Task record requires non-null ID
+        return new Task(UUID.randomUUID().toString(), title, descriptionArea.getText(), dueAt, Task.TaskStatus.TODO, false);
+    }
+
+    private static VBox field(String labelText, Node input) {
+        Label label = new Label(labelText);
+        label.getStyleClass().add("text-body");
+        label.setStyle("-fx-font-weight: bold;");
+        return new VBox(8, label, input);
+    }
+}
@@ -1,9 +1,23 @@
 package com.todo.desktop.ui.controller;
 
+import com.todo.desktop.domain.event.DeadlineChangedEvent;
+import com.todo.desktop.domain.event.EventBus;
+import com.todo.desktop.domain.event.EventProjection;
+import com.todo.desktop.domain.event.MailboxOptions;
+import com.todo.desktop.domain.event.PlannerEvent;
+import com.todo.desktop.domain.event.TaskDeletedEvent;
+import com.todo.desktop.domain.event.TaskSavedEvent;
+import com.todo.desktop.domain.event.TaskSyncedEvent;
 import com.todo.desktop.domain.model.Deadline;
 import com.todo.desktop.domain.model.Task;
 import com.todo.desktop.domain.usecase.DeadlineService;
 import com.todo.desktop.domain.usecase.TaskService;
+import com.todo.desktop.ui.util.DeadlineStatusClock;
+import com.todo.desktop.ui.util.FxBatch;
+import com.todo.desktop.ui.util.ListMerger;
+import com.todo.desktop.ui.util.TaskSearchIndex;
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.collections.transformation.FilteredList;
@@ -22,27 +36,43 @@ import javafx.scene.layout.StackPane;
 import javafx.scene.layout.VBox;
 import javafx.util.Callback;
 
-import java.time.Duration;
-import java.time.Instant;
 import java.time.ZoneId;
-import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public final class DeadlineOverviewController {
 
     private static final DateTimeFormatter DEADLINE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
+    private static final javafx.util.Duration SEARCH_DEBOUNCE = javafx.util.Duration.millis(150);
 
     private final ObservableList<Deadline> deadlines = FXCollections.observableArrayList();
     private final FilteredList<Deadline> filteredDeadlines = new FilteredList<>(deadlines);
     private final Map<String, Task> tasksById = new ConcurrentHashMap<>();
+    private final TaskSearchIndex searchIndex = new TaskSearchIndex();
+    private final DeadlineStatusClock statusClock = new DeadlineStatusClock();
+    private final Map<String, ZoneId> zonesById = new HashMap<>();
+    private final Map<String, String> dueTextById = new HashMap<>();
+    private final PauseTransition searchDebounce = new PauseTransition(SEARCH_DEBOUNCE);
+    private long searchGeneration;
+    private final FxBatch<PlannerEvent> plannerListener = new FxBatch<>(this::applyPlannerEvents);
+    private final AtomicBoolean reloadPending = new AtomicBoolean();
     private DeadlineService deadlineService;
     private TaskService taskService;
+    private EventBus eventBus;
+    private EventProjection warmState;
     private boolean initialized;
+    private AddTaskDialog addTaskDialog;
 
     @FXML
     private ListView<Deadline> deadlineList;
@@ -65,12 +95,45 @@ public final class DeadlineOverviewController {
         this.taskService = taskService;
     }
 
+    public void setEventBus(EventBus eventBus) {
+        if (this.eventBus != null) {
+            this.eventBus.unregister(PlannerEvent.class, plannerListener);
+        }
+        this.eventBus = eventBus;
+        if (eventBus != null) {
+            eventBus.registerAsync(PlannerEvent.class, plannerListener, Platform::runLater,
+                    MailboxOptions.<PlannerEvent>defaults().onOverflow(this::scheduleFullReload));
+        }
+    }
+
+    // A dropped event can't be replayed, so the list is rebuilt from the services instead of patched.
+    private void scheduleFullReload() {
+        if (reloadPending.compareAndSet(false, true)) {
+            Platform.runLater(() -> {
+                reloadPending.set(false);
+                loadDeadlinesIfReady();
+            });
+        }
+    }
+
+    public void setWarmState(EventProjection warmState) {
+        this.warmState = warmState;
+    }
+
+    public void dispose() {
+        searchDebounce.stop();
+        statusClock.clear();
+        setEventBus(null);
+        plannerListener.clear();
+    }
+
     @FXML
     private void initialize() {
         deadlineList.setItems(filteredDeadlines);
         deadlineList.setCellFactory(createCellFactory());
         if (searchField != null) {
-            searchField.textProperty().addListener((obs, oldValue, newValue) -> applySearchFilter(newValue));
+            searchDebounce.setOnFinished(event -> runSearch());
+            searchField.textProperty().addListener((obs, oldValue, newValue) -> searchDebounce.playFromStart());
         }
         
         if (placeholderViewController != null) {
@@ -79,6 +142,9 @@ public final class DeadlineOverviewController {
         }
         
         filteredDeadlines.addListener((javafx.collections.ListChangeListener<Deadline>) c -> updatePlaceholder());
+        deadlines.addListener(this::trackDeadlines);
+        statusClock.setOnChange(this::refreshRowsForDeadlines);
+        applyWarmState();
         
         initialized = true;
         loadDeadlinesIfReady();
@@ -98,56 +164,37 @@ public final class DeadlineOverviewController {
 
     @FXML
     public void onAddDeadline() {
-        try {
-            javafx.fxml.FXMLLoader loader = new javafx.fxml.FXMLLoader(getClass().getResource("/ui/add-task-dialog.fxml"));
-            javafx.scene.control.DialogPane dialogPane = loader.load();
-            
-            javafx.scene.control.Dialog<Task> dialog = new javafx.scene.control.Dialog<>();
-            dialog.setDialogPane(dialogPane);
-            dialog.setTitle("Thêm công việc");
-            
-            // Lookup controls
-            TextField titleField = (TextField) dialogPane.lookup("#titleField");
-            javafx.scene.control.TextArea descriptionArea = (javafx.scene.control.TextArea) dialogPane.lookup("#descriptionArea");
-            javafx.scene.control.DatePicker dueDatePicker = (javafx.scene.control.DatePicker) dialogPane.lookup("#dueDatePicker");
-            
-            dialog.setResultConverter(buttonType -> {
-                if (buttonType == javafx.scene.control.ButtonType.OK) {
-                    String title = titleField.getText();
-                    String desc = descriptionArea.getText();
-                    java.time.LocalDate date = dueDatePicker.getValue();
-                    
-                    if (title == null || title.isBlank()) {
-                        return null; // Validation could be better
-                    }
-                    
-                    Instant dueAt = date != null 
-                        ? date.atTime(23, 59).atZone(ZoneId.systemDefault()).toInstant()
-                        : Instant.now().plus(Duration.ofDays(1)); // Default 1 day
-                        
-                    // Generate ID here as Task record requires non-null ID
-                    String newId = java.util.UUID.randomUUID().toString();
-                    return new Task(newId, title, desc, dueAt, Task.TaskStatus.TODO, false);
-                }
-                return null;
-            });
-            
-            dialog.showAndWait().ifPresent(task -> {
-                if (taskService != null) {
-                    taskService.saveTask(task)
-                        .thenRun(() -> javafx.application.Platform.runLater(this::loadDeadlinesIfReady));
-                }
-            });
-            
-        } catch (java.io.IOException e) {
-            e.printStackTrace();
+        if (addTaskDialog == null) {
+            addTaskDialog = new AddTaskDialog();
         }
+        addTaskDialog.showAndWait().ifPresent(task -> {
+            if (taskService != null) {
+                // The saved task comes back as a TaskSavedEvent and only its rows are refreshed.
+                taskService.saveTask(task)
+                    .exceptionally(ex -> {
+                        ex.printStackTrace();
+                        return null;
+                    });
+            }
+        });
     }
 
     private Callback<ListView<Deadline>, ListCell<Deadline>> createCellFactory() {
         return listView -> new DeadlineCell();
     }
 
+    private void applyWarmState() {
+        if (warmState == null || warmState.isEmpty()) {
+            return;
+        }
+        warmState.tasks().forEach(task -> tasksById.put(task.id(), task));
+        searchIndex.replaceAll(warmState.tasks());
+        List<Deadline> cached = new ArrayList<>(warmState.deadlines());
+        cached.sort(Comparator.comparing(Deadline::dueAt));
+        deadlines.setAll(cached);
+        updatePlaceholder();
+    }
+
     private void loadDeadlinesIfReady() {
         if (!initialized || deadlineService == null) {
             return;
@@ -158,10 +205,12 @@ public final class DeadlineOverviewController {
         deadlineFuture.thenCombine(taskFuture, (deadlineList, taskList) -> {
                     tasksById.clear();
                     taskList.forEach(task -> tasksById.put(task.id(), task));
+                    searchIndex.replaceAll(taskList);
                     return deadlineList;
                 })
                 .thenAccept(list -> javafx.application.Platform.runLater(() -> {
                     deadlines.setAll(list);
+                    rerunActiveSearch();
                     updatePlaceholder();
                 }))
                 .exceptionally(ex -> {
@@ -170,20 +219,144 @@ public final class DeadlineOverviewController {
                 });
     }
 
-    private void applySearchFilter(String query) {
-        String normalized = query == null ? "" : query.trim().toLowerCase();
-        if (normalized.isEmpty()) {
-            filteredDeadlines.setPredicate(deadline -> true);
+    // One pass per mailbox drain: a first sync emits an event per task, and patching the list per event
+    // would scan it once each time.
+    private void applyPlannerEvents(List<PlannerEvent> events) {
+        Set<String> changedTaskIds = new HashSet<>();
+        Map<String, DeadlineChangedEvent> deadlineChanges = new LinkedHashMap<>();
+        for (PlannerEvent event : events) {
+            if (event instanceof TaskSavedEvent saved) {
+                applyTaskChange(saved.task());
+                changedTaskIds.add(saved.task().id());
+            } else if (event instanceof TaskSyncedEvent synced) {
+                applyTaskChange(synced.task());
+                changedTaskIds.add(synced.task().id());
+            } else if (event instanceof TaskDeletedEvent deleted) {
+                tasksById.remove(deleted.taskId());
+                searchIndex.remove(deleted.taskId());
+                changedTaskIds.add(deleted.taskId());
+            } else if (event instanceof DeadlineChangedEvent changed) {
+                deadlineChanges.put(changed.deadlineId(), changed);
+            }
+        }
+        if (!deadlineChanges.isEmpty()) {
+            applyDeadlineChanges(deadlineChanges);
+        }
+        if (!changedTaskIds.isEmpty()) {
+            refreshRowsForTasks(changedTaskIds);
+            rerunActiveSearch();
+        }
+        updatePlaceholder();
+    }
+
+    private void applyTaskChange(Task task) {
+        tasksById.put(task.id(), task);
+        searchIndex.put(task);
+    }
+
+    private void trackDeadlines(javafx.collections.ListChangeListener.Change<? extends Deadline> change) {
+        while (change.next()) {
+            for (Deadline removed : change.getRemoved()) {
+                statusClock.untrack(removed.id());
+                dueTextById.remove(removed.id());
+            }
+            for (Deadline added : change.getAddedSubList()) {
+                statusClock.track(added.id(), added.dueAt());
+                dueTextById.put(added.id(), "Hết hạn: " + added.dueAt().atZone(zoneOf(added)).format(DEADLINE_FORMATTER));
+            }
+        }
+    }
+
+    private ZoneId zoneOf(Deadline deadline) {
+        String zone = deadline.timeZoneId();
+        if (zone == null || zone.isBlank()) {
+            return ZoneId.systemDefault();
+        }
+        return zonesById.computeIfAbsent(zone, ZoneId::of);
+    }
+
+    // Only rows whose badge crossed a boundary are touched.
+    private void refreshRowsForDeadlines(Set<String> deadlineIds) {
+        for (int i = 0; i < deadlines.size(); i++) {
+            Deadline deadline = deadlines.get(i);
+            if (deadlineIds.contains(deadline.id())) {
+                deadlines.set(i, deadline);
+            }
+        }
+    }
+
+    private void refreshRowsForTasks(Set<String> taskIds) {
+        for (int i = 0; i < deadlines.size(); i++) {
+            Deadline deadline = deadlines.get(i);
+            if (taskIds.contains(deadline.taskId())) {
+                deadlines.set(i, deadline);
+            }
+        }
+    }
+
+    // Deadlines whose due time moved are taken out first, then the batch is merged back in due order;
+    // a change that keeps its due time is replaced in place, as before.
+    private void applyDeadlineChanges(Map<String, DeadlineChangedEvent> changes) {
+        deadlines.removeIf(existing -> {
+            DeadlineChangedEvent change = changes.get(existing.id());
+            return change != null && (change.removed() || !change.deadline().dueAt().equals(existing.dueAt()));
+        });
+        Map<String, Deadline> kept = new HashMap<>(deadlines.size() * 2);
+        for (Deadline deadline : deadlines) {
+            kept.put(deadline.id(), deadline);
+        }
+        List<Deadline> inserted = new ArrayList<>();
+        for (DeadlineChangedEvent change : changes.values()) {
+            if (!change.removed() && !kept.containsKey(change.deadlineId())) {
+                inserted.add(change.deadline());
+            }
+        }
+        inserted.sort(Comparator.comparing(Deadline::dueAt));
+
+        List<Deadline> merged = new ArrayList<>(deadlines.size() + inserted.size());
+        int next = 0;
+        for (Deadline existing : deadlines) {
+            while (next < inserted.size() && inserted.get(next).dueAt().isBefore(existing.dueAt())) {
+                merged.add(inserted.get(next++));
+            }
+            DeadlineChangedEvent change = changes.get(existing.id());
+            merged.add(change != null ? change.deadline() : existing);
+        }
+        merged.addAll(inserted.subList(next, inserted.size()));
+        ListMerger.merge(deadlines, merged, Deadline::id, deadline -> true);
+    }
+
+    private void rerunActiveSearch() {
+        if (searchField != null && !TaskSearchIndex.normalize(searchField.getText()).isBlank()) {
+            searchDebounce.playFromStart();
+        }
+    }
+
+    // Matching runs on a pool thread; only the newest query's id set reaches the list.
+    private void runSearch() {
+        long generation = ++searchGeneration;
+        String query = searchField.getText();
+        if (TaskSearchIndex.tokenize(query).isEmpty()) {
+            filteredDeadlines.setPredicate(null);
             updatePlaceholder();
             return;
         }
-        filteredDeadlines.setPredicate(deadline -> {
-            Task task = tasksById.get(deadline.taskId());
-            String title = task != null ? task.title() : deadline.taskId();
-            String description = task != null ? task.description() : "";
-            return (title != null && title.toLowerCase().contains(normalized))
-                    || (description != null && description.toLowerCase().contains(normalized));
-        });
+        CompletableFuture.supplyAsync(() -> searchIndex.search(query))
+                .thenAccept(matches -> Platform.runLater(() -> {
+                    if (generation == searchGeneration) {
+                        applySearchResult(query, matches);
+                    }
+                }))
+                .exceptionally(ex -> {
+                    ex.printStackTrace();
+                    return null;
+                });
+    }
+
+    private void applySearchResult(String query, Set<String> matchingTaskIds) {
+        String normalized = TaskSearchIndex.normalize(query).trim();
+        filteredDeadlines.setPredicate(deadline -> matchingTaskIds.contains(deadline.taskId())
+                || (!tasksById.containsKey(deadline.taskId()) && TaskSearchIndex.normalize(deadline.taskId()).contains(normalized)));
         updatePlaceholder();
     }
 
@@ -255,51 +428,19 @@ public final class DeadlineOverviewController {
             titleLabel.setText(title == null || title.isBlank() ? "(Chưa đặt tên)" : title);
             descriptionLabel.setText(description == null || description.isBlank() ? "Không có mô tả" : description);
 
-            ZoneId zoneId = item.timeZoneId() == null || item.timeZoneId().isBlank()
-                    ? ZoneId.systemDefault()
-                    : ZoneId.of(item.timeZoneId());
-            ZonedDateTime zonedDateTime = item.dueAt().atZone(zoneId);
-            dueLabel.setText("Hết hạn: " + zonedDateTime.format(DEADLINE_FORMATTER));
+            String dueText = dueTextById.get(item.id());
+            dueLabel.setText(dueText != null ? dueText : "Hết hạn: " + item.dueAt().atZone(zoneOf(item)).format(DEADLINE_FORMATTER));
 
             // Apply Status Style
-            StatusStyle style = computeStatusStyle(item.dueAt());
-            statusLabel.setText(style.label());
+            DeadlineStatusClock.Status status = statusClock.status(item.id(), item.dueAt());
+            statusLabel.setText(status.label());
             
-            // Clear old status classes
-            statusLabel.getStyleClass().removeAll("status-overdue", "status-soon", "status-normal", "status-safe");
-            statusLabel.getStyleClass().add(style.cssClass());
+            if (!statusLabel.getStyleClass().contains(status.cssClass())) {
+                statusLabel.getStyleClass().removeAll("status-overdue", "status-soon", "status-normal", "status-safe");
+                statusLabel.getStyleClass().add(status.cssClass());
+            }
 
             setGraphic(cardContainer);
         }
     }
-
-    private StatusStyle computeStatusStyle(Instant dueAt) {
-        Instant now = Instant.now();
-        Duration duration = Duration.between(now, dueAt);
-        
-        // Overdue
-        if (duration.isNegative()) {
-            long hours = Math.abs(duration.toHours());
-            String label = hours >= 24 ? "Đã quá hạn" : "Quá hạn " + hours + "h";
-            return new StatusStyle(label, "status-overdue");
-        }
-        
-        long minutes = duration.toMinutes();
-        // Closing soon (< 2h)
-        if (minutes <= 120) {
-            return new StatusStyle("Sắp đến hạn", "status-soon");
-        }
-        
-        long hours = duration.toHours();
-        // Today (< 24h)
-        if (hours < 24) {
-            return new StatusStyle("Còn " + hours + "h", "status-normal");
-        }
-        
-        long days = duration.toDays();
-        return new StatusStyle("Còn " + days + " ngày", "status-safe");
-    }
-
-    private record StatusStyle(String label, String cssClass) {
-    }
-}
\ No newline at end of file
+}
@@ -3,6 +3,7 @@ package com.todo.desktop.ui.controller;
 import com.todo.desktop.domain.model.EmailAttachment;
 import com.todo.desktop.domain.model.EmailMessage;
 import com.todo.desktop.domain.usecase.OutlookService;
+import com.todo.desktop.ui.util.EmailBodyRenderer;
 import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.geometry.Insets;
@@ -22,14 +23,19 @@ import java.io.FileOutputStream;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
 
 public final class EmailDetailController {
 
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("'Thứ' E, dd/MM/yyyy 'lúc' HH:mm", new Locale("vi"));
 
+    private final EmailBodyRenderer bodyRenderer = new EmailBodyRenderer();
     private OutlookService outlookService;
     private EmailMessage currentEmail;
     private Runnable onBackCallback;
+    private CompletableFuture<EmailMessage> pendingLoad;
+    private CompletableFuture<String> pendingRender;
+    private boolean preferPlainTextBody;
 
     @FXML private Button backButton;
     @FXML private Label subjectLabel;
@@ -51,11 +57,17 @@ public final class EmailDetailController {
         this.outlookService = outlookService;
     }
 
+    // Asks Graph to convert bodies to text server-side instead of converting HTML locally.
+    public void setPreferPlainTextBody(boolean preferPlainTextBody) {
+        this.preferPlainTextBody = preferPlainTextBody;
+    }
+
     public void setOnBack(Runnable callback) {
         this.onBackCallback = callback;
     }
 
     public void displayEmail(EmailMessage email) {
+        cancelPendingLoad();
         this.currentEmail = email;
         
         subjectLabel.setText(email.subject());
@@ -78,7 +90,8 @@ public final class EmailDetailController {
                 loadFullEmail(email.id());
             }
         } else {
-            bodyLabel.setText(stripHtml(email.bodyContent()));
+            // Bodies already on hand were fetched in the same mode as the one configured now.
+            showBody(email, !preferPlainTextBody);
         }
         
         // Show attachments
@@ -99,10 +112,16 @@ public final class EmailDetailController {
     private void loadFullEmail(String messageId) {
         if (outlookService == null) return;
         
-        outlookService.getMessageById(messageId)
+        boolean plainText = preferPlainTextBody;
+        CompletableFuture<EmailMessage> request = outlookService.getMessageById(messageId, plainText);
+        pendingLoad = request;
+        request
                 .thenAccept(fullEmail -> Platform.runLater(() -> {
-                    if (fullEmail != null) {
-                        bodyLabel.setText(stripHtml(fullEmail.bodyContent()));
+                    if (pendingLoad == request) {
+                        pendingLoad = null;
+                    }
+                    if (fullEmail != null && currentEmail != null && currentEmail.id().equals(fullEmail.id())) {
+                        showBody(fullEmail, !plainText);
                         
                         // Update attachments if loaded
                         if (fullEmail.hasAttachments() && !fullEmail.attachments().isEmpty()) {
@@ -117,11 +136,53 @@ public final class EmailDetailController {
                     }
                 }))
                 .exceptionally(ex -> {
-                    ex.printStackTrace();
+                    if (!request.isCancelled()) {
+                        ex.printStackTrace();
+                    }
                     return null;
                 });
     }
 
+    // The preview stays on screen until the converted body is ready.
+    private void showBody(EmailMessage email, boolean html) {
+        String cached = bodyRenderer.cached(email, html);
+        if (cached != null) {
+            bodyLabel.setText(cached);
+            return;
+        }
+        if (pendingRender != null) {
+            pendingRender.cancel(true);
+        }
+        CompletableFuture<String> render = bodyRenderer.render(email, html);
+        pendingRender = render;
+        render
+                .thenAccept(text -> Platform.runLater(() -> {
+                    if (pendingRender == render) {
+                        pendingRender = null;
+                    }
+                    if (currentEmail != null && currentEmail.id().equals(email.id())) {
+                        bodyLabel.setText(text);
+                    }
+                }))
+                .exceptionally(ex -> {
+                    if (!render.isCancelled()) {
+                        ex.printStackTrace();
+                    }
+                    return null;
+                });
+    }
+
+    private void cancelPendingLoad() {
+        if (pendingLoad != null) {
+            pendingLoad.cancel(true);
+            pendingLoad = null;
+        }
+        if (pendingRender != null) {
+            pendingRender.cancel(true);
+            pendingRender = null;
+        }
+    }
+
     private HBox createAttachmentRow(EmailAttachment attachment) {
         HBox row = new HBox(12);
         row.setAlignment(Pos.CENTER_LEFT);
@@ -183,6 +244,7 @@ public final class EmailDetailController {
 
     @FXML
     private void onBack() {
+        cancelPendingLoad();
         if (onBackCallback != null) {
             onBackCallback.run();
         }
@@ -270,11 +332,6 @@ public final class EmailDetailController {
         return text.substring(0, 1).toUpperCase();
     }
 
-    private String stripHtml(String html) {
-        if (html == null) return "";
-        return html.replaceAll("<[^>]*>", "").trim();
-    }
-
     private String getFileIcon(String filename) {
         String lower = filename.toLowerCase();
         if (lower.endsWith(".pdf")) return "📄";
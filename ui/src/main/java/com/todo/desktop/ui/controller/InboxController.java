@@ -1,8 +1,21 @@
 package com.todo.desktop.ui.controller;
 
+import com.todo.desktop.domain.event.EventBus;
+import com.todo.desktop.domain.event.EventProjection;
+import com.todo.desktop.domain.event.MailboxEvent;
+import com.todo.desktop.domain.event.MailboxOptions;
+import com.todo.desktop.domain.event.MessagesAddedEvent;
+import com.todo.desktop.domain.event.MessagesRemovedEvent;
+import com.todo.desktop.domain.event.MessagesUpdatedEvent;
 import com.todo.desktop.domain.model.EmailMessage;
 import com.todo.desktop.domain.usecase.EmailService;
 import com.todo.desktop.domain.usecase.OutlookService;
+import com.todo.desktop.domain.usecase.RequestContext;
+import com.todo.desktop.domain.usecase.RequestPriority;
+import com.todo.desktop.ui.util.FxBatch;
+import com.todo.desktop.ui.util.ImageService;
+import com.todo.desktop.ui.util.InboxFilters;
+import com.todo.desktop.ui.util.ListMerger;
 import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -11,26 +24,43 @@ import javafx.fxml.FXML;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.control.*;
+import javafx.scene.control.skin.VirtualFlow;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
 import javafx.scene.layout.*;
 import javafx.scene.shape.Circle;
 import javafx.stage.FileChooser;
 
 import java.io.File;
+import java.time.Instant;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public final class InboxController {
 
     private static final DateTimeFormatter INBOX_FORMATTER = DateTimeFormatter.ofPattern("HH:mm • dd/MM", Locale.getDefault());
+    private static final double AVATAR_SIZE = 48;
 
     private final ObservableList<EmailMessage> inboxItems = FXCollections.observableArrayList();
     private final FilteredList<EmailMessage> filteredItems = new FilteredList<>(inboxItems);
+    private final FxBatch<MailboxEvent> mailboxListener = new FxBatch<>(this::applyMailboxEvents);
+    private final AtomicBoolean reloadPending = new AtomicBoolean();
     private EmailService emailService;
     private OutlookService outlookService;
+    private ImageService imageService;
+    private EventBus eventBus;
+    private EventProjection warmState;
     private boolean initialized;
     private Runnable onEmailSelected;
 
@@ -87,6 +117,15 @@ public final class InboxController {
     private static final int PAGE_SIZE = 50;
     private boolean isLoadingMore = false;
     private boolean isUnreadFilter = false;
+    private boolean inboxExhausted = false;
+
+    private static final int MAX_PAGES_AHEAD = 4;
+    private static final double PREFETCH_LOOKAHEAD_SECONDS = 2.0;
+    private static final long VELOCITY_WINDOW_NANOS = 500_000_000L;
+    private VirtualFlow<?> virtualFlow;
+    private int lastVisibleIndex = -1;
+    private long lastViewportNanos;
+    private double rowsPerSecond;
 
     public void setEmailService(EmailService emailService) {
         this.emailService = Objects.requireNonNull(emailService);
@@ -98,10 +137,44 @@ public final class InboxController {
         refreshInboxIfReady();
     }
 
+    public void setImageService(ImageService imageService) {
+        this.imageService = imageService;
+    }
+
     public void setOnEmailSelected(Runnable callback) {
         this.onEmailSelected = callback;
     }
 
+    public void setEventBus(EventBus eventBus) {
+        if (this.eventBus != null) {
+            this.eventBus.unregister(MailboxEvent.class, mailboxListener);
+        }
+        this.eventBus = eventBus;
+        if (eventBus != null) {
+            eventBus.registerAsync(MailboxEvent.class, mailboxListener, Platform::runLater,
+                    MailboxOptions.<MailboxEvent>defaults().onOverflow(this::scheduleFullReload));
+        }
+    }
+
+    // A dropped event can't be replayed, so the inbox is reloaded from the first page instead of patched.
+    private void scheduleFullReload() {
+        if (reloadPending.compareAndSet(false, true)) {
+            Platform.runLater(() -> {
+                reloadPending.set(false);
+                onRefresh();
+            });
+        }
+    }
+
+    public void setWarmState(EventProjection warmState) {
+        this.warmState = warmState;
+    }
+
+    public void dispose() {
+        setEventBus(null);
+        mailboxListener.clear();
+    }
+
     @FXML
     private void initialize() {
         messageList.setItems(filteredItems);
@@ -156,18 +229,11 @@ public final class InboxController {
         
         // Listen for list changes to update placeholder
         filteredItems.addListener((javafx.collections.ListChangeListener<EmailMessage>) c -> updatePlaceholder());
+        applyWarmState();
         
-        // Auto-load more on scroll
-        messageList.setOnScroll(event -> {
-            ScrollBar scrollBar = getVerticalScrollbar(messageList);
-            if (scrollBar != null && !isLoadingMore) {
-                double scrollPosition = scrollBar.getValue();
-                double maxScroll = scrollBar.getMax();
-                if (scrollPosition >= (maxScroll * 0.9)) {
-                    loadMoreInbox();
-                }
-            }
-        });
+        // Prefetch from the viewport position rather than from scroll events
+        messageList.skinProperty().addListener((obs, oldSkin, newSkin) -> attachVirtualFlow());
+        attachVirtualFlow();
 
         initialized = true;
         refreshInboxIfReady();
@@ -183,17 +249,8 @@ public final class InboxController {
     }
 
     private void applyFilters() {
-        filteredItems.setPredicate(message -> {
-            if (message == null) return false;
-            
-            boolean unreadOnly = isUnreadFilter;
-            boolean attachmentsOnly = attachmentToggle != null && attachmentToggle.isSelected();
-            
-            if (unreadOnly && message.isRead()) return false;
-            if (attachmentsOnly && !message.hasAttachments()) return false;
-            
-            return true;
-        });
+        boolean attachmentsOnly = attachmentToggle != null && attachmentToggle.isSelected();
+        filteredItems.setPredicate(InboxFilters.of(isUnreadFilter, attachmentsOnly));
         updatePlaceholder();
     }
 
@@ -209,16 +266,44 @@ public final class InboxController {
         }
     }
     
-    private ScrollBar getVerticalScrollbar(ListView<?> listView) {
-        for (var node : listView.lookupAll(".scroll-bar")) {
-            if (node instanceof ScrollBar) {
-                ScrollBar scrollBar = (ScrollBar) node;
-                if (scrollBar.getOrientation() == javafx.geometry.Orientation.VERTICAL) {
-                    return scrollBar;
-                }
-            }
+    private void attachVirtualFlow() {
+        if (virtualFlow != null || messageList.getSkin() == null) {
+            return;
+        }
+        if (messageList.lookup(".virtual-flow") instanceof VirtualFlow<?> flow) {
+            virtualFlow = flow;
+            flow.positionProperty().addListener((obs, oldValue, newValue) -> onViewportMoved());
+        }
+    }
+
+    private void onViewportMoved() {
+        IndexedCell<?> lastCell = virtualFlow.getLastVisibleCell();
+        if (lastCell == null || lastCell.getIndex() < 0) {
+            return;
+        }
+        int index = lastCell.getIndex();
+        long now = System.nanoTime();
+        if (lastVisibleIndex >= 0 && now > lastViewportNanos) {
+            double seconds = (now - lastViewportNanos) / 1_000_000_000.0;
+            double instantRate = Math.abs(index - lastVisibleIndex) / seconds;
+            rowsPerSecond = rowsPerSecond * 0.7 + instantRate * 0.3;
+        }
+        lastVisibleIndex = index;
+        lastViewportNanos = now;
+        prefetchIfNeeded();
+    }
+
+    private void prefetchIfNeeded() {
+        if (isLoadingMore || inboxExhausted || lastVisibleIndex < 0) {
+            return;
+        }
+        boolean scrolling = System.nanoTime() - lastViewportNanos < VELOCITY_WINDOW_NANOS;
+        double rate = scrolling ? rowsPerSecond : 0;
+        int pagesAhead = (int) Math.min(MAX_PAGES_AHEAD, 1 + Math.ceil(rate * PREFETCH_LOOKAHEAD_SECONDS / PAGE_SIZE));
+        int rowsBelow = filteredItems.size() - 1 - lastVisibleIndex;
+        if (rowsBelow < pagesAhead * PAGE_SIZE) {
+            loadMoreInbox(rowsBelow < PAGE_SIZE / 2 ? RequestPriority.INTERACTIVE : RequestPriority.BACKGROUND);
         }
-        return null;
     }
     
     public EmailMessage getSelectedEmail() {
@@ -233,6 +318,7 @@ public final class InboxController {
     @FXML
     public void onRefresh() {
         currentSkip = 0;
+        inboxExhausted = false;
         refreshInboxIfReady();
     }
 
@@ -371,12 +457,22 @@ public final class InboxController {
         }
     }
 
+    private void applyWarmState() {
+        if (warmState == null || warmState.messages().isEmpty()) {
+            return;
+        }
+        List<EmailMessage> cached = new ArrayList<>(warmState.messages());
+        cached.sort(Comparator.comparing(EmailMessage::receivedDateTime, Comparator.nullsLast(Comparator.reverseOrder())));
+        inboxItems.setAll(cached.subList(0, Math.min(PAGE_SIZE, cached.size())));
+        applyFilters();
+    }
+
     private void refreshInboxIfReady() {
         if (!initialized) return;
         
         if (outlookService != null && outlookService.isConnected()) {
             isLoadingMore = true;
-            if (currentSkip == 0 && messageList.getScene() != null) {
+            if (currentSkip == 0 && inboxItems.isEmpty() && messageList.getScene() != null) {
                 com.todo.desktop.ui.util.LoadingService.show((javafx.stage.Stage) messageList.getScene().getWindow(), "Đang tải email...");
             }
             
@@ -391,12 +487,19 @@ public final class InboxController {
                             isLoadingMore = false;
                             if (currentSkip == 0) loadFromLocalService();
                         } else {
-                            if (currentSkip == 0) inboxItems.clear();
-                            if (messages != null) inboxItems.addAll(messages);
-                            currentSkip += PAGE_SIZE;
+                            List<EmailMessage> page = messages != null ? messages : List.of();
+                            if (currentSkip == 0 && !inboxItems.isEmpty()) {
+                                mergeFirstPage(page);
+                                currentSkip = Math.max(PAGE_SIZE, inboxItems.size());
+                            } else {
+                                ListMerger.appendMissing(inboxItems, page, EmailMessage::id);
+                                currentSkip += PAGE_SIZE;
+                            }
+                            inboxExhausted = page.size() < PAGE_SIZE;
                             applyFilters();
                             updatePlaceholder();
                             isLoadingMore = false;
+                            prefetchIfNeeded();
                         }
                     }));
         } else if (emailService != null) {
@@ -405,28 +508,104 @@ public final class InboxController {
     }
     
     private void loadMoreInbox() {
-        if (!initialized || isLoadingMore || currentSkip >= 1000) return;
+        loadMoreInbox(RequestPriority.INTERACTIVE);
+    }
+
+    private void loadMoreInbox(RequestPriority priority) {
+        if (!initialized || isLoadingMore || inboxExhausted || currentSkip >= 1000) return;
         
         if (outlookService != null && outlookService.isConnected()) {
             isLoadingMore = true;
-            outlookService.getInboxMessages(PAGE_SIZE, currentSkip)
+            int skip = currentSkip;
+            RequestContext.withPriority(priority, () -> outlookService.getInboxMessages(PAGE_SIZE, skip))
                     .thenAccept(messages -> Platform.runLater(() -> {
+                        if (skip != currentSkip) {
+                            return;
+                        }
                         if (messages != null && !messages.isEmpty()) {
-                            inboxItems.addAll(messages);
+                            ListMerger.appendMissing(inboxItems, messages, EmailMessage::id);
                             currentSkip += PAGE_SIZE;
                         }
+                        inboxExhausted = messages == null || messages.size() < PAGE_SIZE;
                         applyFilters();
                         updatePlaceholder();
                         isLoadingMore = false;
+                        prefetchIfNeeded();
                     }))
                     .exceptionally(ex -> {
                         ex.printStackTrace();
-                        isLoadingMore = false;
+                        Platform.runLater(() -> isLoadingMore = false);
                         return null;
                     });
         }
     }
     
+    // A full first page only covers messages down to its oldest entry; older rows stay as they are.
+    private void mergeFirstPage(List<EmailMessage> page) {
+        Instant oldest = page.size() < PAGE_SIZE ? null : page.stream()
+                .map(EmailMessage::receivedDateTime)
+                .filter(Objects::nonNull)
+                .min(Comparator.naturalOrder())
+                .orElse(null);
+        ListMerger.merge(inboxItems, page, EmailMessage::id, message -> oldest == null
+                || (message.receivedDateTime() != null && !message.receivedDateTime().isBefore(oldest)));
+    }
+
+    // The whole drain is folded into one target list and merged once, so a large batch costs a single
+    // pass over the inbox rather than a scan per message.
+    private void applyMailboxEvents(List<MailboxEvent> events) {
+        Map<String, EmailMessage> replacements = new HashMap<>();
+        Map<String, EmailMessage> additions = new LinkedHashMap<>();
+        Set<String> removals = new HashSet<>();
+        for (MailboxEvent event : events) {
+            if (event instanceof MessagesAddedEvent added) {
+                for (EmailMessage message : added.messages()) {
+                    removals.remove(message.id());
+                    replacements.put(message.id(), message);
+                    additions.put(message.id(), message);
+                }
+            } else if (event instanceof MessagesUpdatedEvent updated) {
+                for (EmailMessage message : updated.messages()) {
+                    if (!removals.contains(message.id())) {
+                        replacements.put(message.id(), message);
+                        additions.computeIfPresent(message.id(), (id, previous) -> message);
+                    }
+                }
+            } else if (event instanceof MessagesRemovedEvent removed) {
+                for (String id : removed.messageIds()) {
+                    removals.add(id);
+                    replacements.remove(id);
+                    additions.remove(id);
+                }
+            }
+        }
+        for (EmailMessage existing : inboxItems) {
+            additions.remove(existing.id());
+        }
+        List<EmailMessage> inserted = new ArrayList<>(additions.values());
+        inserted.sort(Comparator.comparing(EmailMessage::receivedDateTime, Comparator.nullsLast(Comparator.reverseOrder())));
+
+        List<EmailMessage> merged = new ArrayList<>(inboxItems.size() + inserted.size());
+        int next = 0;
+        for (EmailMessage existing : inboxItems) {
+            while (next < inserted.size() && isNewer(inserted.get(next), existing)) {
+                merged.add(inserted.get(next++));
+            }
+            if (!removals.contains(existing.id())) {
+                merged.add(replacements.getOrDefault(existing.id(), existing));
+            }
+        }
+        merged.addAll(inserted.subList(next, inserted.size()));
+        ListMerger.merge(inboxItems, merged, EmailMessage::id, message -> true);
+        updatePlaceholder();
+    }
+
+    // New messages go after existing ones received at the same time, and undated ones go last.
+    private static boolean isNewer(EmailMessage candidate, EmailMessage existing) {
+        Instant received = candidate.receivedDateTime();
+        return received != null && (existing.receivedDateTime() == null || existing.receivedDateTime().isBefore(received));
+    }
+
     private void loadFromLocalService() {
         emailService.listInbox()
                 .thenAccept(messages -> Platform.runLater(() -> {
@@ -439,6 +618,7 @@ public final class InboxController {
     private final class EmailCell extends ListCell<EmailMessage> {
 
         private final Label avatarLabel = new Label();
+        private final ImageView avatarImage = new ImageView();
         private final StackPane avatarContainer = new StackPane();
         private final Label subjectLabel = new Label();
         private final Label senderLabel = new Label();
@@ -455,7 +635,11 @@ public final class InboxController {
             avatarContainer.getStyleClass().add("avatar-circle");
             avatarContainer.setPrefSize(48, 48);
             avatarContainer.setMaxSize(48, 48);
-            avatarContainer.getChildren().add(avatarLabel);
+            avatarImage.setFitWidth(AVATAR_SIZE);
+            avatarImage.setFitHeight(AVATAR_SIZE);
+            avatarImage.setClip(new Circle(AVATAR_SIZE / 2, AVATAR_SIZE / 2, AVATAR_SIZE / 2));
+            avatarImage.setVisible(false);
+            avatarContainer.getChildren().addAll(avatarLabel, avatarImage);
 
             // Text Content
             senderLabel.getStyleClass().add("text-sender");
@@ -507,6 +691,7 @@ public final class InboxController {
 
             String initial = extractInitial(item.from());
             avatarLabel.setText(initial);
+            updateAvatar(item);
             
             // Unread Styling
             cardContainer.getStyleClass().remove("card-unread");
@@ -532,6 +717,34 @@ public final class InboxController {
             setGraphic(cardContainer);
         }
 
+        // Initials stay visible until the sender photo arrives; a recycled cell ignores late results.
+        private void updateAvatar(EmailMessage item) {
+            String email = item.fromEmail();
+            if (imageService == null || email == null || email.isBlank()) {
+                showPhoto(null);
+                return;
+            }
+            String key = "sender:" + email.toLowerCase(Locale.ROOT);
+            Image cached = imageService.peek(key, AVATAR_SIZE);
+            showPhoto(cached);
+            if (cached != null || imageService.isKnownMissing(key) || outlookService == null
+                    || !outlookService.isConnected() || !outlookService.canLoadContactPhotos()) {
+                return;
+            }
+            imageService.load(key, AVATAR_SIZE, () -> outlookService.getContactPhoto(email))
+                    .thenAccept(image -> Platform.runLater(() -> {
+                        if (getItem() == item) {
+                            showPhoto(image);
+                        }
+                    }));
+        }
+
+        private void showPhoto(Image image) {
+            avatarImage.setImage(image);
+            avatarImage.setVisible(image != null);
+            avatarLabel.setVisible(image == null);
+        }
+
         private String extractInitial(String text) {
             if (text == null || text.isBlank()) return "?";
             int codePoint = text.codePointAt(0);
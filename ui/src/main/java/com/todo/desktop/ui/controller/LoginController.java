@@ -126,6 +126,10 @@ public final class LoginController {
         this.onLoginSuccess = Objects.requireNonNull(onLoginSuccess);
     }
 
+    public void showNotice(String message) {
+        updateStatus(message, true);
+    }
+
     @FXML
     private void onSignIn() {
         if (authService == null) {
@@ -6,7 +6,11 @@ import com.todo.desktop.domain.usecase.DeadlineService;
 import com.todo.desktop.domain.usecase.EmailService;
 import com.todo.desktop.domain.usecase.OutlookService;
 import com.todo.desktop.domain.usecase.TaskService;
+import com.todo.desktop.ui.util.ImageService;
+import javafx.animation.Animation;
+import javafx.animation.PauseTransition;
 import javafx.fxml.FXML;
+import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
@@ -15,27 +19,34 @@ import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.StackPane;
 import javafx.scene.shape.Circle;
+import javafx.scene.input.InputEvent;
 import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyCodeCombination;
 import javafx.scene.input.KeyCombination;
 import javafx.scene.input.KeyEvent;
+import javafx.util.Callback;
+import javafx.util.Duration;
 
-import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
+import java.util.EnumMap;
+import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 
 public final class MainShellController {
 
+    private static final Duration PREWARM_IDLE = Duration.seconds(2);
+
     private TaskService taskService;
     private DeadlineService deadlineService;
     private EmailService emailService;
     private AuthService authService;
     private OutlookService outlookService;
+    private ImageService imageService;
+    private boolean preferPlainTextBody;
     private Runnable onSignOut = () -> { };
+    private Callback<Class<?>, Object> controllerFactory;
 
     @FXML
     private Parent root;
@@ -52,18 +63,6 @@ public final class MainShellController {
     @FXML
     private ToggleButton settingsToggle;
 
-    @FXML
-    private Parent deadlineOverview;
-
-    @FXML
-    private Parent inboxView;
-
-    @FXML
-    private Parent emailDetailView;
-
-    @FXML
-    private Parent settingsView;
-
     @FXML
     private Label userNameLabel;
 
@@ -79,25 +78,26 @@ public final class MainShellController {
     @FXML
     private Button signOutButton;
 
-    @FXML
     private DeadlineOverviewController deadlineOverviewController;
-
-    @FXML
     private InboxController inboxViewController;
-
-    @FXML
     private EmailDetailController emailDetailViewController;
-
-    @FXML
     private SettingsController settingsViewController;
 
+    private final Map<Section, Parent> sections = new EnumMap<>(Section.class);
+    private final PauseTransition prewarm = new PauseTransition(PREWARM_IDLE);
     private Section currentSection = Section.EMAIL;
 
     private enum Section {
-        DEADLINE,
-        EMAIL,
-        EMAIL_DETAIL,
-        SETTINGS
+        DEADLINE("/ui/deadline-overview.fxml"),
+        EMAIL("/ui/inbox.fxml"),
+        EMAIL_DETAIL("/ui/email-detail.fxml"),
+        SETTINGS("/ui/settings.fxml");
+
+        private final String view;
+
+        Section(String view) {
+            this.view = view;
+        }
     }
 
     public void setDeadlineService(DeadlineService deadlineService) {
@@ -116,6 +116,18 @@ public final class MainShellController {
         this.outlookService = outlookService;
     }
 
+    public void setImageService(ImageService imageService) {
+        this.imageService = imageService;
+    }
+
+    public void setPreferPlainTextBody(boolean preferPlainTextBody) {
+        this.preferPlainTextBody = preferPlainTextBody;
+    }
+
+    public void setControllerFactory(Callback<Class<?>, Object> controllerFactory) {
+        this.controllerFactory = controllerFactory;
+    }
+
     public void setAuthService(AuthService authService) {
         this.authService = authService;
         updateUserProfile();
@@ -133,38 +145,19 @@ public final class MainShellController {
         this.onSignOut = Objects.requireNonNull(onSignOut);
     }
 
-    @FXML
-    private void initialize() {
-        if (deadlineOverviewController != null && deadlineService != null) {
-            deadlineOverviewController.setDeadlineService(deadlineService);
-            if (taskService != null) {
-                deadlineOverviewController.setTaskService(taskService);
-            }
+    // Stops background work and event subscriptions; the shell is not used again afterwards.
+    public void dispose() {
+        prewarm.stop();
+        if (deadlineOverviewController != null) {
+            deadlineOverviewController.dispose();
         }
         if (inboxViewController != null) {
-            if (emailService != null) {
-                inboxViewController.setEmailService(emailService);
-            }
-            if (outlookService != null) {
-                inboxViewController.setOutlookService(outlookService);
-            }
-            inboxViewController.setOnEmailSelected(this::showEmailDetail);
+            inboxViewController.dispose();
         }
-        if (emailDetailViewController != null) {
-            if (outlookService != null) {
-                emailDetailViewController.setOutlookService(outlookService);
-            }
-            emailDetailViewController.setOnBack(this::showInboxFromDetail);
-        }
-        if (settingsViewController != null) {
-            if (authService != null) {
-                settingsViewController.setAuthService(authService);
-            }
-            if (outlookService != null) {
-                settingsViewController.setOutlookService(outlookService);
-            }
-        }
-        
+    }
+
+    @FXML
+    private void initialize() {
         showSection(Section.EMAIL); 
         if (emailToggle != null) {
             emailToggle.setSelected(true);
@@ -178,6 +171,92 @@ public final class MainShellController {
                     setupShortcuts(newScene);
                 }
             });
+            // Any input pushes pre-warming back, so it only runs while the user is idle.
+            root.addEventFilter(InputEvent.ANY, event -> {
+                if (prewarm.getStatus() == Animation.Status.RUNNING) {
+                    prewarm.playFromStart();
+                }
+            });
+        }
+        prewarm.setOnFinished(event -> prewarmNext());
+        prewarm.playFromStart();
+    }
+
+    private void prewarmNext() {
+        for (Section section : Section.values()) {
+            if (!sections.containsKey(section)) {
+                section(section);
+                prewarm.playFromStart();
+                return;
+            }
+        }
+    }
+
+    // Sections are built on first use and then kept; their controllers come from the app's factory.
+    private Parent section(Section section) {
+        Parent view = sections.get(section);
+        if (view != null) {
+            return view;
+        }
+        FXMLLoader loader = new FXMLLoader(MainShellController.class.getResource(section.view));
+        if (controllerFactory != null) {
+            loader.setControllerFactory(controllerFactory);
+        }
+        try {
+            view = loader.load();
+        } catch (IOException e) {
+            throw new IllegalStateException("Không thể tải màn hình: " + section.view, e);
+        }
+        view.setVisible(false);
+        view.setManaged(false);
+        wire(section, loader.getController());
+        sections.put(section, view);
+        contentContainer.getChildren().add(view);
+        return view;
+    }
+
+    private void wire(Section section, Object controller) {
+        switch (section) {
+            case DEADLINE -> {
+                deadlineOverviewController = (DeadlineOverviewController) controller;
+                if (deadlineService != null) {
+                    deadlineOverviewController.setDeadlineService(deadlineService);
+                    if (taskService != null) {
+                        deadlineOverviewController.setTaskService(taskService);
+                    }
+                }
+            }
+            case EMAIL -> {
+                inboxViewController = (InboxController) controller;
+                if (emailService != null) {
+                    inboxViewController.setEmailService(emailService);
+                }
+                if (outlookService != null) {
+                    inboxViewController.setOutlookService(outlookService);
+                }
+                if (imageService != null) {
+                    inboxViewController.setImageService(imageService);
+                }
+                inboxViewController.setOnEmailSelected(this::showEmailDetail);
+            }
+            case EMAIL_DETAIL -> {
+                emailDetailViewController = (EmailDetailController) controller;
+                if (outlookService != null) {
+                    emailDetailViewController.setOutlookService(outlookService);
+                }
+                emailDetailViewController.setPreferPlainTextBody(preferPlainTextBody);
+                emailDetailViewController.setOnBack(this::showInboxFromDetail);
+            }
+            case SETTINGS -> {
+                settingsViewController = (SettingsController) controller;
+                if (authService != null) {
+                    settingsViewController.setAuthService(authService);
+                }
+                if (outlookService != null) {
+                    settingsViewController.setOutlookService(outlookService);
+                }
+                settingsViewController.setMainShellController(this);
+            }
         }
     }
     
@@ -227,9 +306,10 @@ public final class MainShellController {
     }
 
     private void showEmailDetail() {
-        if (inboxViewController != null && emailDetailViewController != null) {
+        if (inboxViewController != null) {
             var selectedEmail = inboxViewController.getSelectedEmail();
             if (selectedEmail != null) {
+                section(Section.EMAIL_DETAIL);
                 emailDetailViewController.displayEmail(selectedEmail);
                 showSection(Section.EMAIL_DETAIL);
             }
@@ -250,6 +330,7 @@ public final class MainShellController {
         future.whenComplete((ignored, throwable) -> javafx.application.Platform.runLater(() -> {
             signOutButton.setDisable(false);
             if (throwable == null) {
+                dispose();
                 onSignOut.run();
             } else {
                 signOutButton.setText("Thử lại");
@@ -271,27 +352,12 @@ public final class MainShellController {
             settingsToggle.setSelected(true);
         }
 
-        // Visibility logic
-        if (deadlineOverview != null) {
-            boolean showDeadline = section == Section.DEADLINE;
-            deadlineOverview.setVisible(showDeadline);
-            deadlineOverview.setManaged(showDeadline);
-        }
-        if (inboxView != null) {
-            boolean showEmail = section == Section.EMAIL;
-            inboxView.setVisible(showEmail);
-            inboxView.setManaged(showEmail);
-        }
-        if (emailDetailView != null) {
-            boolean showEmailDetail = section == Section.EMAIL_DETAIL;
-            emailDetailView.setVisible(showEmailDetail);
-            emailDetailView.setManaged(showEmailDetail);
-        }
-        if (settingsView != null) {
-            boolean showSettings = section == Section.SETTINGS;
-            settingsView.setVisible(showSettings);
-            settingsView.setManaged(showSettings);
-        }
+        section(section);
+        sections.forEach((key, view) -> {
+            boolean visible = key == section;
+            view.setVisible(visible);
+            view.setManaged(visible);
+        });
     }
 
     private void updateUserProfile() {
@@ -341,32 +407,22 @@ public final class MainShellController {
         if (avatarImageView == null || avatarFallback == null) {
             return;
         }
-        if (avatarUri == null) {
-            avatarImageView.setImage(null);
-            avatarImageView.setVisible(false);
-            avatarFallback.setVisible(true);
+        if (avatarUri == null || imageService == null) {
+            showAvatar(null);
             return;
         }
-        HttpClient client = HttpClient.newHttpClient();
-        HttpRequest request = HttpRequest.newBuilder(avatarUri).build();
-        client.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
-                .thenApply(HttpResponse::body)
+        imageService.load(avatarUri, 40)
                 .exceptionally(error -> null)
-                .thenAccept(bytes -> javafx.application.Platform.runLater(() -> {
-                    if (bytes == null || bytes.length == 0) {
-                        avatarImageView.setImage(null);
-                        avatarImageView.setVisible(false);
-                        avatarFallback.setVisible(true);
-                    } else {
-                        Image image = new Image(new ByteArrayInputStream(bytes));
-                        avatarImageView.setImage(image);
-                        avatarImageView.setVisible(true);
-                        avatarFallback.setVisible(false);
-                        
-                        // Apply circular clip
-                        Circle clip = new Circle(20, 20, 20);
-                        avatarImageView.setClip(clip);
-                    }
-                }));
+                .thenAccept(image -> javafx.application.Platform.runLater(() -> showAvatar(image)));
+    }
+
+    private void showAvatar(Image image) {
+        avatarImageView.setImage(image);
+        avatarImageView.setVisible(image != null);
+        avatarFallback.setVisible(image == null);
+        if (image != null) {
+            // Apply circular clip
+            avatarImageView.setClip(new Circle(20, 20, 20));
+        }
     }
-}
\ No newline at end of file
+}
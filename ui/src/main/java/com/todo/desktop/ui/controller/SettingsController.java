@@ -142,13 +142,18 @@ public final class SettingsController {
         }
 
         boolean connected = outlookService.isConnected();
-        connectOutlookButton.setVisible(!connected);
-        connectOutlookButton.setManaged(!connected);
+        // Connections made before sender photos were supported need one more consent for them.
+        boolean needsConsent = connected && !outlookService.canLoadContactPhotos();
+        connectOutlookButton.setVisible(!connected || needsConsent);
+        connectOutlookButton.setManaged(!connected || needsConsent);
         disconnectOutlookButton.setVisible(connected);
         disconnectOutlookButton.setManaged(connected);
 
         if (outlookStatusLabel != null) {
-            if (connected) {
+            if (needsConsent) {
+                outlookStatusLabel.setText("✓ Đã kết nối với Outlook — kết nối lại để hiện ảnh người gửi");
+                outlookStatusLabel.setStyle("-fx-text-fill: #34c759; -fx-font-size: 13px;");
+            } else if (connected) {
                 outlookStatusLabel.setText("✓ Đã kết nối với Outlook");
                 outlookStatusLabel.setStyle("-fx-text-fill: #34c759; -fx-font-size: 13px;");
             } else {
@@ -0,0 +1,162 @@
+package com.todo.desktop.ui.util;
+
+import javafx.application.Platform;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+// Must be used from the FX thread only. Waits on a plain scheduler thread rather than an FX animation,
+// which would keep the pulse running for the whole wait; only the tick itself runs on the FX thread.
+public final class DeadlineStatusClock {
+
+    private static final Duration SOON_WINDOW = Duration.ofMinutes(121);
+    // Scheduled delays may not advance while the machine sleeps, so never wait longer than this.
+    private static final Duration MAX_WAIT = Duration.ofMinutes(5);
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "deadline-status-clock");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Map<String, Tracked> trackedById = new HashMap<>();
+    private final NavigableMap<Instant, Set<String>> idsByBoundary = new TreeMap<>();
+    private Consumer<Set<String>> onChange = ids -> { };
+    private Instant scheduledFor;
+    private ScheduledFuture<?> pending;
+
+    public void setOnChange(Consumer<Set<String>> onChange) {
+        this.onChange = onChange != null ? onChange : ids -> { };
+    }
+
+    public Status track(String deadlineId, Instant dueAt) {
+        Tracked existing = trackedById.get(deadlineId);
+        if (existing != null && existing.dueAt.equals(dueAt)) {
+            return existing.status;
+        }
+        untrack(deadlineId);
+        Status status = statusAt(dueAt, Instant.now());
+        trackedById.put(deadlineId, new Tracked(dueAt, status));
+        enqueue(deadlineId, status);
+        reschedule();
+        return status;
+    }
+
+    public void untrack(String deadlineId) {
+        Tracked removed = trackedById.remove(deadlineId);
+        if (removed != null) {
+            dequeue(deadlineId, removed.status);
+        }
+    }
+
+    public void clear() {
+        trackedById.clear();
+        idsByBoundary.clear();
+        cancelPending();
+        scheduledFor = null;
+    }
+
+    public Status status(String deadlineId, Instant dueAt) {
+        Tracked tracked = trackedById.get(deadlineId);
+        if (tracked != null && tracked.dueAt.equals(dueAt)) {
+            return tracked.status;
+        }
+        return statusAt(dueAt, Instant.now());
+    }
+
+    public static Status statusAt(Instant dueAt, Instant now) {
+        Duration remaining = Duration.between(now, dueAt);
+
+        if (remaining.isNegative()) {
+            long hours = remaining.negated().toHours();
+            if (hours >= 24) {
+                return new Status("Đã quá hạn", "status-overdue", Instant.MAX);
+            }
+            return new Status("Quá hạn " + hours + "h", "status-overdue", dueAt.plus(Duration.ofHours(hours + 1)));
+        }
+
+        if (remaining.toMinutes() <= 120) {
+            return new Status("Sắp đến hạn", "status-soon", dueAt.plusNanos(1));
+        }
+
+        long hours = remaining.toHours();
+        if (hours < 24) {
+            Duration threshold = Duration.ofHours(hours).compareTo(SOON_WINDOW) > 0 ? Duration.ofHours(hours) : SOON_WINDOW;
+            return new Status("Còn " + hours + "h", "status-normal", dueAt.minus(threshold).plusNanos(1));
+        }
+
+        long days = remaining.toDays();
+        return new Status("Còn " + days + " ngày", "status-safe", dueAt.minus(Duration.ofDays(days)).plusNanos(1));
+    }
+
+    private void tick() {
+        Instant now = Instant.now();
+        Set<String> changed = new HashSet<>();
+        while (!idsByBoundary.isEmpty() && !idsByBoundary.firstKey().isAfter(now)) {
+            for (String deadlineId : idsByBoundary.pollFirstEntry().getValue()) {
+                Tracked tracked = trackedById.get(deadlineId);
+                Status status = statusAt(tracked.dueAt, now);
+                trackedById.put(deadlineId, new Tracked(tracked.dueAt, status));
+                enqueue(deadlineId, status);
+                if (!status.label().equals(tracked.status.label())) {
+                    changed.add(deadlineId);
+                }
+            }
+        }
+        scheduledFor = null;
+        reschedule();
+        if (!changed.isEmpty()) {
+            onChange.accept(changed);
+        }
+    }
+
+    private void enqueue(String deadlineId, Status status) {
+        if (!status.validUntil().equals(Instant.MAX)) {
+            idsByBoundary.computeIfAbsent(status.validUntil(), key -> new HashSet<>()).add(deadlineId);
+        }
+    }
+
+    private void dequeue(String deadlineId, Status status) {
+        Set<String> ids = idsByBoundary.get(status.validUntil());
+        if (ids != null && ids.remove(deadlineId) && ids.isEmpty()) {
+            idsByBoundary.remove(status.validUntil());
+        }
+    }
+
+    private void reschedule() {
+        if (idsByBoundary.isEmpty() || (scheduledFor != null && !idsByBoundary.firstKey().isBefore(scheduledFor))) {
+            return;
+        }
+        scheduledFor = idsByBoundary.firstKey();
+        Duration wait = Duration.between(Instant.now(), idsByBoundary.firstKey());
+        if (wait.compareTo(MAX_WAIT) > 0) {
+            wait = MAX_WAIT;
+        }
+        cancelPending();
+        // A tick that was already handed to the FX thread may still run; it only re-checks the boundaries.
+        pending = SCHEDULER.schedule(() -> Platform.runLater(this::tick), Math.max(1, wait.toMillis() + 1), TimeUnit.MILLISECONDS);
+    }
+
+    private void cancelPending() {
+        if (pending != null) {
+            pending.cancel(false);
+            pending = null;
+        }
+    }
+
+    public record Status(String label, String cssClass, Instant validUntil) {
+    }
+
+    private record Tracked(Instant dueAt, Status status) {
+    }
+}
@@ -0,0 +1,81 @@
+package com.todo.desktop.ui.util;
+
+import com.todo.desktop.domain.model.EmailMessage;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public final class EmailBodyRenderer implements AutoCloseable {
+
+    private static final int CACHE_ENTRIES = 64;
+    private static final int MAX_TEXT_LENGTH = 200_000;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "email-body-renderer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Map<String, String> cache = new LinkedHashMap<>(CACHE_ENTRIES, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+            return size() > CACHE_ENTRIES;
+        }
+    };
+
+    public String cached(EmailMessage message, boolean html) {
+        synchronized (cache) {
+            return cache.get(cacheKey(message, html));
+        }
+    }
+
+    // Cancelling the returned future drops the job if it has not started yet.
+    public CompletableFuture<String> render(EmailMessage message, boolean html) {
+        String key = cacheKey(message, html);
+        String cachedText;
+        synchronized (cache) {
+            cachedText = cache.get(key);
+        }
+        if (cachedText != null) {
+            return CompletableFuture.completedFuture(cachedText);
+        }
+        CompletableFuture<String> result = new CompletableFuture<>();
+        executor.execute(() -> {
+            if (result.isDone()) {
+                return;
+            }
+            try {
+                String text = html ? HtmlText.toText(message.bodyContent(), MAX_TEXT_LENGTH) : truncate(message.bodyContent());
+                synchronized (cache) {
+                    cache.put(key, text);
+                }
+                result.complete(text);
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private static String truncate(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.length() > MAX_TEXT_LENGTH ? text.substring(0, MAX_TEXT_LENGTH) + "…" : text.strip();
+    }
+
+    // Without a change key the body itself has to identify the version.
+    private static String cacheKey(EmailMessage message, boolean html) {
+        String version = message.changeKey() != null
+                ? message.changeKey()
+                : Integer.toHexString(message.bodyContent() != null ? message.bodyContent().hashCode() : 0);
+        return message.id() + ":" + version + (html ? ":html" : ":text");
+    }
+}
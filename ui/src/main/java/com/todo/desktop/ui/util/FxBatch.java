@@ -0,0 +1,49 @@
+package com.todo.desktop.ui.util;
+
+import javafx.application.Platform;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+// Must be fed from the FX thread, e.g. as a mailbox subscriber on Platform::runLater. Items that arrive
+// within one drain are handed over together in a later runnable, so the list is patched once per drain
+// instead of once per event.
+public final class FxBatch<T> implements Consumer<T> {
+
+    private final Consumer<? super List<T>> handler;
+    private final List<T> pending = new ArrayList<>();
+    private boolean scheduled;
+
+    public FxBatch(Consumer<? super List<T>> handler) {
+        this.handler = Objects.requireNonNull(handler, "handler");
+    }
+
+    @Override
+    public void accept(T item) {
+        pending.add(item);
+        if (!scheduled) {
+            scheduled = true;
+            Platform.runLater(this::flush);
+        }
+    }
+
+    public void clear() {
+        pending.clear();
+    }
+
+    private void flush() {
+        scheduled = false;
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<T> batch = List.copyOf(pending);
+        pending.clear();
+        try {
+            handler.accept(batch);
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.todo.desktop.ui.util;
+
+import com.todo.desktop.domain.metrics.LatencyHistogram;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.scene.control.Label;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyCodeCombination;
+import javafx.scene.input.KeyCombination;
+import javafx.scene.input.KeyEvent;
+import javafx.stage.Popup;
+import javafx.stage.Stage;
+import javafx.util.Duration;
+
+import java.util.List;
+import java.util.Objects;
+
+// Ctrl+Shift+D (Cmd+Shift+D on macOS) toggles a small panel with live FX timing numbers.
+public final class FxDevOverlay {
+
+    private static final KeyCombination TOGGLE = new KeyCodeCombination(KeyCode.D, KeyCombination.SHORTCUT_DOWN, KeyCombination.SHIFT_DOWN);
+    private static final double MARGIN = 12;
+
+    private final Stage stage;
+    private final FxStallMonitor monitor;
+    private final Popup popup = new Popup();
+    private final Label label = new Label();
+    private final Timeline refresh;
+
+    private FxDevOverlay(Stage stage, FxStallMonitor monitor) {
+        this.stage = stage;
+        this.monitor = monitor;
+        label.setStyle("-fx-background-color: rgba(20, 20, 20, 0.85); -fx-text-fill: #b8f5b8; "
+                + "-fx-font-family: monospace; -fx-font-size: 11px; -fx-padding: 8; -fx-background-radius: 6;");
+        label.setMouseTransparent(true);
+        popup.getContent().add(label);
+        refresh = new Timeline(new KeyFrame(Duration.millis(500), event -> update()));
+        refresh.setCycleCount(Timeline.INDEFINITE);
+    }
+
+    public static FxDevOverlay install(Stage stage, FxStallMonitor monitor) {
+        FxDevOverlay overlay = new FxDevOverlay(Objects.requireNonNull(stage, "stage"), Objects.requireNonNull(monitor, "monitor"));
+        stage.addEventFilter(KeyEvent.KEY_PRESSED, event -> {
+            if (TOGGLE.match(event)) {
+                overlay.toggle();
+                event.consume();
+            }
+        });
+        return overlay;
+    }
+
+    public void toggle() {
+        if (popup.isShowing()) {
+            refresh.stop();
+            popup.hide();
+            monitor.setFrameTimingEnabled(false);
+        } else {
+            monitor.setFrameTimingEnabled(true);
+            update();
+            popup.show(stage);
+            refresh.play();
+        }
+    }
+
+    private void update() {
+        StringBuilder text = new StringBuilder();
+        appendLine(text, "Phản hồi FX", monitor.responsiveness().snapshot());
+        appendLine(text, "Khung hình ", monitor.frameIntervals().snapshot());
+        List<FxStallMonitor.Stall> stalls = monitor.recentStalls();
+        text.append("Stall: ").append(stalls.size());
+        if (!stalls.isEmpty()) {
+            text.append('\n').append(stalls.get(stalls.size() - 1).summary());
+        }
+        label.setText(text.toString());
+        label.applyCss();
+        label.autosize();
+        popup.setX(stage.getX() + stage.getWidth() - label.getWidth() - MARGIN);
+        popup.setY(stage.getY() + MARGIN * 3);
+    }
+
+    private static void appendLine(StringBuilder text, String name, LatencyHistogram.Snapshot snapshot) {
+        text.append(name)
+                .append("  p50 ").append(millis(snapshot.p50()))
+                .append("  p99 ").append(millis(snapshot.p99()))
+                .append("  max ").append(millis(snapshot.max()))
+                .append("  n=").append(snapshot.count())
+                .append('\n');
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.1fms", nanos / 1_000_000.0);
+    }
+}
@@ -0,0 +1,217 @@
+package com.todo.desktop.ui.util;
+
+import com.todo.desktop.domain.metrics.LatencyHistogram;
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+// A watchdog thread posts heartbeats to the FX thread and samples its stack while one is overdue.
+public final class FxStallMonitor implements AutoCloseable {
+
+    private static final long HEARTBEAT_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long SAMPLE_NANOS = TimeUnit.MILLISECONDS.toNanos(20);
+    private static final Duration DEFAULT_STALL_THRESHOLD = Duration.ofMillis(100);
+    private static final int MAX_STALLS = 50;
+    private static final int MAX_STACKS_PER_STALL = 5;
+    private static final int MAX_FRAMES = 40;
+
+    private final long stallThresholdNanos;
+    private final LatencyHistogram responsiveness = new LatencyHistogram();
+    private final LatencyHistogram frameIntervals = new LatencyHistogram();
+    private final Deque<Stall> stalls = new ArrayDeque<>();
+    private final ScheduledExecutorService watchdog;
+    private final AtomicLong pendingSince = new AtomicLong();
+    private final Map<String, StackSample> currentSamples = new HashMap<>();
+    private final AnimationTimer frameTimer = new AnimationTimer() {
+        private long lastPulse;
+
+        @Override
+        public void handle(long now) {
+            if (lastPulse != 0) {
+                frameIntervals.record(now - lastPulse);
+            }
+            lastPulse = now;
+        }
+
+        @Override
+        public void stop() {
+            super.stop();
+            lastPulse = 0;
+        }
+    };
+
+    private volatile Thread fxThread;
+    private volatile Consumer<Stall> stallListener = stall -> { };
+    private long lastSampleNanos;
+    private int sampleCount;
+    private ScheduledFuture<?> ticker;
+    private boolean closed;
+
+    public FxStallMonitor() {
+        this(DEFAULT_STALL_THRESHOLD);
+    }
+
+    public FxStallMonitor(Duration stallThreshold) {
+        this.stallThresholdNanos = stallThreshold.toNanos();
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "fx-stall-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public synchronized void start() {
+        if (ticker != null || closed) {
+            return;
+        }
+        if (fxThread == null) {
+            Platform.runLater(() -> fxThread = Thread.currentThread());
+        }
+        long period = Math.min(HEARTBEAT_NANOS, SAMPLE_NANOS);
+        ticker = watchdog.scheduleWithFixedDelay(this::tick, period, period, TimeUnit.NANOSECONDS);
+    }
+
+    // Stops posting heartbeats until the next start(); one already in flight still completes.
+    public synchronized void pause() {
+        if (ticker != null) {
+            ticker.cancel(false);
+            ticker = null;
+        }
+    }
+
+    public void setStallListener(Consumer<Stall> listener) {
+        this.stallListener = listener != null ? listener : stall -> { };
+    }
+
+    // Frame timing keeps pulses running continuously, so it is only on while someone is looking.
+    public void setFrameTimingEnabled(boolean enabled) {
+        if (enabled) {
+            frameIntervals.reset();
+            frameTimer.start();
+        } else {
+            frameTimer.stop();
+        }
+    }
+
+    public LatencyHistogram responsiveness() {
+        return responsiveness;
+    }
+
+    public LatencyHistogram frameIntervals() {
+        return frameIntervals;
+    }
+
+    public List<Stall> recentStalls() {
+        synchronized (stalls) {
+            return List.copyOf(stalls);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        closed = true;
+        ticker = null;
+        watchdog.shutdownNow();
+    }
+
+    private void tick() {
+        long now = System.nanoTime();
+        long since = pendingSince.get();
+        if (since == 0) {
+            if (now - lastSampleNanos >= HEARTBEAT_NANOS) {
+                lastSampleNanos = now;
+                postHeartbeat(now);
+            }
+            return;
+        }
+        if (now - since >= stallThresholdNanos) {
+            sampleFxStack();
+        }
+    }
+
+    private void postHeartbeat(long postedAt) {
+        pendingSince.set(postedAt);
+        Platform.runLater(() -> {
+            long latency = System.nanoTime() - postedAt;
+            responsiveness.record(latency);
+            // Hand the result back to the watchdog thread, which owns the sample state.
+            watchdog.execute(() -> finishHeartbeat(postedAt, latency));
+        });
+    }
+
+    private void finishHeartbeat(long postedAt, long latency) {
+        if (latency >= stallThresholdNanos && sampleCount > 0) {
+            List<StackSample> samples = new ArrayList<>(currentSamples.values());
+            samples.sort(Comparator.comparingInt(StackSample::hits).reversed());
+            Stall stall = new Stall(
+                    Instant.now().minusNanos(latency),
+                    Duration.ofNanos(latency),
+                    sampleCount,
+                    List.copyOf(samples.subList(0, Math.min(MAX_STACKS_PER_STALL, samples.size())))
+            );
+            synchronized (stalls) {
+                if (stalls.size() == MAX_STALLS) {
+                    stalls.removeFirst();
+                }
+                stalls.addLast(stall);
+            }
+            stallListener.accept(stall);
+        }
+        currentSamples.clear();
+        sampleCount = 0;
+        pendingSince.compareAndSet(postedAt, 0);
+    }
+
+    private void sampleFxStack() {
+        Thread thread = fxThread;
+        if (thread == null) {
+            return;
+        }
+        StackTraceElement[] stack = thread.getStackTrace();
+        if (stack.length == 0) {
+            return;
+        }
+        StackTraceElement[] frames = Arrays.copyOf(stack, Math.min(stack.length, MAX_FRAMES));
+        String key = Arrays.toString(frames);
+        StackSample existing = currentSamples.get(key);
+        currentSamples.put(key, existing == null ? new StackSample(List.of(frames), 1) : new StackSample(existing.frames(), existing.hits() + 1));
+        sampleCount++;
+    }
+
+    public record StackSample(List<StackTraceElement> frames, int hits) {
+
+        // The innermost frame of our own code says more than a JDK or JavaFX internal.
+        public StackTraceElement appFrame() {
+            for (StackTraceElement frame : frames) {
+                if (frame.getClassName().startsWith("com.todo.")) {
+                    return frame;
+                }
+            }
+            return frames.get(0);
+        }
+    }
+
+    public record Stall(Instant startedAt, Duration duration, int samples, List<StackSample> stacks) {
+
+        public String summary() {
+            String where = stacks.isEmpty() ? "?" : stacks.get(0).appFrame().toString();
+            return "FX stall " + duration.toMillis() + " ms (" + samples + " mẫu) tại " + where;
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package com.todo.desktop.ui.util;
+
+import java.io.IOException;
+import java.io.PushbackReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+// Single-pass HTML to plain text: no regex, no DOM, linear in the input size.
+public final class HtmlText {
+
+    private static final Set<String> SKIPPED = Set.of("script", "style", "head", "title", "noscript", "template");
+    private static final Set<String> PARAGRAPHS = Set.of("p", "h1", "h2", "h3", "h4", "h5", "h6", "blockquote", "table", "ul", "ol", "pre", "hr");
+    private static final Set<String> LINES = Set.of("br", "div", "tr", "li", "dt", "dd", "section", "article", "header", "footer");
+    private static final Map<String, String> ENTITIES = Map.ofEntries(
+            Map.entry("amp", "&"), Map.entry("lt", "<"), Map.entry("gt", ">"), Map.entry("quot", "\""),
+            Map.entry("apos", "'"), Map.entry("nbsp", " "), Map.entry("copy", "©"), Map.entry("reg", "®"),
+            Map.entry("trade", "™"), Map.entry("hellip", "…"), Map.entry("mdash", "—"), Map.entry("ndash", "–"),
+            Map.entry("lsquo", "‘"), Map.entry("rsquo", "’"), Map.entry("ldquo", "“"), Map.entry("rdquo", "”"),
+            Map.entry("bull", "•"), Map.entry("middot", "·"), Map.entry("euro", "€"), Map.entry("laquo", "«"),
+            Map.entry("raquo", "»"), Map.entry("times", "×"), Map.entry("zwnj", ""), Map.entry("zwj", ""), Map.entry("shy", "")
+    );
+    private static final int MAX_ENTITY_LENGTH = 10;
+
+    private final PushbackReader in;
+    private final StringBuilder out = new StringBuilder();
+    private final int maxLength;
+    private boolean pendingSpace;
+    private int pendingBreaks;
+    private int preDepth;
+
+    private HtmlText(Reader reader, int maxLength) {
+        this.in = new PushbackReader(reader, MAX_ENTITY_LENGTH + 2);
+        this.maxLength = maxLength;
+    }
+
+    public static String toText(String html, int maxLength) {
+        if (html == null || html.isEmpty()) {
+            return "";
+        }
+        try {
+            return toText(new StringReader(html), maxLength);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static String toText(Reader reader, int maxLength) throws IOException {
+        return new HtmlText(reader, maxLength).convert();
+    }
+
+    private String convert() throws IOException {
+        int c;
+        while ((c = in.read()) != -1 && out.length() < maxLength) {
+            if (c == '<') {
+                readMarkup();
+            } else if (c == '&') {
+                appendText(readEntity());
+            } else if (Character.isWhitespace(c) && preDepth == 0) {
+                pendingSpace = true;
+            } else if (c == '\n') {
+                lineBreak(1);
+            } else if (c != '\r') {
+                appendChar((char) c);
+            }
+        }
+        if (out.length() >= maxLength) {
+            out.setLength(maxLength);
+            out.append("…");
+        }
+        return out.toString().strip();
+    }
+
+    private void readMarkup() throws IOException {
+        int next = in.read();
+        if (next == '!') {
+            skipDeclaration();
+            return;
+        }
+        if (next == '?') {
+            skipPast(">");
+            return;
+        }
+        boolean closing = next == '/';
+        if (closing) {
+            next = in.read();
+        }
+        if (next == -1 || !Character.isLetter(next)) {
+            // A bare '<' in text, e.g. "a < b".
+            if (next != -1) {
+                in.unread(next);
+            }
+            appendChar('<');
+            if (closing) {
+                appendChar('/');
+            }
+            return;
+        }
+        String name = readTagName(next);
+        boolean selfClosing = skipAttributes();
+        applyTag(name, closing, selfClosing);
+    }
+
+    private String readTagName(int first) throws IOException {
+        StringBuilder name = new StringBuilder().append((char) Character.toLowerCase(first));
+        int c;
+        while ((c = in.read()) != -1 && (Character.isLetterOrDigit(c) || c == '-' || c == ':')) {
+            name.append((char) Character.toLowerCase(c));
+        }
+        if (c != -1) {
+            in.unread(c);
+        }
+        return name.toString();
+    }
+
+    // Attribute values may contain '>' inside quotes, so quotes are tracked until the tag ends.
+    private boolean skipAttributes() throws IOException {
+        int quote = 0;
+        int previous = 0;
+        int c;
+        while ((c = in.read()) != -1) {
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '"' || c == '\'') {
+                quote = c;
+            } else if (c == '>') {
+                return previous == '/';
+            }
+            previous = c;
+        }
+        return false;
+    }
+
+    private void applyTag(String name, boolean closing, boolean selfClosing) throws IOException {
+        if (!closing && SKIPPED.contains(name) && !selfClosing) {
+            skipPast("</" + name);
+            skipAttributes();
+            return;
+        }
+        if (name.equals("pre")) {
+            preDepth = Math.max(0, preDepth + (closing ? -1 : selfClosing ? 0 : 1));
+        }
+        if (PARAGRAPHS.contains(name)) {
+            lineBreak(2);
+        } else if (LINES.contains(name)) {
+            lineBreak(1);
+            if (name.equals("li") && !closing) {
+                appendText("• ");
+            }
+        } else if ((name.equals("td") || name.equals("th")) && closing) {
+            pendingSpace = true;
+        } else if (name.equals("img") && !closing) {
+            pendingSpace = true;
+        }
+    }
+
+    private void skipDeclaration() throws IOException {
+        int first = in.read();
+        int second = first == '-' ? in.read() : -1;
+        if (first == '-' && second == '-') {
+            skipPast("-->");
+            return;
+        }
+        if (second != -1) {
+            in.unread(second);
+        }
+        if (first != -1) {
+            in.unread(first);
+        }
+        skipPast(">");
+    }
+
+    // Case-insensitive scan; markers are a few characters long, so a sliding window is enough.
+    private void skipPast(String marker) throws IOException {
+        String lower = marker.toLowerCase(Locale.ROOT);
+        StringBuilder window = new StringBuilder(lower.length() + 1);
+        int c;
+        while ((c = in.read()) != -1) {
+            window.append(Character.toLowerCase((char) c));
+            if (window.length() > lower.length()) {
+                window.deleteCharAt(0);
+            }
+            if (window.length() == lower.length() && lower.contentEquals(window)) {
+                return;
+            }
+        }
+    }
+
+    private String readEntity() throws IOException {
+        char[] buffer = new char[MAX_ENTITY_LENGTH + 1];
+        int length = 0;
+        int c;
+        while (length < buffer.length && (c = in.read()) != -1) {
+            buffer[length++] = (char) c;
+            if (c == ';') {
+                break;
+            }
+            if (!Character.isLetterOrDigit(c) && c != '#') {
+                break;
+            }
+        }
+        if (length > 0 && buffer[length - 1] == ';') {
+            String decoded = decodeEntity(new String(buffer, 0, length - 1));
+            if (decoded != null) {
+                return decoded;
+            }
+        }
+        in.unread(buffer, 0, length);
+        return "&";
+    }
+
+    private static String decodeEntity(String entity) {
+        if (entity.startsWith("#")) {
+            try {
+                int codePoint = entity.length() > 1 && (entity.charAt(1) == 'x' || entity.charAt(1) == 'X')
+                        ? Integer.parseInt(entity.substring(2), 16)
+                        : Integer.parseInt(entity.substring(1));
+                return Character.isValidCodePoint(codePoint) ? new String(Character.toChars(codePoint)) : null;
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return ENTITIES.get(entity.toLowerCase(Locale.ROOT));
+    }
+
+    private void appendText(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char ch = text.charAt(i);
+            if (ch == ' ' && preDepth == 0) {
+                pendingSpace = true;
+            } else {
+                appendChar(ch);
+            }
+        }
+    }
+
+    private void appendChar(char ch) {
+        if (pendingBreaks > 0) {
+            if (out.length() > 0) {
+                out.append("\n".repeat(pendingBreaks));
+            }
+            pendingBreaks = 0;
+            pendingSpace = false;
+        } else if (pendingSpace) {
+            if (out.length() > 0 && out.charAt(out.length() - 1) != '\n') {
+                out.append(' ');
+            }
+            pendingSpace = false;
+        }
+        out.append(ch);
+    }
+
+    private void lineBreak(int count) {
+        pendingBreaks = Math.max(pendingBreaks, count);
+        pendingSpace = false;
+    }
+}
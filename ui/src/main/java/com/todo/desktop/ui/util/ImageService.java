@@ -0,0 +1,187 @@
+package com.todo.desktop.ui.util;
+
+import javafx.scene.image.Image;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+public final class ImageService implements AutoCloseable {
+
+    private static final int DEFAULT_MEMORY_ENTRIES = 300;
+    private static final int FETCH_THREADS = 4;
+    private static final Duration DISK_TTL = Duration.ofDays(7);
+    private static final Duration MISS_TTL = Duration.ofHours(12);
+
+    private final Path cacheDirectory;
+    private final HttpClient httpClient;
+    private final ExecutorService executor;
+    private final Map<String, Image> memory;
+    private final Map<String, Instant> missesUntil = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<Image>> inFlight = new ConcurrentHashMap<>();
+
+    public ImageService(Path cacheDirectory, HttpClient httpClient) {
+        this(cacheDirectory, httpClient, DEFAULT_MEMORY_ENTRIES);
+    }
+
+    public ImageService(Path cacheDirectory, HttpClient httpClient, int memoryEntries) {
+        this.cacheDirectory = Objects.requireNonNull(cacheDirectory, "cacheDirectory");
+        this.httpClient = Objects.requireNonNull(httpClient, "httpClient");
+        this.memory = new LinkedHashMap<>(memoryEntries, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Image> eldest) {
+                return size() > memoryEntries;
+            }
+        };
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(FETCH_THREADS, runnable -> {
+            Thread thread = new Thread(runnable, "image-loader-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public Image peek(String key, double size) {
+        synchronized (memory) {
+            return memory.get(memoryKey(key, size));
+        }
+    }
+
+    public boolean isKnownMissing(String key) {
+        Instant until = missesUntil.get(key);
+        return until != null && until.isAfter(Instant.now());
+    }
+
+    public CompletableFuture<Image> load(URI uri, double size) {
+        return load(uri.toString(), size, () -> fetch(uri));
+    }
+
+    // Completes with null when the source has no image; that answer is cached for a while too.
+    public CompletableFuture<Image> load(String key, double size, Supplier<CompletableFuture<byte[]>> fetcher) {
+        Image cached = peek(key, size);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        if (isKnownMissing(key)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        String memoryKey = memoryKey(key, size);
+        CompletableFuture<Image> created = new CompletableFuture<>();
+        CompletableFuture<Image> existing = inFlight.putIfAbsent(memoryKey, created);
+        if (existing != null) {
+            return existing;
+        }
+        created.whenComplete((image, ex) -> inFlight.remove(memoryKey, created));
+        executor.execute(() -> {
+            try {
+                created.complete(resolve(key, size, fetcher));
+            } catch (RuntimeException e) {
+                created.completeExceptionally(e);
+            }
+        });
+        return created;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    // Runs on a loader thread, so the blocking fetch is what bounds concurrency.
+    private Image resolve(String key, double size, Supplier<CompletableFuture<byte[]>> fetcher) {
+        Path file = cacheDirectory.resolve(fileName(key));
+        byte[] bytes = readDisk(file);
+        if (bytes == null) {
+            bytes = fetcher.get().join();
+            writeDisk(file, bytes != null ? bytes : new byte[0]);
+        }
+        Image image = bytes == null || bytes.length == 0 ? null : decode(bytes, size);
+        if (image == null) {
+            missesUntil.put(key, Instant.now().plus(MISS_TTL));
+            return null;
+        }
+        synchronized (memory) {
+            memory.put(memoryKey(key, size), image);
+        }
+        return image;
+    }
+
+    private static Image decode(byte[] bytes, double size) {
+        Image image = new Image(new ByteArrayInputStream(bytes), size, size, true, true);
+        return image.isError() ? null : image;
+    }
+
+    private CompletableFuture<byte[]> fetch(URI uri) {
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(20)).build();
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(response -> response.statusCode() == 200 ? response.body() : new byte[0]);
+    }
+
+    // An empty file records a miss; both kinds of entry expire so changed pictures are picked up.
+    private static byte[] readDisk(Path file) {
+        try {
+            if (!Files.exists(file)) {
+                return null;
+            }
+            Instant modified = Files.getLastModifiedTime(file).toInstant();
+            long length = Files.size(file);
+            Duration ttl = length == 0 ? MISS_TTL : DISK_TTL;
+            if (modified.plus(ttl).isBefore(Instant.now())) {
+                return null;
+            }
+            return Files.readAllBytes(file);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private void writeDisk(Path file, byte[] bytes) {
+        try {
+            Files.createDirectories(cacheDirectory);
+            Path temp = Files.createTempFile(cacheDirectory, "img", ".tmp");
+            Files.write(temp, bytes);
+            try {
+                Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private static String memoryKey(String key, double size) {
+        return key + "@" + Math.round(size);
+    }
+
+    private static String fileName(String key) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(key.getBytes(StandardCharsets.UTF_8))) + ".img";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
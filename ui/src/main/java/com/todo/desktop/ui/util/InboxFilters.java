@@ -0,0 +1,20 @@
+package com.todo.desktop.ui.util;
+
+import com.todo.desktop.domain.model.EmailMessage;
+
+import java.util.function.Predicate;
+
+public final class InboxFilters {
+
+    private InboxFilters() {
+    }
+
+    public static Predicate<EmailMessage> of(boolean unreadOnly, boolean attachmentsOnly) {
+        return message -> {
+            if (message == null) return false;
+            if (unreadOnly && message.isRead()) return false;
+            if (attachmentsOnly && !message.hasAttachments()) return false;
+            return true;
+        };
+    }
+}
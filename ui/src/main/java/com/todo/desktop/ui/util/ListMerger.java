@@ -0,0 +1,108 @@
+package com.todo.desktop.ui.util;
+
+import javafx.collections.ObservableList;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+public final class ListMerger {
+
+    private ListMerger() {
+    }
+
+    // Both lists must share the same ordering; in-scope items missing from incoming are removed.
+    public static <T, K> void merge(ObservableList<T> target, List<T> incoming, Function<? super T, K> keyOf, Predicate<? super T> inScope) {
+        Map<K, T> incomingByKey = new HashMap<>(incoming.size() * 2);
+        for (T item : incoming) {
+            incomingByKey.put(keyOf.apply(item), item);
+        }
+
+        int runEnd = target.size();
+        for (int i = target.size() - 1; i >= -1; i--) {
+            boolean remove = i >= 0 && inScope.test(target.get(i)) && !incomingByKey.containsKey(keyOf.apply(target.get(i)));
+            if (!remove) {
+                if (runEnd > i + 1) {
+                    target.remove(i + 1, runEnd);
+                }
+                runEnd = i;
+            }
+        }
+
+        Map<K, Integer> indexByKey = new HashMap<>(target.size() * 2);
+        for (int i = 0; i < target.size(); i++) {
+            indexByKey.put(keyOf.apply(target.get(i)), i);
+        }
+        if (!isOrderConsistent(incoming, keyOf, indexByKey)) {
+            List<T> merged = new ArrayList<>(incoming);
+            Set<K> seen = new HashSet<>(incomingByKey.keySet());
+            for (T item : target) {
+                if (seen.add(keyOf.apply(item))) {
+                    merged.add(item);
+                }
+            }
+            target.setAll(merged);
+            return;
+        }
+
+        int inserted = 0;
+        int cursor = 0;
+        List<T> pending = new ArrayList<>();
+        for (T item : incoming) {
+            Integer original = indexByKey.get(keyOf.apply(item));
+            if (original == null) {
+                pending.add(item);
+                continue;
+            }
+            if (!pending.isEmpty()) {
+                target.addAll(cursor, pending);
+                inserted += pending.size();
+                pending.clear();
+            }
+            int index = original + inserted;
+            if (!Objects.equals(target.get(index), item)) {
+                target.set(index, item);
+            }
+            cursor = index + 1;
+        }
+        if (!pending.isEmpty()) {
+            target.addAll(cursor, pending);
+        }
+    }
+
+    public static <T, K> void appendMissing(ObservableList<T> target, List<T> incoming, Function<? super T, K> keyOf) {
+        Set<K> existing = new HashSet<>(target.size() * 2);
+        for (T item : target) {
+            existing.add(keyOf.apply(item));
+        }
+        List<T> missing = new ArrayList<>(incoming.size());
+        for (T item : incoming) {
+            if (existing.add(keyOf.apply(item))) {
+                missing.add(item);
+            }
+        }
+        if (!missing.isEmpty()) {
+            target.addAll(missing);
+        }
+    }
+
+    private static <T, K> boolean isOrderConsistent(List<T> incoming, Function<? super T, K> keyOf, Map<K, Integer> indexByKey) {
+        int previous = -1;
+        for (T item : incoming) {
+            Integer index = indexByKey.get(keyOf.apply(item));
+            if (index != null) {
+                if (index < previous) {
+                    return false;
+                }
+                previous = index;
+            }
+        }
+        return true;
+    }
+}
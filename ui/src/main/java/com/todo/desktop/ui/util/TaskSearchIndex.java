@@ -0,0 +1,129 @@
+package com.todo.desktop.ui.util;
+
+import com.todo.desktop.domain.model.Task;
+
+import java.text.Normalizer;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+public final class TaskSearchIndex {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final Map<String, Set<String>> tokensByTask = new HashMap<>();
+    private final NavigableMap<String, Set<String>> tasksByToken = new TreeMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void replaceAll(Collection<Task> tasks) {
+        lock.writeLock().lock();
+        try {
+            tokensByTask.clear();
+            tasksByToken.clear();
+            for (Task task : tasks) {
+                index(task);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void put(Task task) {
+        lock.writeLock().lock();
+        try {
+            unindex(task.id());
+            index(task);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String taskId) {
+        lock.writeLock().lock();
+        try {
+            unindex(taskId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Every query token has to prefix some token of the title or description.
+    public Set<String> search(String query) {
+        Set<String> queryTokens = tokenize(query);
+        if (queryTokens.isEmpty()) {
+            return Set.of();
+        }
+        lock.readLock().lock();
+        try {
+            Set<String> result = null;
+            for (String token : queryTokens) {
+                Set<String> matches = new HashSet<>();
+                for (Set<String> ids : tasksByToken.subMap(token, true, token + Character.MAX_VALUE, false).values()) {
+                    matches.addAll(ids);
+                }
+                if (result == null) {
+                    result = matches;
+                } else {
+                    result.retainAll(matches);
+                }
+                if (result.isEmpty()) {
+                    break;
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public static String normalize(String text) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        String folded = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        // đ/Đ are standalone letters, not d plus a combining mark, so NFD leaves them alone.
+        return folded.replace('đ', 'd').replace('Đ', 'D').toLowerCase(Locale.ROOT);
+    }
+
+    public static Set<String> tokenize(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String token : SEPARATORS.split(normalize(text))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private void index(Task task) {
+        Set<String> tokens = tokenize(task.title());
+        tokens.addAll(tokenize(task.description()));
+        tokensByTask.put(task.id(), tokens);
+        for (String token : tokens) {
+            tasksByToken.computeIfAbsent(token, key -> new HashSet<>()).add(task.id());
+        }
+    }
+
+    private void unindex(String taskId) {
+        Set<String> tokens = tokensByTask.remove(taskId);
+        if (tokens == null) {
+            return;
+        }
+        for (String token : tokens) {
+            Set<String> ids = tasksByToken.get(token);
+            if (ids != null && ids.remove(taskId) && ids.isEmpty()) {
+                tasksByToken.remove(token);
+            }
+        }
+    }
+}
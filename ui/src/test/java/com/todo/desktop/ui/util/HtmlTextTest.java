@@ -0,0 +1,87 @@
+package com.todo.desktop.ui.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class HtmlTextTest {
+
+    private static final int UNLIMITED = Integer.MAX_VALUE;
+
+    @Test
+    void tagsAreStrippedAndWhitespaceCollapsed() {
+        assertEquals("Xin chào bạn", text("<div><span>Xin</span>   <b>chào</b>\n\tbạn</div>"));
+    }
+
+    @Test
+    void blockElementsBecomeLineBreaks() {
+        assertEquals("Tiêu đề\n\nĐoạn một\ndòng hai\n\n• Một\n• Hai",
+                text("<h1>Tiêu đề</h1><p>Đoạn một<br>dòng hai</p><ul><li>Một</li><li>Hai</li></ul>"));
+    }
+
+    @Test
+    void namedAndNumericEntitiesAreDecoded() {
+        assertEquals("a & b <c> \"d\" ’e’ é 😀", text("a &amp; b &lt;c&gt; &QUOT;d&quot; &rsquo;e&rsquo; &#233; &#x1F600;"));
+    }
+
+    @Test
+    void nonBreakingSpaceFoldsIntoOrdinaryWhitespace() {
+        assertEquals("a b", text("a&nbsp;&nbsp; b"));
+    }
+
+    @Test
+    void unknownOrUnterminatedEntitiesAreKeptVerbatim() {
+        assertEquals("Tom & Jerry &foo; &#xZZ; &amp", text("Tom & Jerry &foo; &#xZZ; &amp"));
+    }
+
+    @Test
+    void scriptStyleHeadAndCommentsAreSkipped() {
+        assertEquals("Nội dung", text("<head><title>Thư</title><style>p { color: red }</style></head>"
+                + "<!-- <p>ẩn</p> --><SCRIPT>if (a < b) { go(); }</SCRIPT>Nội dung"));
+    }
+
+    @Test
+    void quotedGreaterThanInsideAnAttributeDoesNotEndTheTag() {
+        assertEquals("liên kết", text("<a title=\"x > y\" href='z'>liên kết</a>"));
+    }
+
+    @Test
+    void bareLessThanIsText() {
+        assertEquals("a < b </ c", text("a < b </ c"));
+    }
+
+    @Test
+    void preservesWhitespaceInsidePre() {
+        assertEquals("trước\n\nx  = 1\ny  = 2\n\nsau", text("trước<pre>x  = 1\ny  = 2</pre>sau"));
+    }
+
+    @Test
+    void longTextIsTruncatedWithAnEllipsis() {
+        assertEquals("abcde…", HtmlText.toText("<p>abcdefghij</p>", 5));
+        assertEquals("abc&…", HtmlText.toText("abc&amp;def", 4));
+    }
+
+    @Test
+    void shortTextIsNotMarkedTruncated() {
+        assertEquals("abcd", HtmlText.toText("<p>abcd</p>", 10));
+    }
+
+    @Test
+    void emptyInputGivesEmptyText() {
+        assertEquals("", HtmlText.toText((String) null, 10));
+        assertEquals("", HtmlText.toText("", 10));
+        assertEquals("", HtmlText.toText("<br><p></p>", 10));
+    }
+
+    @Test
+    void readerInputMatchesStringInput() throws IOException {
+        assertEquals("xin chào", HtmlText.toText(new StringReader("<b>xin</b> chào"), UNLIMITED));
+    }
+
+    private static String text(String html) {
+        return HtmlText.toText(html, UNLIMITED);
+    }
+}
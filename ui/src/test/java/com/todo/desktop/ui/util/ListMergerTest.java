@@ -0,0 +1,107 @@
+package com.todo.desktop.ui.util;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ListMergerTest {
+
+    private final AtomicInteger changes = new AtomicInteger();
+
+    @Test
+    void identicalPageLeavesTheListUntouched() {
+        ObservableList<Item> target = observed(item("a"), item("b"), item("c"));
+        Item b = target.get(1);
+
+        ListMerger.merge(target, List.of(item("a"), item("b"), item("c")), Item::id, all());
+
+        assertEquals(0, changes.get());
+        assertSame(b, target.get(1));
+    }
+
+    @Test
+    void updatedItemIsReplacedInPlace() {
+        ObservableList<Item> target = observed(item("a"), item("b"), item("c"));
+        Item a = target.get(0);
+        Item c = target.get(2);
+
+        ListMerger.merge(target, List.of(item("a"), new Item("b", "đã đọc"), item("c")), Item::id, all());
+
+        assertEquals(List.of(item("a"), new Item("b", "đã đọc"), item("c")), target);
+        assertSame(a, target.get(0));
+        assertSame(c, target.get(2));
+        assertEquals(1, changes.get());
+    }
+
+    @Test
+    void newItemsAreInsertedWhereTheyBelong() {
+        ObservableList<Item> target = observed(item("b"), item("d"));
+
+        ListMerger.merge(target, List.of(item("a"), item("b"), item("c"), item("d"), item("e")), Item::id, all());
+
+        assertEquals(List.of(item("a"), item("b"), item("c"), item("d"), item("e")), target);
+    }
+
+    @Test
+    void missingItemsAreRemovedOnlyWhenInScope() {
+        ObservableList<Item> target = observed(item("a"), item("b"), item("c"), item("x"), item("y"));
+
+        ListMerger.merge(target, List.of(item("a"), item("c")), Item::id, item -> item.id().compareTo("x") < 0);
+
+        assertEquals(List.of(item("a"), item("c"), item("x"), item("y")), target);
+    }
+
+    @Test
+    void adjacentRemovalsAreBatched() {
+        ObservableList<Item> target = observed(item("a"), item("b"), item("c"), item("d"), item("e"));
+
+        ListMerger.merge(target, List.of(item("a"), item("e")), Item::id, all());
+
+        assertEquals(List.of(item("a"), item("e")), target);
+        assertEquals(1, changes.get());
+    }
+
+    @Test
+    void reorderedPageReplacesTheListAndKeepsOutOfScopeItems() {
+        ObservableList<Item> target = observed(item("a"), item("b"), item("c"), item("x"));
+
+        ListMerger.merge(target, List.of(item("c"), item("a"), item("b")), Item::id, item -> !item.id().equals("x"));
+
+        assertEquals(List.of(item("c"), item("a"), item("b"), item("x")), target);
+    }
+
+    @Test
+    void appendMissingSkipsKnownAndDuplicateKeys() {
+        ObservableList<Item> target = observed(item("a"), item("b"));
+
+        ListMerger.appendMissing(target, List.of(new Item("b", "mới"), item("c"), item("c"), item("d")), Item::id);
+
+        assertEquals(List.of(item("a"), item("b"), item("c"), item("d")), target);
+        assertEquals(1, changes.get());
+    }
+
+    private ObservableList<Item> observed(Item... items) {
+        ObservableList<Item> list = FXCollections.observableArrayList(items);
+        list.addListener((ListChangeListener<Item>) change -> changes.incrementAndGet());
+        return list;
+    }
+
+    private static Predicate<Item> all() {
+        return item -> true;
+    }
+
+    private static Item item(String id) {
+        return new Item(id, "chưa đọc");
+    }
+
+    private record Item(String id, String state) {
+    }
+}
@@ -0,0 +1,87 @@
+package com.todo.desktop.ui.util;
+
+import com.todo.desktop.domain.model.Task;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TaskSearchIndexTest {
+
+    private final TaskSearchIndex index = new TaskSearchIndex();
+
+    @Test
+    void normalizeFoldsVietnameseDiacriticsAndCase() {
+        assertEquals("duong ong nuoc", TaskSearchIndex.normalize("Đường Ống Nước"));
+        assertEquals("hop dong", TaskSearchIndex.normalize("hợp đồng"));
+        assertEquals("", TaskSearchIndex.normalize(null));
+    }
+
+    @Test
+    void tokenizeSplitsOnPunctuationAndDropsDuplicates() {
+        assertEquals(List.of("bao", "cao", "q3", "2024"), List.copyOf(TaskSearchIndex.tokenize("Báo cáo Q3/2024 - báo cáo!")));
+    }
+
+    @Test
+    void queryWithoutDiacriticsMatchesAccentedText() {
+        index.replaceAll(List.of(task("t1", "Ký hợp đồng", null), task("t2", "Họp nhóm", null)));
+
+        assertEquals(Set.of("t1"), index.search("hop dong"));
+        assertEquals(Set.of("t1", "t2"), index.search("HỌP"));
+    }
+
+    @Test
+    void everyQueryTokenMustPrefixSomeToken() {
+        index.replaceAll(List.of(
+                task("t1", "Gửi báo cáo tài chính", null),
+                task("t2", "Gửi thư mời", "cho phòng tài vụ")
+        ));
+
+        assertEquals(Set.of("t1", "t2"), index.search("gu"));
+        assertEquals(Set.of("t1", "t2"), index.search("gui tai"));
+        assertEquals(Set.of("t1"), index.search("gui tai chinh"));
+        assertEquals(Set.of(), index.search("gui ngan"));
+    }
+
+    @Test
+    void descriptionIsSearchedToo() {
+        index.replaceAll(List.of(task("t1", "Việc lặt vặt", "mua mực in")));
+
+        assertEquals(Set.of("t1"), index.search("muc"));
+    }
+
+    @Test
+    void blankQueryMatchesNothing() {
+        index.replaceAll(List.of(task("t1", "Việc", null)));
+
+        assertEquals(Set.of(), index.search("  - "));
+        assertEquals(Set.of(), index.search(null));
+    }
+
+    @Test
+    void putReindexesAndRemoveForgetsTheTask() {
+        index.put(task("t1", "Họp khách hàng", null));
+        index.put(task("t1", "Gọi khách hàng", null));
+
+        assertEquals(Set.of(), index.search("hop"));
+        assertEquals(Set.of("t1"), index.search("goi"));
+
+        index.remove("t1");
+        assertEquals(Set.of(), index.search("khach"));
+    }
+
+    @Test
+    void replaceAllDropsTasksThatAreGone() {
+        index.replaceAll(List.of(task("t1", "Cũ", null)));
+        index.replaceAll(List.of(task("t2", "Mới", null)));
+
+        assertEquals(Set.of(), index.search("cu"));
+        assertEquals(Set.of("t2"), index.search("moi"));
+    }
+
+    private static Task task(String id, String title, String description) {
+        return new Task(id, title, description, null, Task.TaskStatus.TODO, false);
+    }
+}